@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Realistic input values for the benchmarks.
+ *
+ * @author Soichiro Kashima
+ */
+public final class Inputs {
+
+    /**
+     * Date pattern used by the date inputs.
+     */
+    public static final String DATE_PATTERN = "yyyy/MM/dd";
+
+    private static final Map<String, String> VALUES = new HashMap<String, String>();
+
+    static {
+        VALUES.put("empty", "");
+        VALUES.put("short", "Taro");
+        VALUES.put("long", repeat("The quick brown fox jumps over the lazy dog ", 6));
+        VALUES.put("digits", "09012345678");
+        VALUES.put("number", "42");
+        VALUES.put("hiragana", "やまだたろう");
+        VALUES.put("katakana", "ヤマダタロウ");
+        VALUES.put("long_japanese", repeat("とうきょうとちよだくまるのうち", 16));
+        VALUES.put("mixed", "山田 Taro 123号室");
+        VALUES.put("email", "taro.yamada@mail.example.com");
+        VALUES.put("invalid_email", "taro..yamada@example");
+        VALUES.put("date", "1980/04/01");
+        VALUES.put("invalid_date", "1980-04-01");
+    }
+
+    private Inputs() {
+    }
+
+    /**
+     * Gets the input value by the name.
+     *
+     * @param name name of the input
+     * @return input value
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static String get(final String name) {
+        String value = VALUES.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown input: " + name);
+        }
+        return value;
+    }
+
+    private static String repeat(final String s, final int count) {
+        StringBuilder sb = new StringBuilder(s.length() * count);
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.benchmark;
+
+import com.androidformenhancer.annotation.AlphaNum;
+import com.androidformenhancer.annotation.DatePattern;
+import com.androidformenhancer.annotation.Digits;
+import com.androidformenhancer.annotation.Email;
+import com.androidformenhancer.annotation.Hiragana;
+import com.androidformenhancer.annotation.IntType;
+import com.androidformenhancer.annotation.Katakana;
+import com.androidformenhancer.annotation.Length;
+import com.androidformenhancer.annotation.MaxLength;
+import com.androidformenhancer.annotation.MaxNumOfDigits;
+import com.androidformenhancer.annotation.MaxValue;
+import com.androidformenhancer.annotation.MinValue;
+import com.androidformenhancer.annotation.Multibyte;
+import com.androidformenhancer.annotation.PastDate;
+import com.androidformenhancer.annotation.Regex;
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.Singlebyte;
+import com.androidformenhancer.annotation.Widget;
+
+import java.util.List;
+
+/**
+ * Form with the typical fields of an entry form.<br>
+ * {@code SampleForm10}, {@code SampleForm100} and {@code SampleForm1000}
+ * which have these fields repeated are generated by build.gradle, and
+ * {@linkplain ValidationPlanBenchmark} validates them with the valid or
+ * invalid values of {@linkplain Samples}.
+ *
+ * @author Soichiro Kashima
+ */
+public class SampleForm {
+
+    @Required
+    @Multibyte
+    @MaxLength(20)
+    @Widget(id = 1)
+    public String name;
+
+    @Katakana
+    @MaxLength(20)
+    @Widget(id = 2)
+    public String nameKana;
+
+    @Hiragana
+    @Widget(id = 3)
+    public String nickname;
+
+    @IntType
+    @MinValue(20)
+    @MaxValue(100)
+    @Widget(id = 4)
+    public String age;
+
+    @Required
+    @Digits
+    @MaxNumOfDigits(11)
+    @Widget(id = 5)
+    public String phone;
+
+    @Regex("^[0-9]{3}-?[0-9]{4}$")
+    @Widget(id = 6)
+    public String zipCode;
+
+    @Required
+    @Email
+    @Widget(id = 7)
+    public String email;
+
+    @Required
+    @DatePattern(Inputs.DATE_PATTERN)
+    @PastDate(Inputs.DATE_PATTERN)
+    @Widget(id = 8)
+    public String birthday;
+
+    @AlphaNum
+    @Length(8)
+    @Singlebyte
+    @Widget(id = 9)
+    public String userId;
+
+    @Required(atLeast = 2)
+    @Widget(id = 10)
+    public List<String> hobbies;
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * Valid and invalid values of the fields of {@linkplain SampleForm} and the
+ * forms generated from it.<br>
+ * These are not in {@linkplain SampleForm} because the form classes can
+ * have only String and List&lt;String&gt; fields.
+ *
+ * @author Soichiro Kashima
+ */
+public final class Samples {
+
+    private Samples() {
+    }
+
+    /**
+     * Field of the form with its valid and invalid values.
+     */
+    public static final class Sample {
+
+        private final String mName;
+        private final Object mValidValue;
+        private final Object mInvalidValue;
+
+        private Sample(final String name, final Object validValue, final Object invalidValue) {
+            mName = name;
+            mValidValue = validValue;
+            mInvalidValue = invalidValue;
+        }
+
+        /**
+         * Gets the field in the {@code n}-th repetition of the fields of
+         * {@linkplain SampleForm} in the generated form class.
+         *
+         * @param formClass generated form class
+         * @param n         index of the repetition
+         * @return field
+         */
+        public Field getField(final Class<?> formClass, final int n) {
+            try {
+                return formClass.getField(mName + n);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        public Object getValue(final boolean valid) {
+            return valid ? mValidValue : mInvalidValue;
+        }
+    }
+
+    /**
+     * Samples of all the fields in the order of the declaration.
+     */
+    public static final Sample[] ALL = {
+            new Sample("name", "山田太郎", ""),
+            new Sample("nameKana", "ヤマダタロウ", "やまだたろう"),
+            new Sample("nickname", "たろう", "Taro"),
+            new Sample("age", "42", "forty-two"),
+            new Sample("phone", "09012345678", "090-1234-5678"),
+            new Sample("zipCode", "100-0001", "1000"),
+            new Sample("email", "taro.yamada@mail.example.com", "taro..yamada@example"),
+            new Sample("birthday", "1980/04/01", "2999/04/01"),
+            new Sample("userId", "taro1234", "taro"),
+            new Sample("hobbies", Arrays.asList("music", "travel"), Arrays.asList("music")),
+    };
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.benchmark;
+
+import com.androidformenhancer.validator.AlphaNumValidator;
+import com.androidformenhancer.validator.AlphabetValidator;
+import com.androidformenhancer.validator.DatePatternValidator;
+import com.androidformenhancer.validator.DigitsValidator;
+import com.androidformenhancer.validator.EmailValidator;
+import com.androidformenhancer.validator.FloatTypeValidator;
+import com.androidformenhancer.validator.HiraganaValidator;
+import com.androidformenhancer.validator.IntRangeValidator;
+import com.androidformenhancer.validator.IntTypeValidator;
+import com.androidformenhancer.validator.KatakanaValidator;
+import com.androidformenhancer.validator.LengthValidator;
+import com.androidformenhancer.validator.MaxLengthValidator;
+import com.androidformenhancer.validator.MaxNumOfDigitsValidator;
+import com.androidformenhancer.validator.MaxValueValidator;
+import com.androidformenhancer.validator.MinValueValidator;
+import com.androidformenhancer.validator.MultibyteValidator;
+import com.androidformenhancer.validator.NumOfDigitsValidator;
+import com.androidformenhancer.validator.PastDateValidator;
+import com.androidformenhancer.validator.RegexValidator;
+import com.androidformenhancer.validator.RequiredValidator;
+import com.androidformenhancer.validator.SinglebyteValidator;
+import com.androidformenhancer.validator.BaseValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Standard validators in the same order as the {@code AfeDefaultValidators}
+ * style of the Android library.
+ *
+ * @author Soichiro Kashima
+ */
+public final class StandardValidators {
+
+    private StandardValidators() {
+    }
+
+    /**
+     * Creates the standard validators which use
+     * {@linkplain StubMessageSource}.
+     *
+     * @return new validators
+     */
+    public static List<BaseValidator<?>> create() {
+        List<BaseValidator<?>> validators = new ArrayList<BaseValidator<?>>();
+        validators.add(new RequiredValidator());
+        validators.add(new IntTypeValidator());
+        validators.add(new FloatTypeValidator());
+        validators.add(new DigitsValidator());
+        validators.add(new MinValueValidator());
+        validators.add(new MaxValueValidator());
+        validators.add(new IntRangeValidator());
+        validators.add(new MultibyteValidator());
+        validators.add(new SinglebyteValidator());
+        validators.add(new LengthValidator());
+        validators.add(new MaxLengthValidator());
+        validators.add(new NumOfDigitsValidator());
+        validators.add(new MaxNumOfDigitsValidator());
+        validators.add(new RegexValidator());
+        validators.add(new EmailValidator());
+        validators.add(new DatePatternValidator());
+        validators.add(new PastDateValidator());
+        validators.add(new HiraganaValidator());
+        validators.add(new KatakanaValidator());
+        validators.add(new AlphabetValidator());
+        validators.add(new AlphaNumValidator());
+        for (BaseValidator<?> validator : validators) {
+            setStubMessageSource(validator);
+        }
+        return validators;
+    }
+
+    /**
+     * Sets {@linkplain StubMessageSource} to the validator.
+     *
+     * @param validator validator to set the source
+     * @return the validator
+     */
+    public static <V extends BaseValidator<?>> V setStubMessageSource(final V validator) {
+        validator.setMessageSource(StubMessageSource.INSTANCE);
+        validator.setResourceSource(StubMessageSource.INSTANCE);
+        return validator;
+    }
+}
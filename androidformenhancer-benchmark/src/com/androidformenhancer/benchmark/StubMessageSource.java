@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.benchmark;
+
+import com.androidformenhancer.MessageSource;
+import com.androidformenhancer.ResourceSource;
+
+/**
+ * Message source which returns the keys as the error messages.
+ * <p/>
+ * The error messages are built from the Android resources in the apps, so
+ * this source does not format them to measure only the validation.
+ * The character encoding is fixed to UTF-8, and the default pattern is used
+ * for the e-mail addresses.
+ *
+ * @author Soichiro Kashima
+ */
+public final class StubMessageSource implements MessageSource, ResourceSource {
+
+    /**
+     * Shared instance.
+     */
+    public static final StubMessageSource INSTANCE = new StubMessageSource();
+
+    private StubMessageSource() {
+    }
+
+    @Override
+    public String getMessage(final String key, final Object... params) {
+        return key;
+    }
+
+    @Override
+    public String getString(final int resId, final Object... params) {
+        return null;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return "UTF-8";
+    }
+
+    @Override
+    public String getEmailPattern() {
+        return null;
+    }
+
+}
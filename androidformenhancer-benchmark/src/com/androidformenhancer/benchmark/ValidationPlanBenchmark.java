@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.benchmark;
+
+import com.androidformenhancer.ValidationResult;
+import com.androidformenhancer.internal.ValidationEngine;
+import com.androidformenhancer.validator.BaseValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the validation of the whole form by
+ * {@linkplain ValidationEngine}, which is the same as
+ * {@code ValidationManager#validate()} without the views.
+ * <p/>
+ * The engine has the standard validators with {@linkplain StubMessageSource},
+ * and validates a form which has 10, 100 or 1000 fields with
+ * {@linkplain ValidationEngine#validate(Object)}. The forms are generated
+ * from {@linkplain SampleForm} by build.gradle. The validation plan is
+ * built in the setup, so the benchmark measures only the validation.
+ *
+ * @author Soichiro Kashima
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ValidationPlanBenchmark {
+
+    /**
+     * Number of the fields of the form.
+     */
+    @Param({"10", "100", "1000"})
+    public int fields;
+
+    /**
+     * Stop policy, one of the {@code STOP_POLICY_*} constants of
+     * {@linkplain ValidationEngine}: 0 for continue all, 1 for stop all if
+     * any, 2 for stop and resume next.
+     */
+    @Param({"0", "1", "2"})
+    public int stopPolicy;
+
+    /**
+     * Percentage of the fields which have invalid values.
+     */
+    @Param({"0", "10", "100"})
+    public int invalidPercent;
+
+    private ValidationEngine mEngine;
+    private Object mForm;
+
+    @Setup
+    public void setUp()
+            throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+        Class<?> formClass = Class.forName(SampleForm.class.getName() + fields);
+        mEngine = new ValidationEngine(formClass);
+        for (BaseValidator<?> validator : StandardValidators.create()) {
+            mEngine.addValidator(validator);
+        }
+        mEngine.setStopPolicy(stopPolicy);
+        mEngine.prepare();
+
+        Samples.Sample[] samples = Samples.ALL;
+        mForm = formClass.newInstance();
+        for (int n = 0; n < fields / samples.length; n++) {
+            for (int j = 0; j < samples.length; j++) {
+                // Spread the invalid fields over the form
+                boolean valid = ((n * samples.length + j) * 37) % 100 >= invalidPercent;
+                samples[j].getField(formClass, n).set(mForm, samples[j].getValue(valid));
+            }
+        }
+    }
+
+    /**
+     * Validates the form and returns the number of the fields which have
+     * errors.
+     *
+     * @return number of the fields which have errors
+     */
+    @Benchmark
+    public int validate() {
+        int errors = 0;
+        ValidationResult result = mEngine.validate(mForm);
+        // Counts without allocation not to disturb the GC profiler
+        for (int i = 0; i < result.getValidatedIdCount(); i++) {
+            if (result.hasErrorFor(result.getValidatedIdAt(i))) {
+                errors++;
+            }
+        }
+        result.recycle();
+        return errors;
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.benchmark;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.FieldSpec;
+import com.androidformenhancer.WidgetType;
+import com.androidformenhancer.annotation.AlphaNum;
+import com.androidformenhancer.annotation.Alphabet;
+import com.androidformenhancer.annotation.DatePattern;
+import com.androidformenhancer.annotation.Digits;
+import com.androidformenhancer.annotation.Email;
+import com.androidformenhancer.annotation.FloatType;
+import com.androidformenhancer.annotation.Hiragana;
+import com.androidformenhancer.annotation.IntRange;
+import com.androidformenhancer.annotation.IntType;
+import com.androidformenhancer.annotation.Katakana;
+import com.androidformenhancer.annotation.Length;
+import com.androidformenhancer.annotation.MaxLength;
+import com.androidformenhancer.annotation.MaxNumOfDigits;
+import com.androidformenhancer.annotation.Multibyte;
+import com.androidformenhancer.annotation.NumOfDigits;
+import com.androidformenhancer.annotation.PastDate;
+import com.androidformenhancer.annotation.Regex;
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.Singlebyte;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.validator.AlphaNumValidator;
+import com.androidformenhancer.validator.AlphabetValidator;
+import com.androidformenhancer.validator.DatePatternValidator;
+import com.androidformenhancer.validator.DigitsValidator;
+import com.androidformenhancer.validator.EmailValidator;
+import com.androidformenhancer.validator.FloatTypeValidator;
+import com.androidformenhancer.validator.HiraganaValidator;
+import com.androidformenhancer.validator.IntRangeValidator;
+import com.androidformenhancer.validator.IntTypeValidator;
+import com.androidformenhancer.validator.KatakanaValidator;
+import com.androidformenhancer.validator.LengthValidator;
+import com.androidformenhancer.validator.MaxLengthValidator;
+import com.androidformenhancer.validator.MaxNumOfDigitsValidator;
+import com.androidformenhancer.validator.MultibyteValidator;
+import com.androidformenhancer.validator.NumOfDigitsValidator;
+import com.androidformenhancer.validator.PastDateValidator;
+import com.androidformenhancer.validator.RegexValidator;
+import com.androidformenhancer.validator.RequiredValidator;
+import com.androidformenhancer.validator.SinglebyteValidator;
+import com.androidformenhancer.validator.BaseValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of each standard validator over the inputs in
+ * {@linkplain Inputs}.
+ * <p/>
+ * The validators are prepared for the annotations of {@linkplain Form} in
+ * the same way as {@code ValidationEngine}, and the error messages are
+ * given by {@linkplain StubMessageSource}.
+ *
+ * @author Soichiro Kashima
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidatorBenchmark {
+
+    /**
+     * Form which has a field for each standard validator.
+     */
+    public static class Form {
+        @Required
+        @Widget(id = 1)
+        public String required;
+
+        @IntType
+        @Widget(id = 2)
+        public String intType;
+
+        @FloatType
+        @Widget(id = 3)
+        public String floatType;
+
+        @Digits
+        @Widget(id = 4)
+        public String digits;
+
+        @IntRange(min = 20, max = 100)
+        @Widget(id = 5)
+        public String intRange;
+
+        @Multibyte
+        @Widget(id = 6)
+        public String multibyte;
+
+        @Singlebyte
+        @Widget(id = 7)
+        public String singlebyte;
+
+        @Length(11)
+        @Widget(id = 8)
+        public String length;
+
+        @MaxLength(20)
+        @Widget(id = 9)
+        public String maxLength;
+
+        @NumOfDigits(11)
+        @Widget(id = 10)
+        public String numOfDigits;
+
+        @MaxNumOfDigits(11)
+        @Widget(id = 11)
+        public String maxNumOfDigits;
+
+        @Regex("^[0-9]{3}-?[0-9]{4}$")
+        @Widget(id = 12)
+        public String regex;
+
+        @Email
+        @Widget(id = 13)
+        public String email;
+
+        @DatePattern(Inputs.DATE_PATTERN)
+        @Widget(id = 14)
+        public String datePattern;
+
+        @PastDate(Inputs.DATE_PATTERN)
+        @Widget(id = 15)
+        public String pastDate;
+
+        @Hiragana
+        @Widget(id = 16)
+        public String hiragana;
+
+        @Katakana
+        @Widget(id = 17)
+        public String katakana;
+
+        @Alphabet(allowSpace = true)
+        @Widget(id = 18)
+        public String alphabet;
+
+        @AlphaNum
+        @Widget(id = 19)
+        public String alphaNum;
+    }
+
+    @Param({
+            "empty", "short", "long", "digits", "hiragana", "katakana",
+            "long_japanese", "mixed", "email", "invalid_email", "date", "invalid_date"
+    })
+    public String input;
+
+    private RequiredValidator mRequired;
+    private IntTypeValidator mIntType;
+    private FloatTypeValidator mFloatType;
+    private DigitsValidator mDigits;
+    private IntRangeValidator mIntRange;
+    private MultibyteValidator mMultibyte;
+    private SinglebyteValidator mSinglebyte;
+    private LengthValidator mLength;
+    private MaxLengthValidator mMaxLength;
+    private NumOfDigitsValidator mNumOfDigits;
+    private MaxNumOfDigitsValidator mMaxNumOfDigits;
+    private RegexValidator mRegex;
+    private EmailValidator mEmail;
+    private DatePatternValidator mDatePattern;
+    private PastDateValidator mPastDate;
+    private HiraganaValidator mHiragana;
+    private KatakanaValidator mKatakana;
+    private AlphabetValidator mAlphabet;
+    private AlphaNumValidator mAlphaNum;
+
+    private FieldData mRequiredData;
+    private FieldData mIntTypeData;
+    private FieldData mFloatTypeData;
+    private FieldData mDigitsData;
+    private FieldData mIntRangeData;
+    private FieldData mMultibyteData;
+    private FieldData mSinglebyteData;
+    private FieldData mLengthData;
+    private FieldData mMaxLengthData;
+    private FieldData mNumOfDigitsData;
+    private FieldData mMaxNumOfDigitsData;
+    private FieldData mRegexData;
+    private FieldData mEmailData;
+    private FieldData mDatePatternData;
+    private FieldData mPastDateData;
+    private FieldData mHiraganaData;
+    private FieldData mKatakanaData;
+    private FieldData mAlphabetData;
+    private FieldData mAlphaNumData;
+
+    @Setup
+    public void setUp() {
+        String value = Inputs.get(input);
+        mRequired = StandardValidators.setStubMessageSource(new RequiredValidator());
+        mRequiredData = prepare(mRequired, "required", value);
+        mIntType = StandardValidators.setStubMessageSource(new IntTypeValidator());
+        mIntTypeData = prepare(mIntType, "intType", value);
+        mFloatType = StandardValidators.setStubMessageSource(new FloatTypeValidator());
+        mFloatTypeData = prepare(mFloatType, "floatType", value);
+        mDigits = StandardValidators.setStubMessageSource(new DigitsValidator());
+        mDigitsData = prepare(mDigits, "digits", value);
+        mIntRange = StandardValidators.setStubMessageSource(new IntRangeValidator());
+        mIntRangeData = prepare(mIntRange, "intRange", value);
+        mMultibyte = StandardValidators.setStubMessageSource(new MultibyteValidator());
+        mMultibyteData = prepare(mMultibyte, "multibyte", value);
+        mSinglebyte = StandardValidators.setStubMessageSource(new SinglebyteValidator());
+        mSinglebyteData = prepare(mSinglebyte, "singlebyte", value);
+        mLength = StandardValidators.setStubMessageSource(new LengthValidator());
+        mLengthData = prepare(mLength, "length", value);
+        mMaxLength = StandardValidators.setStubMessageSource(new MaxLengthValidator());
+        mMaxLengthData = prepare(mMaxLength, "maxLength", value);
+        mNumOfDigits = StandardValidators.setStubMessageSource(new NumOfDigitsValidator());
+        mNumOfDigitsData = prepare(mNumOfDigits, "numOfDigits", value);
+        mMaxNumOfDigits = StandardValidators.setStubMessageSource(new MaxNumOfDigitsValidator());
+        mMaxNumOfDigitsData = prepare(mMaxNumOfDigits, "maxNumOfDigits", value);
+        mRegex = StandardValidators.setStubMessageSource(new RegexValidator());
+        mRegexData = prepare(mRegex, "regex", value);
+        mEmail = StandardValidators.setStubMessageSource(new EmailValidator());
+        mEmailData = prepare(mEmail, "email", value);
+        mDatePattern = StandardValidators.setStubMessageSource(new DatePatternValidator());
+        mDatePatternData = prepare(mDatePattern, "datePattern", value);
+        mPastDate = StandardValidators.setStubMessageSource(new PastDateValidator());
+        mPastDateData = prepare(mPastDate, "pastDate", value);
+        mHiragana = StandardValidators.setStubMessageSource(new HiraganaValidator());
+        mHiraganaData = prepare(mHiragana, "hiragana", value);
+        mKatakana = StandardValidators.setStubMessageSource(new KatakanaValidator());
+        mKatakanaData = prepare(mKatakana, "katakana", value);
+        mAlphabet = StandardValidators.setStubMessageSource(new AlphabetValidator());
+        mAlphabetData = prepare(mAlphabet, "alphabet", value);
+        mAlphaNum = StandardValidators.setStubMessageSource(new AlphaNumValidator());
+        mAlphaNumData = prepare(mAlphaNum, "alphaNum", value);
+    }
+
+    @Benchmark
+    public String required() {
+        return mRequired.validate(mRequiredData);
+    }
+
+    @Benchmark
+    public String intType() {
+        return mIntType.validate(mIntTypeData);
+    }
+
+    @Benchmark
+    public String floatType() {
+        return mFloatType.validate(mFloatTypeData);
+    }
+
+    @Benchmark
+    public String digits() {
+        return mDigits.validate(mDigitsData);
+    }
+
+    @Benchmark
+    public String intRange() {
+        return mIntRange.validate(mIntRangeData);
+    }
+
+    @Benchmark
+    public String multibyte() {
+        return mMultibyte.validate(mMultibyteData);
+    }
+
+    @Benchmark
+    public String singlebyte() {
+        return mSinglebyte.validate(mSinglebyteData);
+    }
+
+    @Benchmark
+    public String length() {
+        return mLength.validate(mLengthData);
+    }
+
+    @Benchmark
+    public String maxLength() {
+        return mMaxLength.validate(mMaxLengthData);
+    }
+
+    @Benchmark
+    public String numOfDigits() {
+        return mNumOfDigits.validate(mNumOfDigitsData);
+    }
+
+    @Benchmark
+    public String maxNumOfDigits() {
+        return mMaxNumOfDigits.validate(mMaxNumOfDigitsData);
+    }
+
+    @Benchmark
+    public String regex() {
+        return mRegex.validate(mRegexData);
+    }
+
+    @Benchmark
+    public String email() {
+        return mEmail.validate(mEmailData);
+    }
+
+    @Benchmark
+    public String datePattern() {
+        return mDatePattern.validate(mDatePatternData);
+    }
+
+    @Benchmark
+    public String pastDate() {
+        return mPastDate.validate(mPastDateData);
+    }
+
+    @Benchmark
+    public String hiragana() {
+        return mHiragana.validate(mHiraganaData);
+    }
+
+    @Benchmark
+    public String katakana() {
+        return mKatakana.validate(mKatakanaData);
+    }
+
+    @Benchmark
+    public String alphabet() {
+        return mAlphabet.validate(mAlphabetData);
+    }
+
+    @Benchmark
+    public String alphaNum() {
+        return mAlphaNum.validate(mAlphaNumData);
+    }
+
+    /**
+     * Prepares the validator for the annotation of the field, and creates
+     * the field data which has the value.
+     */
+    @SuppressWarnings({
+            "rawtypes", "unchecked"
+    })
+    private static FieldData prepare(final BaseValidator validator, final String name,
+                                     final String value) {
+        FieldSpec spec;
+        try {
+            spec = new FieldSpec(Form.class.getField(name));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException(e);
+        }
+        validator.prepare(spec.getAnnotation(validator.getAnnotationClass()));
+        return new FieldData(spec, WidgetType.TEXT, value);
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor which generates {@code FormBinder} for the form
+ * classes.
+ * <p/>
+ * For each class which has public fields annotated with {@code @Widget},
+ * this generates {@code <form class name>$$FormBinder} in the same package.
+ * The generated binder accesses the fields directly, so the framework can
+ * extract and copy the form without reflection.<br>
+ * Form classes which cannot be instantiated from the generated code are
+ * skipped, and the framework falls back to reflection for them.
+ *
+ * @author Soichiro Kashima
+ */
+@SupportedAnnotationTypes(FormBinderProcessor.WIDGET)
+public class FormBinderProcessor extends AbstractProcessor {
+
+    static final String WIDGET = "com.androidformenhancer.annotation.Widget";
+    private static final String FORM_BINDER = "com.androidformenhancer.FormBinder";
+    private static final String SUFFIX = "$$FormBinder";
+
+    private Elements mElements;
+    private Types mTypes;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        mElements = processingEnv.getElementUtils();
+        mTypes = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+                           final RoundEnvironment roundEnv) {
+        TypeElement widgetType = mElements.getTypeElement(WIDGET);
+        if (widgetType == null) {
+            return false;
+        }
+        Set<TypeElement> formClasses = new LinkedHashSet<TypeElement>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(widgetType)) {
+            if (element.getKind() == ElementKind.FIELD) {
+                formClasses.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+        for (TypeElement formClass : formClasses) {
+            if (!isInstantiable(formClass)) {
+                note(formClass, "Skipped generating FormBinder because the form class "
+                        + "cannot be instantiated from the same package.");
+                continue;
+            }
+            List<WidgetField> fields = collectFields(formClass);
+            if (fields == null) {
+                continue;
+            }
+            try {
+                writeBinder(formClass, fields);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to write FormBinder: " + e.getMessage(), formClass);
+            }
+        }
+        return false;
+    }
+
+    private boolean isInstantiable(final TypeElement formClass) {
+        if (!formClass.getTypeParameters().isEmpty()) {
+            return false;
+        }
+        for (Element e = formClass; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (((TypeElement) e).getNestingKind() == NestingKind.MEMBER
+                    && !modifiers.contains(Modifier.STATIC)) {
+                return false;
+            }
+            if (((TypeElement) e).getNestingKind().isNested()
+                    && ((TypeElement) e).getNestingKind() != NestingKind.MEMBER) {
+                return false;
+            }
+        }
+        if (formClass.getModifiers().contains(Modifier.ABSTRACT)
+                || formClass.getKind() != ElementKind.CLASS) {
+            return false;
+        }
+        for (ExecutableElement constructor
+                : ElementFilter.constructorsIn(formClass.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()
+                    && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the public instance fields with {@code @Widget} including
+     * inherited ones.
+     *
+     * @return list of the fields, or null if the form class has an unsupported
+     * field
+     */
+    private List<WidgetField> collectFields(final TypeElement formClass) {
+        List<WidgetField> fields = new ArrayList<WidgetField>();
+        TypeElement type = formClass;
+        while (type != null) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+                    continue;
+                }
+                Integer id = getWidgetId(field);
+                if (id == null) {
+                    continue;
+                }
+                if (modifiers.contains(Modifier.FINAL)) {
+                    note(field, "Skipped generating FormBinder because the field is final.");
+                    return null;
+                }
+                String erasure = mTypes.erasure(field.asType()).toString();
+                boolean list;
+                if ("java.lang.String".equals(erasure)) {
+                    list = false;
+                } else if ("java.util.List".equals(erasure)) {
+                    list = true;
+                } else {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Form class can have only String and List<String> fields but "
+                                    + field.asType() + " found.", field);
+                    return null;
+                }
+                fields.add(new WidgetField(field.getSimpleName().toString(),
+                        field.asType().toString(), id, list));
+            }
+            type = getSuperclass(type);
+        }
+        return fields;
+    }
+
+    private TypeElement getSuperclass(final TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private Integer getWidgetId(final VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!WIDGET.equals(annotationType.getQualifiedName().toString())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                    : mirror.getElementValues().entrySet()) {
+                if ("id".equals(entry.getKey().getSimpleName().toString())) {
+                    return (Integer) entry.getValue().getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void writeBinder(final TypeElement formClass, final List<WidgetField> fields)
+            throws IOException {
+        PackageElement pkg = mElements.getPackageOf(formClass);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String binaryName = mElements.getBinaryName(formClass).toString();
+        String binderName = (packageName.length() == 0
+                ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String formName = formClass.getQualifiedName().toString();
+
+        // Fields sharing the same widget ID are all set, like reflection does
+        Map<Integer, List<WidgetField>> fieldsById = new LinkedHashMap<Integer, List<WidgetField>>();
+        for (WidgetField field : fields) {
+            List<WidgetField> list = fieldsById.get(field.mId);
+            if (list == null) {
+                list = new ArrayList<WidgetField>();
+                fieldsById.put(field.mId, list);
+            }
+            list.add(field);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("// Generated code from AndroidFormEnhancer. Do not modify!\n");
+        if (packageName.length() > 0) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("public final class ").append(binderName)
+                .append(" implements ").append(FORM_BINDER).append("<").append(formName).append("> {\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public ").append(formName).append(" newForm() {\n");
+        sb.append("        return new ").append(formName).append("();\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    @SuppressWarnings(\"unchecked\")\n");
+        sb.append("    public void setValue(").append(formName)
+                .append(" form, int id, Object value) {\n");
+        sb.append("        switch (id) {\n");
+        for (Map.Entry<Integer, List<WidgetField>> entry : fieldsById.entrySet()) {
+            sb.append("            case ").append(entry.getKey()).append(":\n");
+            for (WidgetField field : entry.getValue()) {
+                sb.append("                form.").append(field.mName)
+                        .append(" = (").append(field.mType).append(") value;\n");
+            }
+            sb.append("                break;\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                break;\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Object getValue(").append(formName).append(" form, int id) {\n");
+        sb.append("        switch (id) {\n");
+        for (Map.Entry<Integer, List<WidgetField>> entry : fieldsById.entrySet()) {
+            // Same as the framework, the last field wins if IDs conflict
+            List<WidgetField> sameIdFields = entry.getValue();
+            sb.append("            case ").append(entry.getKey()).append(":\n");
+            sb.append("                return form.")
+                    .append(sameIdFields.get(sameIdFields.size() - 1).mName).append(";\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                return null;\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public ").append(formName).append(" copy(")
+                .append(formName).append(" source) {\n");
+        sb.append("        ").append(formName).append(" form = new ").append(formName).append("();\n");
+        for (WidgetField field : fields) {
+            if (field.mList) {
+                sb.append("        if (source.").append(field.mName).append(" != null) {\n");
+                sb.append("            form.").append(field.mName)
+                        .append(" = new java.util.ArrayList<String>(source.")
+                        .append(field.mName).append(");\n");
+                sb.append("        }\n");
+            } else {
+                sb.append("        form.").append(field.mName)
+                        .append(" = source.").append(field.mName).append(";\n");
+            }
+        }
+        sb.append("        return form;\n");
+        sb.append("    }\n\n");
+        sb.append("}\n");
+
+        String qualifiedBinderName = packageName.length() == 0
+                ? binderName : packageName + "." + binderName;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                qualifiedBinderName, formClass);
+        Writer writer = file.openWriter();
+        try {
+            writer.write(sb.toString());
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void note(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+    private static final class WidgetField {
+        private final String mName;
+        private final String mType;
+        private final int mId;
+        private final boolean mList;
+
+        WidgetField(final String name, final String type, final int id, final boolean list) {
+            mName = name;
+            mType = type;
+            mId = id;
+            mList = list;
+        }
+    }
+
+}
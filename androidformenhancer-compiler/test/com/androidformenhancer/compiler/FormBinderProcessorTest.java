@@ -0,0 +1,238 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.compiler;
+
+import com.androidformenhancer.FormBinder;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import junit.framework.TestCase;
+
+/**
+ * Runs {@linkplain FormBinderProcessor} on the sample forms with the system
+ * Java compiler, and tests the generated binders.
+ *
+ * @author Soichiro Kashima
+ */
+public class FormBinderProcessorTest extends TestCase {
+
+    private static final String SIMPLE_FORM = ""
+            + "package sample;\n"
+            + "import com.androidformenhancer.annotation.Required;\n"
+            + "import com.androidformenhancer.annotation.Widget;\n"
+            + "import java.util.List;\n"
+            + "public class SimpleForm {\n"
+            + "    @Required\n"
+            + "    @Widget(id = 1)\n"
+            + "    public String name;\n"
+            + "    @Widget(id = 2)\n"
+            + "    public List<String> tags;\n"
+            + "    public String notWidget;\n"
+            + "}\n";
+
+    private static final String CHILD_FORM = ""
+            + "package sample;\n"
+            + "import com.androidformenhancer.annotation.Widget;\n"
+            + "public class ChildForm extends ParentForm {\n"
+            + "    @Widget(id = 10)\n"
+            + "    public String child;\n"
+            + "    @Widget(id = 11)\n"
+            + "    public String first;\n"
+            + "    @Widget(id = 11)\n"
+            + "    public String last;\n"
+            + "    public static class Nested {\n"
+            + "        @Widget(id = 20)\n"
+            + "        public String value;\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String PARENT_FORM = ""
+            + "package sample;\n"
+            + "import com.androidformenhancer.annotation.Widget;\n"
+            + "public class ParentForm {\n"
+            + "    @Widget(id = 12)\n"
+            + "    public String parent;\n"
+            + "}\n";
+
+    private static final String PRIVATE_CONSTRUCTOR_FORM = ""
+            + "package sample;\n"
+            + "import com.androidformenhancer.annotation.Widget;\n"
+            + "public class PrivateConstructorForm {\n"
+            + "    private PrivateConstructorForm() {\n"
+            + "    }\n"
+            + "    @Widget(id = 1)\n"
+            + "    public String name;\n"
+            + "}\n";
+
+    private File mOutputDir;
+    private ClassLoader mClassLoader;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mOutputDir = File.createTempFile("formbinder", "");
+        assertTrue(mOutputDir.delete());
+        assertTrue(mOutputDir.mkdirs());
+        compile(new Source("sample.SimpleForm", SIMPLE_FORM),
+                new Source("sample.ChildForm", CHILD_FORM),
+                new Source("sample.ParentForm", PARENT_FORM),
+                new Source("sample.PrivateConstructorForm", PRIVATE_CONSTRUCTOR_FORM));
+        mClassLoader = new URLClassLoader(new URL[]{mOutputDir.toURI().toURL()},
+                getClass().getClassLoader());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        delete(mOutputDir);
+        super.tearDown();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testSimpleForm() throws Exception {
+        FormBinder<Object> binder = newBinder("sample.SimpleForm");
+        Object form = binder.newForm();
+        assertEquals("sample.SimpleForm", form.getClass().getName());
+
+        List<String> tags = new ArrayList<String>();
+        tags.add("a");
+        binder.setValue(form, 1, "foo");
+        binder.setValue(form, 2, tags);
+        binder.setValue(form, 3, "ignored");
+        assertEquals("foo", binder.getValue(form, 1));
+        assertSame(tags, binder.getValue(form, 2));
+        assertNull(binder.getValue(form, 3));
+        assertNull(form.getClass().getField("notWidget").get(form));
+
+        Object copy = binder.copy(form);
+        assertNotSame(form, copy);
+        assertEquals("foo", binder.getValue(copy, 1));
+        List<String> copiedTags = (List<String>) binder.getValue(copy, 2);
+        assertEquals(tags, copiedTags);
+        assertNotSame(tags, copiedTags);
+    }
+
+    public void testInheritedAndDuplicatedFields() throws Exception {
+        FormBinder<Object> binder = newBinder("sample.ChildForm");
+        Object form = binder.newForm();
+        binder.setValue(form, 12, "parent");
+        assertEquals("parent", form.getClass().getField("parent").get(form));
+
+        // All the fields are set, and the last one is read
+        binder.setValue(form, 11, "both");
+        assertEquals("both", form.getClass().getField("first").get(form));
+        assertEquals("both", form.getClass().getField("last").get(form));
+        form.getClass().getField("first").set(form, "first");
+        form.getClass().getField("last").set(form, "last");
+        assertEquals("last", binder.getValue(form, 11));
+
+        Object copy = binder.copy(form);
+        assertEquals("parent", binder.getValue(copy, 12));
+        assertEquals("first", copy.getClass().getField("first").get(copy));
+    }
+
+    public void testNestedForm() throws Exception {
+        FormBinder<Object> binder = newBinder("sample.ChildForm$Nested");
+        Object form = binder.newForm();
+        binder.setValue(form, 20, "nested");
+        assertEquals("nested", binder.getValue(form, 20));
+    }
+
+    public void testSkipped() throws Exception {
+        try {
+            mClassLoader.loadClass("sample.PrivateConstructorForm$$FormBinder");
+            fail();
+        } catch (ClassNotFoundException e) {
+            // Expected
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private FormBinder<Object> newBinder(final String formClassName) throws Exception {
+        Class<?> binderClass = mClassLoader.loadClass(formClassName + "$$FormBinder");
+        return (FormBinder<Object>) binderClass.newInstance();
+    }
+
+    private void compile(final Source... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("JDK is required to run this test", compiler);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try {
+            List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", mOutputDir.getPath(),
+                    "-s", mOutputDir.getPath());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    options, null, Arrays.asList(sources));
+            task.setProcessors(Arrays.asList(new FormBinderProcessor()));
+            boolean success = task.call();
+            StringBuilder messages = new StringBuilder();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR
+                        || diagnostic.getKind() == Diagnostic.Kind.WARNING) {
+                    messages.append(diagnostic.getMessage(Locale.ENGLISH)).append('\n');
+                }
+            }
+            assertTrue(messages.toString(), success);
+            assertEquals("", messages.toString());
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private static void delete(final File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+
+        private final String mCode;
+
+        Source(final String className, final String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension),
+                    Kind.SOURCE);
+            mCode = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return mCode;
+        }
+    }
+
+}
@@ -20,23 +20,24 @@ import com.androidformenhancer.annotation.Widget;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Convenient container class to retrieve field information.
+ * <p/>
+ * The immutable information of the field is held by {@linkplain FieldSpec},
+ * which is shared between the field data of the same field, and this object
+ * holds the type of the widget and the extracted value.
  *
  * @author Soichiro Kashima
  */
 public class FieldData {
 
-    private int mId;
-    private String mName;
-    private Widget mWidget;
+    private FieldSpec mSpec;
     private WidgetType mWidgetType;
-    private boolean mArray;
     private Object mValue;
-    private HashMap<Class<? extends Annotation>, Annotation> mAnnotations;
 
     /**
      * Constructor.
@@ -45,7 +46,7 @@ public class FieldData {
      * @param widgetType type of the widget
      */
     public FieldData(final Field field, final WidgetType widgetType) {
-        init(field, widgetType);
+        this(new FieldSpec(field), widgetType, null);
     }
 
     /**
@@ -56,8 +57,65 @@ public class FieldData {
      * @param value      value of the field
      */
     public FieldData(final Field field, final WidgetType widgetType, final Object value) {
-        init(field, widgetType);
-        setValue(value);
+        this(new FieldSpec(field), widgetType, value);
+    }
+
+    /**
+     * Constructor with the annotations which have already been read from the
+     * field.<br>
+     * The annotations map is shared with the caller and never modified by
+     * this object.
+     *
+     * @param field       field information
+     * @param widget      widget annotation of the field
+     * @param annotations annotations of the field keyed by annotation type
+     * @param widgetType  type of the widget
+     * @param value       value of the field
+     */
+    public FieldData(final Field field, final Widget widget,
+                     final Map<Class<? extends Annotation>, Annotation> annotations,
+                     final WidgetType widgetType, final Object value) {
+        this(new FieldSpec(field, widget, annotations), widgetType, value);
+    }
+
+    /**
+     * Constructor with the shared field information.
+     *
+     * @param spec       immutable information of the field
+     * @param widgetType type of the widget
+     * @param value      value of the field
+     */
+    public FieldData(final FieldSpec spec, final WidgetType widgetType, final Object value) {
+        mSpec = spec;
+        mWidgetType = widgetType;
+        mValue = value;
+    }
+
+    /**
+     * Copy constructor.<br>
+     * The field information is shared with the source, and the list value is
+     * copied, so the copy is not affected by the changes of the source.
+     *
+     * @param source field data to copy
+     */
+    @SuppressWarnings("unchecked")
+    public FieldData(final FieldData source) {
+        mSpec = source.mSpec;
+        mWidgetType = source.mWidgetType;
+        Object value = source.mValue;
+        if (value instanceof List) {
+            value = new ArrayList<String>((List<String>) value);
+        }
+        mValue = value;
+    }
+
+    /**
+     * Gets the immutable information of the field.
+     *
+     * @return information of the field
+     */
+    public FieldSpec getSpec() {
+        return mSpec;
     }
 
     /**
@@ -66,7 +124,7 @@ public class FieldData {
      * @param id resource ID
      */
     public void setId(final int id) {
-        mId = id;
+        mSpec = mSpec.withId(id);
     }
 
     /**
@@ -75,7 +133,7 @@ public class FieldData {
      * @return resource ID
      */
     public int getId() {
-        return mId;
+        return mSpec.getId();
     }
 
     /**
@@ -84,7 +142,7 @@ public class FieldData {
      * @param name name of the field
      */
     public void setName(final String name) {
-        mName = name;
+        mSpec = mSpec.withName(name);
     }
 
     /**
@@ -94,7 +152,7 @@ public class FieldData {
      * @return name of the field
      */
     public String getName() {
-        return mName;
+        return mSpec.getName();
     }
 
     /**
@@ -103,7 +161,7 @@ public class FieldData {
      * @return widget annotation
      */
     public Widget getWidget() {
-        return mWidget;
+        return mSpec.getWidget();
     }
 
     /**
@@ -130,7 +188,7 @@ public class FieldData {
      * @param array true if the field is an array(List)
      */
     public void setArray(final boolean array) {
-        mArray = array;
+        mSpec = mSpec.withArray(array);
     }
 
     /**
@@ -139,7 +197,7 @@ public class FieldData {
      * @return true if the field is an array(List)
      */
     public boolean isArray() {
-        return mArray;
+        return mSpec.isArray();
     }
 
     /**
@@ -157,10 +215,7 @@ public class FieldData {
      * @param annotations annotations given to the field
      */
     public void setAnnotations(final Annotation[] annotations) {
-        for (Annotation annotation : annotations) {
-            mAnnotations.put(annotation.annotationType(), annotation);
-        }
-        mWidget = (Widget) getAnnotation(Widget.class);
+        mSpec = mSpec.withAnnotations(annotations);
     }
 
     /**
@@ -170,7 +225,7 @@ public class FieldData {
      * @return annotation object if exists
      */
     public Annotation getAnnotation(final Class<? extends Annotation> annotationClass) {
-        return mAnnotations.get(annotationClass);
+        return mSpec.getAnnotation(annotationClass);
     }
 
     /**
@@ -218,20 +273,4 @@ public class FieldData {
         throw new IllegalStateException(
                 "Cannot convert value to List<String>. Isn't it a String?");
     }
-
-    private void init(final Field field, final WidgetType widgetType) {
-        mAnnotations = new HashMap<Class<? extends Annotation>, Annotation>();
-        Widget widget = field.getAnnotation(Widget.class);
-        if (widget == null) {
-            throw new IllegalArgumentException("Field must have @Widget.");
-        }
-        setId(widget.id());
-        setName(field.getName());
-        setAnnotations(field.getAnnotations());
-        setWidgetType(widgetType);
-        final Class<?> fieldType = field.getType();
-        if (fieldType.equals(List.class)) {
-            setArray(true);
-        }
-    }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.internal.AnnotationSlots;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable information of the form field which has {@linkplain Widget}
+ * annotation.
+ * <p/>
+ * This is created once per field of the form class and shared by the
+ * {@linkplain FieldData} objects, which hold the extracted values.
+ * The annotations are also stored in an array indexed by the slots of
+ * {@linkplain AnnotationSlots} to find them without hashing.
+ * This object is thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public final class FieldSpec {
+
+    private final Field mField;
+    private final int mId;
+    private final String mName;
+    private final Widget mWidget;
+    private final boolean mArray;
+    private final Map<Class<? extends Annotation>, Annotation> mAnnotations;
+    private final Annotation[] mAnnotationsBySlot;
+    private final long mSlotMask;
+
+    /**
+     * Constructor.
+     *
+     * @param field field of the form class
+     * @throws IllegalArgumentException if the field does not have
+     *                                  {@linkplain Widget} annotation
+     */
+    public FieldSpec(final Field field) {
+        Widget widget = field.getAnnotation(Widget.class);
+        if (widget == null) {
+            throw new IllegalArgumentException("Field must have @Widget.");
+        }
+        Map<Class<? extends Annotation>, Annotation> annotations =
+                new HashMap<Class<? extends Annotation>, Annotation>();
+        for (Annotation annotation : field.getAnnotations()) {
+            annotations.put(annotation.annotationType(), annotation);
+        }
+        mField = field;
+        mId = widget.id();
+        mName = field.getName();
+        mWidget = widget;
+        mArray = field.getType().equals(List.class);
+        mAnnotations = Collections.unmodifiableMap(annotations);
+        mAnnotationsBySlot = toSlotArray(mAnnotations);
+        mSlotMask = toSlotMask(mAnnotationsBySlot);
+    }
+
+    /**
+     * Constructor with the annotations which have already been read from the
+     * field.
+     *
+     * @param field       field of the form class
+     * @param widget      widget annotation of the field
+     * @param annotations annotations of the field keyed by annotation type,
+     *                    which must not be modified after this call
+     */
+    public FieldSpec(final Field field, final Widget widget,
+                     final Map<Class<? extends Annotation>, Annotation> annotations) {
+        this(field, widget.id(), field.getName(), widget,
+                field.getType().equals(List.class), annotations);
+    }
+
+    private FieldSpec(final Field field, final int id, final String name, final Widget widget,
+                      final boolean array,
+                      final Map<Class<? extends Annotation>, Annotation> annotations) {
+        mField = field;
+        mId = id;
+        mName = name;
+        mWidget = widget;
+        mArray = array;
+        mAnnotations = annotations;
+        mAnnotationsBySlot = toSlotArray(annotations);
+        mSlotMask = toSlotMask(mAnnotationsBySlot);
+    }
+
+    private FieldSpec(final FieldSpec source, final int id, final String name,
+                      final boolean array) {
+        mField = source.mField;
+        mId = id;
+        mName = name;
+        mWidget = source.mWidget;
+        mArray = array;
+        mAnnotations = source.mAnnotations;
+        mAnnotationsBySlot = source.mAnnotationsBySlot;
+        mSlotMask = source.mSlotMask;
+    }
+
+    /**
+     * Gets the field of the form class.
+     *
+     * @return field, or null if not defined
+     */
+    public Field getField() {
+        return mField;
+    }
+
+    /**
+     * Gets the resource ID of the field.
+     *
+     * @return resource ID
+     */
+    public int getId() {
+        return mId;
+    }
+
+    /**
+     * Gets the name of the field in the form class.<br>
+     * This value may be obfuscated by ProGuard.
+     *
+     * @return name of the field
+     */
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Gets the widget annotation given to the field definition.
+     *
+     * @return widget annotation
+     */
+    public Widget getWidget() {
+        return mWidget;
+    }
+
+    /**
+     * Checks if the value of the field is an array(List).
+     *
+     * @return true if the field is an array(List)
+     */
+    public boolean isArray() {
+        return mArray;
+    }
+
+    /**
+     * Gets an annotation from the field.
+     *
+     * @param annotationClass annotation class to get
+     * @return annotation object if exists
+     */
+    public Annotation getAnnotation(final Class<? extends Annotation> annotationClass) {
+        return mAnnotations.get(annotationClass);
+    }
+
+    /**
+     * Gets an annotation from the field by the slot of the annotation class.
+     *
+     * @param slot slot of the annotation class given by
+     *             {@linkplain AnnotationSlots#get(Class)}
+     * @return annotation object if exists
+     */
+    public Annotation getAnnotation(final int slot) {
+        return slot < mAnnotationsBySlot.length ? mAnnotationsBySlot[slot] : null;
+    }
+
+    /**
+     * Gets the bitmask of the slots of the annotations which the field has.
+     * <br>
+     * Only the slots less than {@linkplain AnnotationSlots#MASK_SLOTS} are
+     * included.
+     *
+     * @return bitmask of the slots
+     */
+    public long getSlotMask() {
+        return mSlotMask;
+    }
+
+    /**
+     * Gets all the annotations of the field as an unmodifiable map.
+     *
+     * @return annotations keyed by annotation type
+     */
+    public Map<Class<? extends Annotation>, Annotation> getAnnotations() {
+        return mAnnotations;
+    }
+
+    FieldSpec withId(final int id) {
+        return new FieldSpec(this, id, mName, mArray);
+    }
+
+    FieldSpec withName(final String name) {
+        return new FieldSpec(this, mId, name, mArray);
+    }
+
+    FieldSpec withArray(final boolean array) {
+        return new FieldSpec(this, mId, mName, array);
+    }
+
+    FieldSpec withAnnotations(final Annotation[] annotations) {
+        Map<Class<? extends Annotation>, Annotation> map =
+                new HashMap<Class<? extends Annotation>, Annotation>(mAnnotations);
+        for (Annotation annotation : annotations) {
+            map.put(annotation.annotationType(), annotation);
+        }
+        return new FieldSpec(mField, mId, mName, (Widget) map.get(Widget.class), mArray,
+                Collections.unmodifiableMap(map));
+    }
+
+    private static Annotation[] toSlotArray(
+            final Map<Class<? extends Annotation>, Annotation> annotations) {
+        int length = 0;
+        int[] slots = new int[annotations.size()];
+        Annotation[] values = new Annotation[annotations.size()];
+        int i = 0;
+        for (Map.Entry<Class<? extends Annotation>, Annotation> entry : annotations.entrySet()) {
+            slots[i] = AnnotationSlots.get(entry.getKey());
+            values[i] = entry.getValue();
+            length = Math.max(length, slots[i] + 1);
+            i++;
+        }
+        Annotation[] annotationsBySlot = new Annotation[length];
+        for (i = 0; i < slots.length; i++) {
+            annotationsBySlot[slots[i]] = values[i];
+        }
+        return annotationsBySlot;
+    }
+
+    private static long toSlotMask(final Annotation[] annotationsBySlot) {
+        long mask = 0;
+        for (int slot = 0; slot < annotationsBySlot.length; slot++) {
+            if (annotationsBySlot[slot] != null) {
+                mask |= AnnotationSlots.getMaskBit(slot);
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+/**
+ * Accessor of the form class fields generated at compile time by
+ * androidformenhancer-compiler.
+ * <p/>
+ * The generated class is named {@code <form class name>$$FormBinder} and
+ * reads and writes the fields annotated with
+ * {@linkplain com.androidformenhancer.annotation.Widget} directly, so the
+ * framework does not have to use reflection to handle the form.<br>
+ * You should not implement this interface by yourself.
+ *
+ * @param <T> form class
+ * @author Soichiro Kashima
+ */
+public interface FormBinder<T> {
+
+    /**
+     * Creates a new empty form object.
+     *
+     * @return new form object
+     */
+    T newForm();
+
+    /**
+     * Sets the value to the field related to the widget.
+     *
+     * @param form  target form object
+     * @param id    resource ID of the widget
+     * @param value value to set, String or List&lt;String&gt;
+     */
+    void setValue(T form, int id, Object value);
+
+    /**
+     * Gets the value of the field related to the widget.<br>
+     * If some fields have the same widget ID, the value of the last field is
+     * returned in the same way as {@code Class#getFields()} order.
+     *
+     * @param form target form object
+     * @param id   resource ID of the widget
+     * @return value of the field
+     */
+    Object getValue(T form, int id);
+
+    /**
+     * Creates a deep copy of the widget fields of the form.
+     *
+     * @param form source form object
+     * @return copied form object
+     */
+    T copy(T form);
+
+}
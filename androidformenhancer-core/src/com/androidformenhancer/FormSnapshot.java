@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+/**
+ * Snapshot of the extracted form.
+ * <p/>
+ * The snapshot is created only when the extracted values have been changed,
+ * and shared until the next change, so reading it repeatedly does not copy
+ * the form. The List fields of the form are unmodifiable, and the fields
+ * must not be assigned by the callers because the form object is shared.
+ *
+ * @author Soichiro Kashima
+ */
+public final class FormSnapshot {
+
+    private final long mVersion;
+    private final Object mForm;
+
+    /**
+     * Constructor.
+     *
+     * @param version version of the extracted values
+     * @param form    copy of the form which must not be modified
+     */
+    public FormSnapshot(final long version, final Object form) {
+        mVersion = version;
+        mForm = form;
+    }
+
+    /**
+     * Gets the version of the extracted values.<br>
+     * The version is increased when any value of the form is changed, so the
+     * snapshots which have the same version have the same values.
+     *
+     * @return version of the values
+     */
+    public long getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * Gets the form object.
+     *
+     * @return form object which must not be modified
+     */
+    public Object getForm() {
+        return mForm;
+    }
+}
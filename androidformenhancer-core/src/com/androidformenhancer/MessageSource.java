@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+/**
+ * Source of the error messages of the validators.
+ * <p/>
+ * The messages are identified by the keys defined in this interface, which
+ * are the same as the attribute names of the {@code afeValidatorMessages}
+ * style of the Android module. The Android module reads them from the theme,
+ * and the validators used without Android use the default messages in
+ * English.<br>
+ * The implementations must be thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public interface MessageSource {
+
+    String DATE_PATTERN = "afeErrorDatePattern";
+    String DIGITS = "afeErrorDigits";
+    String EMAIL = "afeErrorEmail";
+    String INT_RANGE = "afeErrorIntRange";
+    String INT_TYPE = "afeErrorIntType";
+    String FLOAT_TYPE = "afeErrorFloatType";
+    String LENGTH = "afeErrorLength";
+    String MAX_LENGTH = "afeErrorMaxLength";
+    String MAX_NUM_OF_DIGITS = "afeErrorMaxNumOfDigits";
+    String MAX_VALUE = "afeErrorMaxValue";
+    String MIN_VALUE = "afeErrorMinValue";
+    String MULTIBYTE = "afeErrorMultibyte";
+    String NUM_OF_DIGITS = "afeErrorNumOfDigits";
+    String PAST_DATE = "afeErrorPastDate";
+    String REGEX = "afeErrorRegex";
+    String REQUIRED = "afeErrorRequired";
+    String REQUIRED_SELECTION = "afeErrorRequiredSelection";
+    String REQUIRED_MULTIPLE_SELECTION = "afeErrorRequiredMultipleSelection";
+    String SINGLEBYTE = "afeErrorSinglebyte";
+    String HIRAGANA = "afeErrorHiragana";
+    String KATAKANA = "afeErrorKatakana";
+    String ALPHABET = "afeErrorAlphabet";
+    String ALPHA_NUM = "afeErrorAlphaNum";
+
+    /**
+     * Gets the error message formatted with the parameters.
+     *
+     * @param key    key of the message
+     * @param params parameters of the message such as the name of the field
+     * @return error message
+     * @throws IllegalArgumentException if the key is not defined
+     */
+    String getMessage(String key, Object... params);
+
+}
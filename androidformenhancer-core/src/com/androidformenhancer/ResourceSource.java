@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+/**
+ * Source of the resources used by the validators, such as the names of the
+ * fields and the settings of the validators.
+ * <p/>
+ * The strings are identified by the resource IDs given to the annotations,
+ * such as {@linkplain com.androidformenhancer.annotation.Widget#nameResId()}.
+ * The Android module reads them from the resources and the theme.<br>
+ * The implementations must be thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public interface ResourceSource {
+
+    /**
+     * Gets the string formatted with the parameters.
+     *
+     * @param resId  resource ID of the string
+     * @param params parameters of the string
+     * @return string, or null if the string is not found
+     */
+    String getString(int resId, Object... params);
+
+    /**
+     * Gets the character encoding to decide the byte width of the
+     * characters.
+     *
+     * @return character encoding, or null to use the default encoding
+     */
+    String getCharacterEncoding();
+
+    /**
+     * Gets the regular expression to validate the e-mail addresses.
+     *
+     * @return regular expression, or null to use the default one
+     */
+    String getEmailPattern();
+
+}
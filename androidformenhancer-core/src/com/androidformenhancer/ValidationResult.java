@@ -0,0 +1,323 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+import com.androidformenhancer.utils.IntMap;
+import com.androidformenhancer.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Result of the validation such as validated widget IDs and error messages.
+ * <p/>
+ * The IDs are stored in the int arrays without boxing.
+ * The results can be reused by {@linkplain #obtain()} and
+ * {@linkplain #recycle()} to avoid allocations on the repeated validations.
+ *
+ * @author Soichiro Kashima
+ */
+public final class ValidationResult {
+
+    private static final int MAX_POOL_SIZE = 4;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final ArrayList<String> EMPTY_ERRORS = new EmptyList();
+    private static final Object sPoolLock = new Object();
+    private static ValidationResult sPool;
+    private static int sPoolSize;
+
+    private int[] mValidatedIds;
+    private int mValidatedIdCount;
+    private int[] mErrorIds;
+    private int mErrorIdCount;
+    private IntMap<ArrayList<String>> mErrorMessages;
+    private ArrayList<ArrayList<String>> mRecycledLists;
+    private ArrayList<Integer> mValidatedIdList;
+    private Set<Integer> mErrorIdSet;
+    private ValidationResult mNext;
+    private boolean mRecycled;
+
+    /**
+     * Constructor.
+     */
+    public ValidationResult() {
+        mValidatedIds = new int[INITIAL_CAPACITY];
+        mErrorIds = new int[INITIAL_CAPACITY];
+        mErrorMessages = new IntMap<ArrayList<String>>();
+    }
+
+    /**
+     * Returns an empty result from the pool, or creates a new one if the pool
+     * is empty.
+     *
+     * @return empty result
+     */
+    public static ValidationResult obtain() {
+        synchronized (sPoolLock) {
+            if (sPool != null) {
+                ValidationResult result = sPool;
+                sPool = result.mNext;
+                result.mNext = null;
+                result.mRecycled = false;
+                sPoolSize--;
+                return result;
+            }
+        }
+        return new ValidationResult();
+    }
+
+    /**
+     * Clears the result and returns it to the pool.<br>
+     * The result and the lists returned from it must not be used after
+     * calling this method.
+     *
+     * @throws IllegalStateException if the result has already been recycled
+     */
+    public void recycle() {
+        if (mRecycled) {
+            throw new IllegalStateException("This result has already been recycled.");
+        }
+        reset();
+        mRecycled = true;
+        synchronized (sPoolLock) {
+            if (sPoolSize < MAX_POOL_SIZE) {
+                mNext = sPool;
+                sPool = this;
+                sPoolSize++;
+            }
+        }
+    }
+
+    /**
+     * Clears the validated IDs and the error messages to reuse this result.
+     */
+    public void reset() {
+        mValidatedIdCount = 0;
+        for (int i = 0; i < mErrorIdCount; i++) {
+            ArrayList<String> list = mErrorMessages.get(mErrorIds[i]);
+            list.clear();
+            if (mRecycledLists == null) {
+                mRecycledLists = new ArrayList<ArrayList<String>>();
+            }
+            mRecycledLists.add(list);
+        }
+        mErrorIdCount = 0;
+        mErrorMessages.clear();
+        mValidatedIdList = null;
+        mErrorIdSet = null;
+    }
+
+    /**
+     * Adds a widget ID to be validated.
+     *
+     * @param id ID to add
+     */
+    public void addValidatedId(final int id) {
+        if (mValidatedIdCount == mValidatedIds.length) {
+            mValidatedIds = grow(mValidatedIds);
+        }
+        mValidatedIds[mValidatedIdCount++] = id;
+        mValidatedIdList = null;
+    }
+
+    /**
+     * Returns the widget IDs which has been validated.<br>
+     * Use {@linkplain #getValidatedIdCount()} and
+     * {@linkplain #getValidatedIdAt(int)} to avoid boxing the IDs.
+     *
+     * @return list of widget IDs
+     */
+    public ArrayList<Integer> getValidatedIds() {
+        if (mValidatedIdList == null) {
+            ArrayList<Integer> list = new ArrayList<Integer>(mValidatedIdCount);
+            for (int i = 0; i < mValidatedIdCount; i++) {
+                list.add(mValidatedIds[i]);
+            }
+            mValidatedIdList = list;
+        }
+        return mValidatedIdList;
+    }
+
+    /**
+     * Returns the number of the widget IDs which has been validated.
+     *
+     * @return number of the IDs
+     */
+    public int getValidatedIdCount() {
+        return mValidatedIdCount;
+    }
+
+    /**
+     * Returns the widget ID which has been validated at the {@code index}.
+     *
+     * @param index index in the validated order
+     * @return widget ID
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range
+     */
+    public int getValidatedIdAt(final int index) {
+        if (index < 0 || mValidatedIdCount <= index) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return mValidatedIds[index];
+    }
+
+    /**
+     * Check if there were any errors on the validation.
+     *
+     * @return true if there were some errors
+     */
+    public boolean hasError() {
+        return mErrorIdCount > 0;
+    }
+
+    /**
+     * Check if there were any errors for the specific widget on the validation.
+     *
+     * @param id ID of the target widget
+     * @return true if there were some errors
+     */
+    public boolean hasErrorFor(final int id) {
+        return mErrorMessages.get(id) != null;
+    }
+
+    /**
+     * Adds a validation error message for the specified widget.
+     *
+     * @param id           ID of the target widget
+     * @param errorMessage validation error message to add
+     */
+    public void addError(final int id, final String errorMessage) {
+        ArrayList<String> list = mErrorMessages.get(id);
+        if (list == null) {
+            if (mRecycledLists != null && !mRecycledLists.isEmpty()) {
+                list = mRecycledLists.remove(mRecycledLists.size() - 1);
+            } else {
+                list = new ArrayList<String>();
+            }
+            mErrorMessages.put(id, list);
+            if (mErrorIdCount == mErrorIds.length) {
+                mErrorIds = grow(mErrorIds);
+            }
+            mErrorIds[mErrorIdCount++] = id;
+            mErrorIdSet = null;
+        }
+        list.add(errorMessage);
+    }
+
+    /**
+     * Returns the validation error messages for the specified widget as a list.<br>
+     * Note that this method returns empty list when there are no errors.
+     * The empty list is shared and cannot be modified.
+     *
+     * @param id ID of the target widget
+     * @return list of error messages
+     */
+    public ArrayList<String> getErrorsFor(final int id) {
+        ArrayList<String> list = mErrorMessages.get(id);
+        if (list != null) {
+            return list;
+        }
+        return EMPTY_ERRORS;
+    }
+
+    /**
+     * Gets the set of the widget IDs which have some validation errors.
+     * The IDs are ordered as the errors are added.
+     *
+     * @return set of the IDs
+     */
+    public Set<Integer> getErrorIds() {
+        if (mErrorIdSet == null) {
+            Set<Integer> set = new LinkedHashSet<Integer>();
+            for (int i = 0; i < mErrorIdCount; i++) {
+                set.add(mErrorIds[i]);
+            }
+            mErrorIdSet = set;
+        }
+        return mErrorIdSet;
+    }
+
+    /**
+     * Returns all the validation error messages of all the widget as a list.
+     *
+     * @return list of error messages
+     */
+    public ArrayList<String> getAllErrors() {
+        ArrayList<String> stringList = new ArrayList<String>();
+        for (int i = 0; i < mErrorIdCount; i++) {
+            stringList.addAll(mErrorMessages.get(mErrorIds[i]));
+        }
+        return stringList;
+    }
+
+    /**
+     * Returns all the validation error messages of all the widget as a String.<br>
+     * If there are two or more errors, this method inserts new line character
+     * between error messages.
+     *
+     * @return error messages
+     */
+    public String getAllSerializedErrors() {
+        return StringUtils.serialize(getAllErrors());
+    }
+
+    private static int[] grow(final int[] array) {
+        int[] newArray = new int[array.length * 2];
+        System.arraycopy(array, 0, newArray, 0, array.length);
+        return newArray;
+    }
+
+    /**
+     * Empty list which cannot be modified.
+     */
+    private static final class EmptyList extends ArrayList<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        EmptyList() {
+            super(0);
+        }
+
+        @Override
+        public boolean add(String object) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(int index, String object) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends String> collection) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends String> collection) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String set(int index, String object) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+}
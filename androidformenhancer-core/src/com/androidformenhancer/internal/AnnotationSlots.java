@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import java.lang.annotation.Annotation;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of the integer slots of the annotation classes.
+ * <p/>
+ * Each annotation class gets a small, dense slot number at the first use,
+ * so the annotations of a field can be stored in an array indexed by slot
+ * and found without hashing the class.
+ * The slots are never released and are valid for the whole process.
+ * This class is thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public final class AnnotationSlots {
+
+    /**
+     * Number of the slots which can be represented in a bitmask of long.
+     */
+    public static final int MASK_SLOTS = 64;
+
+    private static final Map<Class<? extends Annotation>, Integer> SLOTS =
+            new HashMap<Class<? extends Annotation>, Integer>();
+
+    private AnnotationSlots() {
+    }
+
+    /**
+     * Gets the slot of the annotation class, assigning a new one if not yet.
+     *
+     * @param annotationClass annotation class
+     * @return slot of the annotation class
+     */
+    public static int get(final Class<? extends Annotation> annotationClass) {
+        synchronized (SLOTS) {
+            Integer slot = SLOTS.get(annotationClass);
+            if (slot == null) {
+                slot = SLOTS.size();
+                SLOTS.put(annotationClass, slot);
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Gets the bit of the slot in the bitmask.
+     *
+     * @param slot slot of the annotation class
+     * @return bit of the slot, or 0 if the slot cannot be represented in a
+     * bitmask
+     */
+    public static long getMaskBit(final int slot) {
+        return slot < MASK_SLOTS ? 1L << slot : 0L;
+    }
+}
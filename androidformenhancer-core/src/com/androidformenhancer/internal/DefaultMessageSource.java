@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.MessageSource;
+import com.androidformenhancer.ResourceSource;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Default messages and resources for the validators used without Android.
+ * <p/>
+ * The messages are the same as the default English messages of the Android
+ * module. There are no string resources, so the names of the fields are
+ * used in the messages, and the default settings are used.
+ * This object is immutable and thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public final class DefaultMessageSource implements MessageSource, ResourceSource {
+
+    /**
+     * Shared instance.
+     */
+    public static final DefaultMessageSource INSTANCE = new DefaultMessageSource();
+
+    private final Map<String, String> mTemplates;
+
+    private DefaultMessageSource() {
+        mTemplates = new HashMap<String, String>();
+        mTemplates.put(REQUIRED, "%1$s is required");
+        mTemplates.put(REQUIRED_SELECTION, "%1$s must be selected");
+        mTemplates.put(REQUIRED_MULTIPLE_SELECTION, "%1$s must be selected at least %2$d");
+        mTemplates.put(INT_TYPE, "%1$s must be an integer");
+        mTemplates.put(FLOAT_TYPE, "%1$s must be a floating point number");
+        mTemplates.put(DIGITS, "%1$s must be digits");
+        mTemplates.put(MIN_VALUE, "%1$s must be more than or equal to %2$d");
+        mTemplates.put(MAX_VALUE, "%1$s must be less than or equal to %2$d");
+        mTemplates.put(INT_RANGE, "%1$s is not in the range %2$d through %3$d");
+        mTemplates.put(MULTIBYTE, "%1$s must be multibyte characters");
+        mTemplates.put(SINGLEBYTE, "%1$s must be singlebyte characters");
+        mTemplates.put(LENGTH, "%1$s must be %2$d characters");
+        mTemplates.put(MAX_LENGTH, "%1$s must be less than %2$d characters");
+        mTemplates.put(NUM_OF_DIGITS, "%1$s must be %2$d digits");
+        mTemplates.put(MAX_NUM_OF_DIGITS, "%1$s must be less than %2$d digits");
+        mTemplates.put(REGEX, "%1$s is invalid");
+        mTemplates.put(EMAIL, "%1$s is invalid e-mail address");
+        mTemplates.put(DATE_PATTERN, "%1$s is invalid date");
+        mTemplates.put(PAST_DATE, "%1$s must be past date");
+        mTemplates.put(HIRAGANA, "%1$s must be hiragana characters");
+        mTemplates.put(KATAKANA, "%1$s must be katakana characters");
+        mTemplates.put(ALPHABET, "%1$s must be alphabet characters");
+        mTemplates.put(ALPHA_NUM, "%1$s must be alphabet or number characters");
+    }
+
+    @Override
+    public String getMessage(final String key, final Object... params) {
+        final String template = mTemplates.get(key);
+        if (template == null) {
+            throw new IllegalArgumentException("Message is not defined: " + key);
+        }
+        return String.format(Locale.ENGLISH, template, params);
+    }
+
+    @Override
+    public String getString(final int resId, final Object... params) {
+        return null;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return null;
+    }
+
+    @Override
+    public String getEmailPattern() {
+        return null;
+    }
+
+}
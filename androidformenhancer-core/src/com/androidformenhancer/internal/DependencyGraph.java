@@ -0,0 +1,299 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.ValidationException;
+import com.androidformenhancer.annotation.When;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.utils.IntMap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Dependencies between the fields of the form.
+ * <p/>
+ * There are two kinds of dependencies.
+ * {@linkplain Widget#validateAfter()} decides the order of the validation,
+ * and {@linkplain When} conditions make the result of the validation depend
+ * on the values of the other fields.
+ * The graph is built once per form class, and the circular
+ * {@linkplain Widget#validateAfter()} is detected at that time.
+ * This object is immutable and thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public final class DependencyGraph {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private static final OnceCache<FormMetadata, DependencyGraph> CACHE =
+            new OnceCache<FormMetadata, DependencyGraph>() {
+                @Override
+                protected DependencyGraph create(final FormMetadata metadata) {
+                    return new DependencyGraph(metadata);
+                }
+            };
+
+    private final int[] mOrder;
+    private final IntMap<Integer> mParentIds;
+    private final IntMap<int[]> mDependencies;
+    private final IntMap<int[]> mDependents;
+    private final IntMap<int[]> mRevalidationIds;
+
+    private DependencyGraph(final FormMetadata metadata) {
+        // Same as the extracted field data, the last field wins if IDs conflict
+        IntMap<FormMetadata.WidgetField> fields = new IntMap<FormMetadata.WidgetField>();
+        for (FormMetadata.WidgetField widgetField : metadata.getWidgetFields()) {
+            fields.put(widgetField.getId(), widgetField);
+        }
+
+        mParentIds = new IntMap<Integer>();
+        IntMap<List<Integer>> children = new IntMap<List<Integer>>();
+        IntMap<List<Integer>> dependencies = new IntMap<List<Integer>>();
+        IntMap<List<Integer>> dependents = new IntMap<List<Integer>>();
+        List<Integer> roots = new ArrayList<Integer>();
+        for (int i = 0; i < fields.size(); i++) {
+            FormMetadata.WidgetField widgetField = fields.valueAt(i);
+            int id = widgetField.getId();
+            int parentId = widgetField.getWidget().validateAfter();
+            mParentIds.put(id, parentId);
+            if (parentId == 0) {
+                roots.add(id);
+            } else {
+                add(children, parentId, id);
+            }
+            for (Annotation annotation : widgetField.getAnnotationArray()) {
+                for (When when : getConditions(annotation)) {
+                    add(dependencies, id, when.id());
+                    add(dependents, when.id(), id);
+                }
+            }
+        }
+
+        // Depth-first, and the siblings are ordered by their IDs
+        List<Integer> order = new ArrayList<Integer>(fields.size());
+        LinkedList<Integer> stack = new LinkedList<Integer>(roots);
+        while (!stack.isEmpty()) {
+            int id = stack.removeFirst();
+            order.add(id);
+            List<Integer> l = children.get(id);
+            if (l != null) {
+                stack.addAll(0, l);
+            }
+        }
+        mOrder = toArray(order);
+        checkCycles(metadata, fields);
+
+        mDependencies = toArrays(dependencies);
+        mDependents = toArrays(dependents);
+        mRevalidationIds = new IntMap<int[]>();
+        for (int i = 0; i < fields.size(); i++) {
+            int id = fields.keyAt(i);
+            List<Integer> ids = new ArrayList<Integer>();
+            ids.add(id);
+            for (int dependentId : getDependents(id)) {
+                if (!ids.contains(dependentId)) {
+                    ids.add(dependentId);
+                }
+            }
+            mRevalidationIds.put(id, toArray(ids));
+        }
+    }
+
+    /**
+     * Gets the dependency graph of the form class.<br>
+     * The graph is built at the first call for each form class.
+     *
+     * @param metadata metadata of the form class
+     * @return dependency graph
+     * @throws ValidationException if {@linkplain Widget#validateAfter()} is
+     *                             circular
+     */
+    public static DependencyGraph get(final FormMetadata metadata) {
+        // The metadata is unique for each form class
+        return CACHE.get(metadata);
+    }
+
+    /**
+     * Gets the resource IDs of all the fields in the order of the
+     * validation.<br>
+     * Do not modify the returned array.
+     *
+     * @return resource IDs of the fields
+     */
+    public int[] getOrder() {
+        return mOrder;
+    }
+
+    /**
+     * Sorts the extracted fields in the order of the validation.<br>
+     * The fields which should be validated after a field which has not been
+     * extracted are excluded.
+     *
+     * @param fieldDataArray extracted fields
+     * @return sorted fields
+     */
+    public FieldData[] sort(final IntMap<FieldData> fieldDataArray) {
+        if (fieldDataArray.size() == 1) {
+            return new FieldData[]{
+                    fieldDataArray.valueAt(0),
+            };
+        }
+        List<FieldData> result = new ArrayList<FieldData>(fieldDataArray.size());
+        IntMap<Boolean> sorted = new IntMap<Boolean>();
+        for (int id : mOrder) {
+            FieldData fieldData = fieldDataArray.get(id);
+            if (fieldData == null) {
+                continue;
+            }
+            int parentId = mParentIds.get(id, 0);
+            if (parentId != 0 && sorted.get(parentId) == null) {
+                continue;
+            }
+            sorted.put(id, Boolean.TRUE);
+            result.add(fieldData);
+        }
+        return result.toArray(new FieldData[result.size()]);
+    }
+
+    /**
+     * Gets the resource IDs of the fields which the conditions of the field
+     * refer to.<br>
+     * Do not modify the returned array.
+     *
+     * @param id resource ID of the field
+     * @return resource IDs of the fields
+     */
+    public int[] getDependencies(final int id) {
+        return mDependencies.get(id, NO_IDS);
+    }
+
+    /**
+     * Gets the resource IDs of the fields which have the conditions referring
+     * to the field.<br>
+     * Do not modify the returned array.
+     *
+     * @param id resource ID of the field
+     * @return resource IDs of the fields
+     */
+    public int[] getDependents(final int id) {
+        return mDependents.get(id, NO_IDS);
+    }
+
+    /**
+     * Gets the minimal resource IDs of the fields to validate again when the
+     * value of the field is changed: the field itself and its dependents.<br>
+     * Do not modify the returned array.
+     *
+     * @param id resource ID of the changed field
+     * @return resource IDs of the fields
+     */
+    public int[] getRevalidationIds(final int id) {
+        return mRevalidationIds.get(id, NO_IDS);
+    }
+
+    /**
+     * Gets the conditions of the annotation.<br>
+     * Any annotation which has a member of {@linkplain When} array such as
+     * {@linkplain com.androidformenhancer.annotation.Required#when()} is
+     * supported.
+     */
+    private static When[] getConditions(final Annotation annotation) {
+        List<When> conditions = null;
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+            if (method.getReturnType() != When[].class || method.getParameterTypes().length > 0) {
+                continue;
+            }
+            try {
+                When[] whens = (When[]) method.invoke(annotation);
+                if (whens == null || whens.length == 0) {
+                    continue;
+                }
+                if (conditions == null) {
+                    conditions = new ArrayList<When>();
+                }
+                for (When when : whens) {
+                    conditions.add(when);
+                }
+            } catch (Exception e) {
+                throw new ValidationException("Cannot read the conditions of " + annotation, e);
+            }
+        }
+        return conditions == null ? new When[0] : conditions.toArray(new When[conditions.size()]);
+    }
+
+    private void checkCycles(final FormMetadata metadata,
+                             final IntMap<FormMetadata.WidgetField> fields) {
+        IntMap<Boolean> checked = new IntMap<Boolean>();
+        for (int id : mOrder) {
+            checked.put(id, Boolean.TRUE);
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            List<Integer> path = new ArrayList<Integer>();
+            int id = fields.keyAt(i);
+            // Follow the parents until a checked field or a field not in the form
+            while (fields.get(id) != null && checked.get(id) == null) {
+                if (path.contains(id)) {
+                    StringBuilder sb = new StringBuilder();
+                    for (int j = path.indexOf(id); j < path.size(); j++) {
+                        sb.append(fields.get(path.get(j)).getName()).append(" -> ");
+                    }
+                    sb.append(fields.get(id).getName());
+                    throw new ValidationException("Circular validateAfter found in "
+                            + metadata.getFormClass().getName() + ": " + sb);
+                }
+                path.add(id);
+                id = mParentIds.get(id, 0);
+            }
+            for (int checkedId : path) {
+                checked.put(checkedId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static void add(final IntMap<List<Integer>> map, final int key,
+                            final int value) {
+        List<Integer> l = map.get(key);
+        if (l == null) {
+            l = new ArrayList<Integer>();
+            map.put(key, l);
+        }
+        l.add(value);
+    }
+
+    private static IntMap<int[]> toArrays(final IntMap<List<Integer>> map) {
+        IntMap<int[]> arrays = new IntMap<int[]>();
+        for (int i = 0; i < map.size(); i++) {
+            arrays.put(map.keyAt(i), toArray(map.valueAt(i)));
+        }
+        return arrays;
+    }
+
+    private static int[] toArray(final List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+}
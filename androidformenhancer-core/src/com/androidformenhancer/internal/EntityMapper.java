@@ -0,0 +1,280 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapper which copies the fields of the form to the entity fields which
+ * have the same names.
+ * <p/>
+ * The pairs of the fields and the converters for their types are resolved
+ * once for each pair of the form class and the entity class, so the
+ * mismatches between the classes are reported before copying any value.
+ * This object is immutable and thread-safe.
+ *
+ * @param <E> type of the entity
+ * @author Soichiro Kashima
+ */
+public final class EntityMapper<E> {
+
+    private static final OnceCache<Key, EntityMapper<?>> CACHE =
+            new OnceCache<Key, EntityMapper<?>>() {
+                @Override
+                protected EntityMapper<?> create(final Key key) {
+                    return new EntityMapper<Object>(key.mFormClass, key.mEntityClass);
+                }
+            };
+
+    private final Class<E> mEntityClass;
+    private final Mapping[] mMappings;
+
+    @SuppressWarnings("unchecked")
+    private EntityMapper(final Class<?> formClass, final Class<?> entityClass) {
+        mEntityClass = (Class<E>) entityClass;
+        Field[] srcFields = formClass.getFields();
+        mMappings = new Mapping[srcFields.length];
+        for (int i = 0; i < srcFields.length; i++) {
+            Field srcField = srcFields[i];
+            Field dstField;
+            try {
+                dstField = entityClass.getField(srcField.getName());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException(
+                        "Entity class " + entityClass.getCanonicalName()
+                                + " has no public field for the form field: "
+                                + srcField.getName(), e
+                );
+            }
+            mMappings[i] = new Mapping(srcField, dstField, getConverter(srcField, dstField));
+        }
+    }
+
+    /**
+     * Gets the mapper from the form class to the entity class.<br>
+     * The mapper is created at the first call for each pair of the classes.
+     *
+     * @param formClass class of the form
+     * @param entityClass class of the entity
+     * @param <E> type of the entity
+     * @return mapper of the classes
+     * @throws IllegalArgumentException if the entity class does not have the
+     *             field for a form field or its type cannot be converted
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> EntityMapper<E> get(final Class<?> formClass, final Class<E> entityClass) {
+        return (EntityMapper<E>) CACHE.get(new Key(formClass, entityClass));
+    }
+
+    /**
+     * Creates a new entity and copies the values of the form to it.<br>
+     * Null values and empty strings are not copied.
+     *
+     * @param form form object to copy
+     * @return created entity object
+     * @throws RuntimeException if the entity could not be instantiated or a
+     *             value could not be converted
+     */
+    public E map(final Object form) {
+        try {
+            E dst = mEntityClass.newInstance();
+            for (Mapping mapping : mMappings) {
+                Object value = mapping.mSrc.get(form);
+                if (value == null) {
+                    continue;
+                }
+                mapping.mConverter.set(dst, mapping.mDst, value);
+            }
+            return dst;
+        } catch (InstantiationException e) {
+            throw new RuntimeException("Failed to instantiate entity.", e);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to instantiate entity.", e);
+        }
+    }
+
+    private static Converter getConverter(final Field srcField, final Field dstField) {
+        Class<?> srcType = srcField.getType();
+        Class<?> dstType = dstField.getType();
+        if (srcType.equals(List.class)) {
+            if (dstType.equals(List.class)) {
+                return LIST_CONVERTER;
+            }
+        } else if (dstType.equals(String.class)) {
+            return STRING_CONVERTER;
+        } else if (dstType.equals(int.class)) {
+            return INT_CONVERTER;
+        } else if (dstType.equals(float.class)) {
+            return FLOAT_CONVERTER;
+        } else if (dstType.equals(double.class)) {
+            return DOUBLE_CONVERTER;
+        } else if (dstType.equals(boolean.class)) {
+            return BOOLEAN_CONVERTER;
+        } else if (dstType.equals(long.class)) {
+            return LONG_CONVERTER;
+        } else if (dstType.equals(short.class)) {
+            return SHORT_CONVERTER;
+        } else if (dstType.equals(char.class)) {
+            return CHAR_CONVERTER;
+        }
+        throw new IllegalArgumentException(
+                "Entity field types must be primitive types or String or List<String>: "
+                        + dstType.getCanonicalName() + " " + dstField.getName()
+        );
+    }
+
+    private static final class Mapping {
+
+        private final Field mSrc;
+        private final Field mDst;
+        private final Converter mConverter;
+
+        private Mapping(final Field src, final Field dst, final Converter converter) {
+            mSrc = src;
+            mDst = dst;
+            mConverter = converter;
+        }
+    }
+
+    private abstract static class Converter {
+
+        void set(final Object entity, final Field field, final Object value)
+                throws IllegalAccessException {
+            String valueString = (String) value;
+            if (valueString.length() == 0) {
+                return;
+            }
+            setString(entity, field, valueString);
+        }
+
+        abstract void setString(Object entity, Field field, String value)
+                throws IllegalAccessException;
+    }
+
+    private static final Converter LIST_CONVERTER = new Converter() {
+        @Override
+        void set(final Object entity, final Field field, final Object value)
+                throws IllegalAccessException {
+            @SuppressWarnings("unchecked")
+            List<String> srcList = (List<String>) value;
+            field.set(entity, new ArrayList<String>(srcList));
+        }
+
+        @Override
+        void setString(final Object entity, final Field field, final String value) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    private static final Converter STRING_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.set(entity, value);
+        }
+    };
+
+    private static final Converter INT_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.setInt(entity, Integer.parseInt(value));
+        }
+    };
+
+    private static final Converter FLOAT_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.setFloat(entity, Float.parseFloat(value));
+        }
+    };
+
+    private static final Converter DOUBLE_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.setDouble(entity, Double.parseDouble(value));
+        }
+    };
+
+    private static final Converter BOOLEAN_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.setBoolean(entity, Boolean.parseBoolean(value));
+        }
+    };
+
+    private static final Converter LONG_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.setLong(entity, Long.parseLong(value));
+        }
+    };
+
+    private static final Converter SHORT_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.setShort(entity, Short.parseShort(value));
+        }
+    };
+
+    private static final Converter CHAR_CONVERTER = new Converter() {
+        @Override
+        void setString(final Object entity, final Field field, final String value)
+                throws IllegalAccessException {
+            field.setChar(entity, value.charAt(0));
+        }
+    };
+
+    private static final class Key {
+
+        private final Class<?> mFormClass;
+        private final Class<?> mEntityClass;
+        private final int mHashCode;
+
+        private Key(final Class<?> formClass, final Class<?> entityClass) {
+            mFormClass = formClass;
+            mEntityClass = entityClass;
+            mHashCode = 31 * formClass.hashCode() + entityClass.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return mFormClass.equals(other.mFormClass)
+                    && mEntityClass.equals(other.mEntityClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+
+}
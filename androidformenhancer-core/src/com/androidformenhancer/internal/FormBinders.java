@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.FormBinder;
+import com.androidformenhancer.ValidationException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the {@linkplain FormBinder} generated by androidformenhancer-compiler.
+ * <p/>
+ * Lookup results including missing binders are cached, so the class loader is
+ * asked only once per form class.
+ *
+ * @author Soichiro Kashima
+ */
+public final class FormBinders {
+
+    /**
+     * Suffix of the generated binder class name.
+     */
+    public static final String SUFFIX = "$$FormBinder";
+
+    /**
+     * Cached instead of the binder which has not been generated.
+     */
+    private static final Object NO_BINDER = new Object();
+
+    private static final Map<Class<?>, Object> BINDERS = new HashMap<Class<?>, Object>();
+
+    private FormBinders() {
+    }
+
+    /**
+     * Gets the binder generated for the form class.
+     *
+     * @param formClass form class
+     * @return binder object, or null if the binder has not been generated
+     */
+    @SuppressWarnings("unchecked")
+    public static FormBinder<Object> get(final Class<?> formClass) {
+        Object binder;
+        synchronized (BINDERS) {
+            binder = BINDERS.get(formClass);
+        }
+        if (binder == null) {
+            binder = load(formClass);
+            synchronized (BINDERS) {
+                BINDERS.put(formClass, binder);
+            }
+        }
+        return binder == NO_BINDER ? null : (FormBinder<Object>) binder;
+    }
+
+    private static Object load(final Class<?> formClass) {
+        try {
+            Class<?> binderClass = Class.forName(formClass.getName() + SUFFIX, true,
+                    formClass.getClassLoader());
+            return (FormBinder<?>) binderClass.newInstance();
+        } catch (ClassNotFoundException e) {
+            // Compiler is not used for this form, so use reflection
+            return NO_BINDER;
+        } catch (InstantiationException e) {
+            throw new ValidationException(e);
+        } catch (IllegalAccessException e) {
+            throw new ValidationException(e);
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.FieldSpec;
+import com.androidformenhancer.FormBinder;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.annotation.WidgetValue;
+import com.androidformenhancer.utils.IntMap;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reflection information of the form class.
+ * <p/>
+ * Reading fields and annotations is slow, so this is created only once per
+ * form class and shared by all the {@linkplain ValidationEngine} in the
+ * process. This object is immutable and thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public final class FormMetadata {
+
+    private static final OnceCache<Class<?>, FormMetadata> CACHE =
+            new OnceCache<Class<?>, FormMetadata>() {
+                @Override
+                protected FormMetadata create(final Class<?> formClass) {
+                    return new FormMetadata(formClass);
+                }
+            };
+
+    private final Class<?> mFormClass;
+    private final FormBinder<Object> mFormBinder;
+    private final Field[] mFields;
+    private final WidgetField[] mWidgetFields;
+    private final IntMap<WidgetField> mWidgetFieldsById;
+    private final String mFieldTypeError;
+
+    private FormMetadata(final Class<?> formClass) {
+        mFormClass = formClass;
+        mFormBinder = FormBinders.get(formClass);
+        mFields = formClass.getFields();
+
+        String fieldTypeError = null;
+        List<WidgetField> widgetFields = new ArrayList<WidgetField>();
+        for (Field field : mFields) {
+            // Ensure the field types in form class are all String or
+            // List<String>.
+            Class<?> type = field.getType();
+            if (fieldTypeError == null && !type.equals(String.class) && !type.equals(List.class)) {
+                fieldTypeError = ""
+                        + "All the form instance fields must be String or List<String>. "
+                        + "If you want to use types other than String and List<String>, "
+                        + "create an 'entity class' and use FormHelper#createEntityFromForm() "
+                        + "after calling this method. Field name: "
+                        + field.getName()
+                        + " Field type: "
+                        + type;
+            }
+            Widget widget = field.getAnnotation(Widget.class);
+            if (widget != null) {
+                widgetFields.add(new WidgetField(field, widget));
+            }
+        }
+        mFieldTypeError = fieldTypeError;
+        mWidgetFields = widgetFields.toArray(new WidgetField[widgetFields.size()]);
+        mWidgetFieldsById = new IntMap<WidgetField>();
+        for (WidgetField widgetField : mWidgetFields) {
+            // Same as the extracted field data, the last one wins
+            mWidgetFieldsById.put(widgetField.getId(), widgetField);
+        }
+    }
+
+    /**
+     * Gets the metadata of the form class.<br>
+     * The metadata is created at the first call for each form class.
+     *
+     * @param formClass form class
+     * @return metadata of the form class
+     */
+    public static FormMetadata get(final Class<?> formClass) {
+        return CACHE.get(formClass);
+    }
+
+    /**
+     * Gets the form class.
+     *
+     * @return form class
+     */
+    public Class<?> getFormClass() {
+        return mFormClass;
+    }
+
+    /**
+     * Gets the binder generated for the form class.
+     *
+     * @return binder, or null if not generated
+     */
+    public FormBinder<Object> getFormBinder() {
+        return mFormBinder;
+    }
+
+    /**
+     * Gets all the public fields of the form class.<br>
+     * Do not modify the returned array.
+     *
+     * @return public fields
+     */
+    public Field[] getFields() {
+        return mFields;
+    }
+
+    /**
+     * Gets the fields which have {@linkplain Widget} annotation.<br>
+     * Do not modify the returned array.
+     *
+     * @return widget fields
+     */
+    public WidgetField[] getWidgetFields() {
+        return mWidgetFields;
+    }
+
+    /**
+     * Gets the field which has {@linkplain Widget} annotation with the ID.
+     *
+     * @param id resource ID of the widget
+     * @return widget field, or null if not found
+     */
+    public WidgetField getWidgetField(final int id) {
+        return mWidgetFieldsById.get(id);
+    }
+
+    /**
+     * Ensures that all the form fields are String or List&lt;String&gt;.
+     *
+     * @throws IllegalArgumentException if the form has a field with the other
+     *                                  type
+     */
+    public void ensureFormFieldsTypes() {
+        if (mFieldTypeError != null) {
+            throw new IllegalArgumentException(mFieldTypeError);
+        }
+    }
+
+    /**
+     * Reflection information of the field which has {@linkplain Widget}
+     * annotation.
+     */
+    public static final class WidgetField {
+
+        private final Field mField;
+        private final Widget mWidget;
+        private final int mId;
+        private final WidgetValue[] mWidgetValues;
+        private final IntMap<String> mValuesById;
+        private final Annotation[] mAnnotationArray;
+        private final FieldSpec mSpec;
+
+        private WidgetField(final Field field, final Widget widget) {
+            mField = field;
+            mWidget = widget;
+            mId = widget.id();
+            mWidgetValues = widget.values();
+            mValuesById = new IntMap<String>();
+            for (WidgetValue widgetValue : mWidgetValues) {
+                // Same as the linear search, the first one wins
+                if (mValuesById.indexOfKey(widgetValue.id()) < 0) {
+                    mValuesById.put(widgetValue.id(), widgetValue.value());
+                }
+            }
+            mAnnotationArray = field.getAnnotations();
+            Map<Class<? extends Annotation>, Annotation> annotations =
+                    new HashMap<Class<? extends Annotation>, Annotation>();
+            for (Annotation annotation : mAnnotationArray) {
+                annotations.put(annotation.annotationType(), annotation);
+            }
+            mSpec = new FieldSpec(field, widget, Collections.unmodifiableMap(annotations));
+        }
+
+        /**
+         * Gets the immutable information of the field shared by the
+         * extracted field data.
+         *
+         * @return information of the field
+         */
+        public FieldSpec getSpec() {
+            return mSpec;
+        }
+
+        /**
+         * Gets the field of the form class.
+         *
+         * @return field
+         */
+        public Field getField() {
+            return mField;
+        }
+
+        /**
+         * Gets the widget annotation given to the field.
+         *
+         * @return widget annotation
+         */
+        public Widget getWidget() {
+            return mWidget;
+        }
+
+        /**
+         * Gets the resource ID of the widget.
+         *
+         * @return resource ID
+         */
+        public int getId() {
+            return mId;
+        }
+
+        /**
+         * Gets the name of the field.
+         *
+         * @return name of the field
+         */
+        public String getName() {
+            return mField.getName();
+        }
+
+        /**
+         * Checks if the field is a List.
+         *
+         * @return true if the field is a List
+         */
+        public boolean isArray() {
+            return mSpec.isArray();
+        }
+
+        /**
+         * Gets the values of the grouped widgets.<br>
+         * Do not modify the returned array.
+         *
+         * @return values defined by {@linkplain Widget#values()}
+         */
+        public WidgetValue[] getWidgetValues() {
+            return mWidgetValues;
+        }
+
+        /**
+         * Gets the value of the grouped widget such as RadioButton.
+         *
+         * @param id resource ID of the grouped widget
+         * @return value defined by {@linkplain WidgetValue}, or null if not
+         * defined
+         */
+        public String getWidgetValue(final int id) {
+            return mValuesById.get(id);
+        }
+
+        /**
+         * Gets all the annotations of the field.<br>
+         * Do not modify the returned array.
+         *
+         * @return annotations
+         */
+        public Annotation[] getAnnotationArray() {
+            return mAnnotationArray;
+        }
+
+        /**
+         * Gets all the annotations of the field as an unmodifiable map.
+         *
+         * @return annotations keyed by annotation type
+         */
+        public Map<Class<? extends Annotation>, Annotation> getAnnotations() {
+            return mSpec.getAnnotations();
+        }
+    }
+
+}
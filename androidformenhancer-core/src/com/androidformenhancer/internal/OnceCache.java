@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Cache which creates the value at most once for each key.
+ * <p/>
+ * If a value is being created by a thread, the other threads requesting the
+ * same key wait for it instead of creating another one, so the work done in
+ * advance on a background thread is never duplicated by the first use on the
+ * UI thread.
+ * If the creation fails, the failure is thrown to all the waiting threads
+ * and the next request tries again.
+ * This class is thread-safe.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value
+ * @author Soichiro Kashima
+ */
+public abstract class OnceCache<K, V> {
+
+    private final ConcurrentHashMap<K, FutureTask<V>> mTasks =
+            new ConcurrentHashMap<K, FutureTask<V>>();
+
+    /**
+     * Gets the value for the key, creating it if not yet.
+     *
+     * @param key key of the value
+     * @return cached value
+     */
+    public V get(final K key) {
+        FutureTask<V> task = mTasks.get(key);
+        if (task == null) {
+            FutureTask<V> newTask = new FutureTask<V>(new Callable<V>() {
+                @Override
+                public V call() throws Exception {
+                    return create(key);
+                }
+            });
+            task = mTasks.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                newTask.run();
+            }
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    // The value must be returned, so wait again
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    mTasks.remove(key, task);
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Creates the value for the key. This is called at most once for each key
+     * unless it fails.
+     *
+     * @param key key of the value
+     * @return created value
+     */
+    protected abstract V create(K key);
+}
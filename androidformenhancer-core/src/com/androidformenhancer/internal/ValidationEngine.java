@@ -0,0 +1,848 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.FieldSpec;
+import com.androidformenhancer.FormBinder;
+import com.androidformenhancer.FormSnapshot;
+import com.androidformenhancer.ValidationResult;
+import com.androidformenhancer.WidgetType;
+import com.androidformenhancer.utils.IntMap;
+import com.androidformenhancer.utils.StringUtils;
+import com.androidformenhancer.validator.BaseValidator;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The engine to extract and validate the form without Android.
+ * <p/>
+ * This class has all the logic of the validation, and the values of the
+ * widgets are read through {@linkplain WidgetReader}.
+ * {@code ValidationManager} of the Android library is a thin adapter which
+ * gives the reader for the views, and the other platforms or the benchmarks
+ * can use this class directly.
+ *
+ * @author Soichiro Kashima
+ */
+public final class ValidationEngine {
+
+    public static final int STOP_POLICY_CONTINUE_ALL = 0;
+    public static final int STOP_POLICY_STOP_ALL_IF_ANY = 1;
+    public static final int STOP_POLICY_STOP_AND_RESUME_NEXT = 2;
+
+    private int mStopPolicy;
+    private List<BaseValidator<?>> mValidators;
+    private ValidationPlan mValidationPlan;
+
+    private Class<?> mFormClass;
+    private FormMetadata mMetadata;
+    private DependencyGraph mDependencyGraph;
+    private FormBinder<Object> mFormBinder;
+    private WidgetReader mWidgetReader;
+    private Object mForm;
+    private IntMap<Object> mInitialValues;
+    private long mFormVersion;
+    private FormSnapshot mFormSnapshot;
+    private IntMap<FieldData> mFieldDataArray;
+    private IntMap<FieldData> mFieldDataCache;
+    private FieldData[] mSortedFieldData;
+
+    // For headless validation
+    private IntMap<FieldData> mHeadlessFieldDataArray;
+    private FieldData[] mHeadlessSortedFieldData;
+
+    // For incremental validation
+    private IntMap<List<String>> mFieldErrors;
+    private IntMap<Boolean> mDirtyIds;
+    private IntMap<Boolean> mStaleIds;
+
+    /**
+     * Constructor.<br>
+     * No validators are added, so add them with
+     * {@linkplain #addValidator(BaseValidator)}.
+     *
+     * @param formClass POJO form class which has information of the form
+     */
+    public ValidationEngine(final Class<?> formClass) {
+        mValidators = new ArrayList<BaseValidator<?>>();
+        mDirtyIds = new IntMap<Boolean>();
+        mStaleIds = new IntMap<Boolean>();
+        mStopPolicy = STOP_POLICY_CONTINUE_ALL;
+        mFormClass = formClass;
+        mMetadata = FormMetadata.get(formClass);
+        mDependencyGraph = DependencyGraph.get(mMetadata);
+        mFormBinder = mMetadata.getFormBinder();
+    }
+
+    /**
+     * Gets the metadata of the form class.
+     *
+     * @return metadata of the form class
+     */
+    public FormMetadata getMetadata() {
+        return mMetadata;
+    }
+
+    /**
+     * Gets the stop policy.
+     *
+     * @return stop policy
+     */
+    public int getStopPolicy() {
+        return mStopPolicy;
+    }
+
+    /**
+     * Sets the stop policy, one of the {@code STOP_POLICY_*} constants.
+     *
+     * @param stopPolicy stop policy
+     */
+    public void setStopPolicy(final int stopPolicy) {
+        mStopPolicy = stopPolicy;
+    }
+
+    /**
+     * Reads the form information from the widgets.<br>
+     * The form object is created at the first extraction and reused after
+     * that. All the fields are written by each extraction not to keep the
+     * stale values, and the fields which have no values get the initial
+     * values of the form class, same as a new form object.
+     * If the extraction fails, the form and the field data are discarded and
+     * created again by the next extraction.
+     * Use {@linkplain #getFormSnapshot()} to get the values at a time.
+     * The reader is kept to be used by {@linkplain #extractField(int)}.
+     *
+     * @param widgetReader reader of the widgets of the form
+     */
+    public void extract(final WidgetReader widgetReader) {
+        mMetadata.ensureFormFieldsTypes();
+
+        try {
+            mWidgetReader = widgetReader;
+            if (mForm == null) {
+                mForm = newForm();
+                if (mInitialValues == null) {
+                    mInitialValues = readInitialValues();
+                }
+            }
+            if (mFieldDataArray == null) {
+                mFieldDataArray = new IntMap<FieldData>();
+                mFieldDataCache = new IntMap<FieldData>();
+            }
+            boolean fieldsChanged = false;
+            boolean valuesChanged = false;
+            mFieldErrors = null;
+            mDirtyIds.clear();
+            mStaleIds.clear();
+            for (FormMetadata.WidgetField widgetField : mMetadata.getWidgetFields()) {
+                int id = widgetField.getId();
+                WidgetType type = widgetReader.getWidgetType(id);
+                if (type == null) {
+                    if (mFieldDataArray.get(id) != null) {
+                        mFieldDataArray.remove(id);
+                        fieldsChanged = true;
+                    }
+                    // The reused form must not keep the value of the field
+                    // which is not in the view anymore
+                    setFieldValue(widgetField, null);
+                    continue;
+                }
+                Object value = widgetReader.readValue(id, type, widgetField);
+                FieldData oldData = mFieldDataArray.get(id);
+                if (oldData != null && !equals(oldData.getValue(), value)) {
+                    valuesChanged = true;
+                }
+                setFieldValue(widgetField, value);
+                fieldsChanged |= putFieldData(id, type, value);
+            }
+            if (fieldsChanged) {
+                mSortedFieldData = null;
+            }
+            if (fieldsChanged || valuesChanged) {
+                mFormVersion++;
+            }
+        } catch (Exception e) {
+            // Do not reuse the form and the field data which might be
+            // partially updated
+            mForm = null;
+            mFieldDataArray = null;
+            mFieldDataCache = null;
+            mSortedFieldData = null;
+            mFieldErrors = null;
+            throw new RuntimeException("Failed to create form instance or retrive data.", e);
+        }
+    }
+
+    /**
+     * Reads the value of the field specified by {@code id} from the widget
+     * again, and updates the form extracted by
+     * {@linkplain #extract(WidgetReader)}.<br>
+     * The fields which the conditions of the field refer to are also read
+     * again, so that {@linkplain #validate(int)} gives the same result as
+     * extracting the whole form.
+     * <p/>
+     * The other fields and the field data objects are reused, so this is much
+     * lighter than extracting the whole form when only one field has been
+     * changed, such as on focus out.
+     *
+     * @param id resource ID of the target field
+     * @return true if any value has been changed
+     * @throws IllegalStateException if the form has not been extracted
+     */
+    public boolean extractField(final int id) {
+        if (mForm == null || mWidgetReader == null) {
+            throw new IllegalStateException("Form is not initialized or validated.");
+        }
+        boolean changed = extractSingleField(id);
+        for (int dependencyId : mDependencyGraph.getDependencies(id)) {
+            changed |= extractSingleField(dependencyId);
+        }
+        return changed;
+    }
+
+    /**
+     * Validates the input values of all the fields in the form.
+     *
+     * @return result of the validation
+     */
+    public ValidationResult validate() {
+        return validate(0);
+    }
+
+    /**
+     * Validates the input values of the field specified by {@code id}.
+     *
+     * @param id resource ID of the target field
+     * @return result of the validation
+     */
+    public ValidationResult validate(final int id) {
+        ValidationResult validationResult = ValidationResult.obtain();
+        ValidationPlan plan = getValidationPlan();
+        BaseValidator.setFieldDataArray(mFieldDataArray);
+        try {
+            if (id != 0) {
+                FieldData f = mFieldDataArray.get(id);
+                if (f != null) {
+                    validateField(plan, f, validationResult);
+                }
+                return validationResult;
+            }
+
+            for (FieldData f : getSortedFieldData()) {
+                if (!validateField(plan, f, validationResult)
+                        && mStopPolicy == STOP_POLICY_STOP_ALL_IF_ANY) {
+                    break;
+                }
+            }
+        } finally {
+            BaseValidator.setFieldDataArray(null);
+        }
+        return validationResult;
+    }
+
+    /**
+     * Creates a copy of the extracted field data.<br>
+     * The copy is not affected by the following extractions, so it can be
+     * validated on the other thread with
+     * {@linkplain #validateFieldData(IntMap)}.
+     *
+     * @return copy of the extracted field data
+     * @throws IllegalStateException if the form has not been extracted
+     */
+    public IntMap<FieldData> copyFieldDataArray() {
+        if (mFieldDataArray == null) {
+            throw new IllegalStateException("Form is not initialized or validated.");
+        }
+        IntMap<FieldData> copy = new IntMap<FieldData>(mFieldDataArray.size());
+        for (int i = 0; i < mFieldDataArray.size(); i++) {
+            copy.put(mFieldDataArray.keyAt(i), new FieldData(mFieldDataArray.valueAt(i)));
+        }
+        return copy;
+    }
+
+    /**
+     * Validates all the fields of the given field data instead of the
+     * extracted ones.
+     * <p/>
+     * This method is synchronized, so an engine dedicated to this method can
+     * be used from the worker threads. Note that the validators also must be
+     * thread-safe in that case.
+     *
+     * @param fieldDataArray field data created by
+     *                       {@linkplain #copyFieldDataArray()}
+     * @return result of the validation
+     */
+    public synchronized ValidationResult validateFieldData(
+            final IntMap<FieldData> fieldDataArray) {
+        return validateFieldData(fieldDataArray, mDependencyGraph.sort(fieldDataArray));
+    }
+
+    /**
+     * Validates all the fields of the form object which has not been
+     * extracted from the widgets, such as the one restored from a draft.
+     * <p/>
+     * The widget types are decided by the form class: List fields are
+     * validated as check boxes, the fields which have
+     * {@linkplain com.androidformenhancer.annotation.Widget#values()} as radio
+     * groups, and the other fields as text fields.
+     * The field data used for this method are created once and reused, so
+     * many forms can be validated with the same engine without the widgets.
+     * This method is synchronized in the same way as
+     * {@linkplain #validateFieldData(IntMap)}.
+     *
+     * @param form form object to validate, an instance of the form class of
+     *             this engine
+     * @return result of the validation
+     * @throws IllegalArgumentException if the form is not an instance of the
+     *             form class
+     */
+    public synchronized ValidationResult validate(final Object form) {
+        if (!mFormClass.isInstance(form)) {
+            throw new IllegalArgumentException("Form must be an instance of "
+                    + mFormClass.getName() + " but " + form + " found.");
+        }
+        IntMap<FieldData> fieldDataArray = getHeadlessFieldDataArray();
+        try {
+            // Same as the extraction, the last field wins if IDs conflict
+            for (FormMetadata.WidgetField widgetField : mMetadata.getWidgetFields()) {
+                Object value;
+                if (mFormBinder != null) {
+                    value = mFormBinder.getValue(form, widgetField.getId());
+                } else {
+                    value = widgetField.getField().get(form);
+                }
+                fieldDataArray.get(widgetField.getId()).setValue(value);
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to read the form.", e);
+        }
+        return validateFieldData(fieldDataArray, mHeadlessSortedFieldData);
+    }
+
+    /**
+     * Validates all the fields of the form with the values given by the
+     * resource IDs of the fields, without the widgets and the form object.
+     * <p/>
+     * The values must be String for the text fields, radio groups and
+     * spinners, and List&lt;String&gt; for the check boxes.
+     * The fields which are not included in {@code values} are validated as
+     * they have no input.
+     * The widget types are decided in the same way as
+     * {@linkplain #validate(Object)}.
+     *
+     * @param values values of the fields mapped by the resource IDs
+     * @return result of the validation
+     */
+    public synchronized ValidationResult validate(final IntMap<Object> values) {
+        IntMap<FieldData> fieldDataArray = getHeadlessFieldDataArray();
+        for (int i = 0; i < fieldDataArray.size(); i++) {
+            fieldDataArray.valueAt(i).setValue(values.get(fieldDataArray.keyAt(i)));
+        }
+        return validateFieldData(fieldDataArray, mHeadlessSortedFieldData);
+    }
+
+    /**
+     * Marks the field as it may have been changed after the last validation.
+     * <p/>
+     * The fields marked with this method are read from the widget and
+     * validated again by the next
+     * {@linkplain #validateIncrementally(WidgetReader)}.
+     *
+     * @param id resource ID of the target field
+     */
+    public void markDirty(final int id) {
+        mDirtyIds.put(id, Boolean.TRUE);
+    }
+
+    /**
+     * Validates the input values of the fields marked as dirty by
+     * {@linkplain #markDirty(int)}, and the fields which have conditions
+     * ({@linkplain com.androidformenhancer.annotation.When}) depending on
+     * them.
+     * <p/>
+     * The errors of the other fields are reused from the previous
+     * validations, so the result is the same as
+     * {@linkplain #extract(WidgetReader)} and {@linkplain #validate()}
+     * as long as all the changed fields are marked.
+     * At the first time, or after {@linkplain #extract(WidgetReader)},
+     * all the fields are extracted and validated.
+     *
+     * @param widgetReader reader of the widgets of the form
+     * @return result of the validation
+     */
+    public ValidationResult validateIncrementally(final WidgetReader widgetReader) {
+        ValidationPlan plan = getValidationPlan();
+        if (mForm == null || mFieldErrors == null) {
+            extract(widgetReader);
+            mFieldErrors = new IntMap<List<String>>();
+            BaseValidator.setFieldDataArray(mFieldDataArray);
+            try {
+                for (int i = 0; i < mFieldDataArray.size(); i++) {
+                    FieldData f = mFieldDataArray.valueAt(i);
+                    mFieldErrors.put(f.getId(), validateField(plan, f));
+                }
+            } finally {
+                BaseValidator.setFieldDataArray(null);
+            }
+        } else {
+            mWidgetReader = widgetReader;
+            for (int i = 0; i < mDirtyIds.size(); i++) {
+                int id = mDirtyIds.keyAt(i);
+                if (!updateFieldValue(id)) {
+                    continue;
+                }
+                for (int staleId : mDependencyGraph.getRevalidationIds(id)) {
+                    mStaleIds.put(staleId, Boolean.TRUE);
+                }
+            }
+            mDirtyIds.clear();
+            BaseValidator.setFieldDataArray(mFieldDataArray);
+            try {
+                for (int i = 0; i < mStaleIds.size(); i++) {
+                    FieldData f = mFieldDataArray.get(mStaleIds.keyAt(i));
+                    if (f != null) {
+                        mFieldErrors.put(f.getId(), validateField(plan, f));
+                    }
+                }
+            } finally {
+                BaseValidator.setFieldDataArray(null);
+            }
+            mStaleIds.clear();
+        }
+
+        ValidationResult validationResult = ValidationResult.obtain();
+        for (FieldData f : getSortedFieldData()) {
+            int id = f.getWidget().id();
+            validationResult.addValidatedId(id);
+            List<String> errors = mFieldErrors.get(id);
+            if (errors == null || errors.isEmpty()) {
+                continue;
+            }
+            for (String errorMessage : errors) {
+                validationResult.addError(id, errorMessage);
+            }
+            if (mStopPolicy == STOP_POLICY_STOP_ALL_IF_ANY) {
+                break;
+            }
+        }
+        return validationResult;
+    }
+
+    /**
+     * Gets the field data of the field specified by the {@code id}.
+     * <p/>
+     * You should execute {@linkplain #extract(WidgetReader)} to extract
+     * field data before calling this method.
+     * The field data is reused by the next extraction, so copy it with
+     * {@linkplain FieldData#FieldData(FieldData)} to keep the current value.
+     *
+     * @param id resource ID of the target field
+     * @return field data
+     */
+    public FieldData getFieldData(final int id) {
+        return mFieldDataArray.get(id);
+    }
+
+    /**
+     * Gets the resource IDs of the fields extracted by
+     * {@linkplain #extract(WidgetReader)}.
+     *
+     * @return set of the resource IDs
+     */
+    public Set<Integer> getExtractedWidgetIds() {
+        Set<Integer> ids = new HashSet<Integer>();
+        for (int i = 0; i < mFieldDataArray.size(); i++) {
+            ids.add(mFieldDataArray.keyAt(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the extracted form.<br>
+     * The form returned is a copy, so values of this object's fields are not
+     * changed by the following extractions. The copy is shared until the
+     * values are changed, so the fields must not be modified and the List
+     * fields are unmodifiable.
+     *
+     * @return copy of the extracted form
+     * @see #getFormSnapshot()
+     */
+    public Object getForm() {
+        return getFormSnapshot().getForm();
+    }
+
+    /**
+     * Returns the snapshot of the extracted form.<br>
+     * The snapshot is created only when the extracted values have been
+     * changed, so this method returns the same snapshot until the next change
+     * without copying the form.
+     *
+     * @return snapshot of the extracted form
+     * @throws IllegalStateException if the form has not been extracted
+     */
+    public FormSnapshot getFormSnapshot() {
+        if (mForm == null || mFormClass == null) {
+            throw new IllegalStateException("Form is not initialized or validated.");
+        }
+        if (mFormSnapshot == null || mFormSnapshot.getVersion() != mFormVersion) {
+            mFormSnapshot = new FormSnapshot(mFormVersion, copyForm());
+        }
+        return mFormSnapshot;
+    }
+
+    /**
+     * Copies an object fields which have same names as the form class.<br>
+     * The mapping between the form class and the entity class is resolved at
+     * the first call and reused after that.
+     *
+     * @param clazz the entity class to create
+     * @return created entity object
+     * @throws IllegalArgumentException if the entity class does not have the
+     *             field for a form field or its type cannot be converted
+     * @see EntityMapper
+     */
+    public <E> E create(final Class<E> clazz) {
+        if (mForm == null) {
+            throw new IllegalStateException("Form is not initialized or validated.");
+        }
+        return EntityMapper.get(mFormClass, clazz).map(mForm);
+    }
+
+    /**
+     * Builds the validation plan and prepares the validators for it in
+     * advance.<br>
+     * This is called automatically by the first validation, so you do not
+     * have to call it unless you want to move the cost to other timing.
+     */
+    public void prepare() {
+        getValidationPlan();
+    }
+
+    /**
+     * Clears all the added validators. This will mainly be used for tests.
+     */
+    public void clearValidators() {
+        mValidators.clear();
+        mValidationPlan = null;
+        mFieldErrors = null;
+    }
+
+    /**
+     * Adds a validator to be used by {@linkplain #validate()}.
+     *
+     * @param validator validator object to add
+     */
+    public void addValidator(final BaseValidator<?> validator) {
+        mValidators.add(validator);
+        mValidationPlan = null;
+        mFieldErrors = null;
+    }
+
+    @SuppressWarnings({
+            "rawtypes", "unchecked"
+    })
+    private void prepareValidators(final ValidationPlan plan) {
+        for (BaseValidator validator : mValidators) {
+            for (Annotation annotation : plan.getAnnotations(validator.getAnnotationClass())) {
+                validator.prepare(annotation);
+            }
+        }
+    }
+
+    /**
+     * Gets the validation plan, building it if not yet.
+     *
+     * @return validation plan
+     */
+    ValidationPlan getValidationPlan() {
+        if (mValidationPlan == null) {
+            List<Class<? extends Annotation>> annotationClasses =
+                    new ArrayList<Class<? extends Annotation>>(mValidators.size());
+            for (BaseValidator<?> validator : mValidators) {
+                annotationClasses.add(validator.getAnnotationClass());
+            }
+            mValidationPlan = ValidationPlan.get(mMetadata, annotationClasses);
+            prepareValidators(mValidationPlan);
+        }
+        return mValidationPlan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyForm() {
+        if (mFormBinder != null) {
+            Object form = mFormBinder.copy(mForm);
+            for (FormMetadata.WidgetField widgetField : mMetadata.getWidgetFields()) {
+                Object value = mFormBinder.getValue(form, widgetField.getId());
+                if (value instanceof List) {
+                    mFormBinder.setValue(form, widgetField.getId(),
+                            Collections.unmodifiableList((List<String>) value));
+                }
+            }
+            return form;
+        }
+
+        try {
+            Object form = mFormClass.newInstance();
+            // We do not copy non-widget field
+            for (FormMetadata.WidgetField widgetField : mMetadata.getWidgetFields()) {
+                Field field = widgetField.getField();
+
+                // Ignore null field
+                Object value = field.get(mForm);
+                if (value == null) {
+                    continue;
+                }
+
+                // Allows only String and List<String> fields
+                Class<?> type = field.getType();
+                if (type.equals(List.class)) {
+                    // The extracted lists are never modified
+                    field.set(form, Collections.unmodifiableList((List<String>) value));
+                } else if (type.equals(String.class)) {
+                    field.set(form, field.get(mForm));
+                } else {
+                    throw new IllegalStateException(
+                            "Form class can have only String and List<String> fields but "
+                                    + type + " found."
+                    );
+                }
+            }
+            return form;
+        } catch (InstantiationException e) {
+            e.printStackTrace();
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private Object newForm() throws InstantiationException, IllegalAccessException {
+        if (mFormBinder != null) {
+            return mFormBinder.newForm();
+        }
+        return mFormClass.newInstance();
+    }
+
+    /**
+     * Reads the non-null values of the widget fields of the new form, such as
+     * the values given by the field initializers.
+     */
+    private IntMap<Object> readInitialValues() throws IllegalAccessException {
+        IntMap<Object> initialValues = new IntMap<Object>();
+        for (FormMetadata.WidgetField widgetField : mMetadata.getWidgetFields()) {
+            Object value;
+            if (mFormBinder != null) {
+                value = mFormBinder.getValue(mForm, widgetField.getId());
+            } else {
+                value = widgetField.getField().get(mForm);
+            }
+            if (value != null) {
+                initialValues.put(widgetField.getId(), value);
+            }
+        }
+        return initialValues;
+    }
+
+    /**
+     * Writes the value to the field of the form, or the initial value if the
+     * value is null.
+     */
+    private void setFieldValue(final FormMetadata.WidgetField widgetField, final Object value)
+            throws IllegalAccessException {
+        final Object fieldValue = value == null
+                ? mInitialValues.get(widgetField.getId()) : value;
+        if (mFormBinder != null) {
+            mFormBinder.setValue(mForm, widgetField.getId(), fieldValue);
+        } else {
+            widgetField.getField().set(mForm, fieldValue);
+        }
+    }
+
+    private boolean extractSingleField(final int id) {
+        if (!updateFieldValue(id)) {
+            return false;
+        }
+        if (mFieldErrors != null) {
+            for (int staleId : mDependencyGraph.getRevalidationIds(id)) {
+                mStaleIds.put(staleId, Boolean.TRUE);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the value of the extracted field from the widget again.
+     *
+     * @return true if the value has been changed
+     */
+    private boolean updateFieldValue(final int id) {
+        FieldData data = mFieldDataArray.get(id);
+        FormMetadata.WidgetField widgetField = mMetadata.getWidgetField(id);
+        if (data == null || widgetField == null) {
+            return false;
+        }
+        if (mWidgetReader.getWidgetType(id) != data.getWidgetType()) {
+            return false;
+        }
+        Object value = mWidgetReader.readValue(id, data.getWidgetType(), widgetField);
+        if (equals(data.getValue(), value)) {
+            return false;
+        }
+        try {
+            setFieldValue(widgetField, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Failed to update the form.", e);
+        }
+        data.setValue(value);
+        mFormVersion++;
+        return true;
+    }
+
+    private ValidationResult validateFieldData(final IntMap<FieldData> fieldDataArray,
+                                               final FieldData[] sortedFieldData) {
+        ValidationResult validationResult = ValidationResult.obtain();
+        ValidationPlan plan = getValidationPlan();
+        BaseValidator.setFieldDataArray(fieldDataArray);
+        try {
+            for (FieldData f : sortedFieldData) {
+                if (!validateField(plan, f, validationResult)
+                        && mStopPolicy == STOP_POLICY_STOP_ALL_IF_ANY) {
+                    break;
+                }
+            }
+        } finally {
+            BaseValidator.setFieldDataArray(null);
+        }
+        return validationResult;
+    }
+
+    /**
+     * Gets the field data for the headless validation, which have the widget
+     * types decided by the form class.
+     */
+    private IntMap<FieldData> getHeadlessFieldDataArray() {
+        if (mHeadlessFieldDataArray == null) {
+            mMetadata.ensureFormFieldsTypes();
+            IntMap<FieldData> fieldDataArray = new IntMap<FieldData>();
+            for (FormMetadata.WidgetField widgetField : mMetadata.getWidgetFields()) {
+                FieldSpec spec = widgetField.getSpec();
+                WidgetType type;
+                if (spec.isArray()) {
+                    type = WidgetType.CHECKBOX;
+                } else if (spec.getWidget().values().length > 0) {
+                    type = WidgetType.RADIO;
+                } else {
+                    type = WidgetType.TEXT;
+                }
+                fieldDataArray.put(widgetField.getId(), new FieldData(spec, type, null));
+            }
+            mHeadlessSortedFieldData = mDependencyGraph.sort(fieldDataArray);
+            mHeadlessFieldDataArray = fieldDataArray;
+        }
+        return mHeadlessFieldDataArray;
+    }
+
+    private static boolean equals(final Object a, final Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * Validates a field and adds the errors to the result.
+     *
+     * @return true if there are no errors
+     */
+    @SuppressWarnings({
+            "rawtypes", "unchecked"
+    })
+    private boolean validateField(final ValidationPlan plan, final FieldData f,
+                                  final ValidationResult validationResult) {
+        final int id = f.getWidget().id();
+        validationResult.addValidatedId(id);
+        boolean valid = true;
+        for (ValidationPlan.Step step : plan.getSteps(id)) {
+            BaseValidator validator = mValidators.get(step.getValidatorIndex());
+            String errorMessage = validator.validate(step.getAnnotation(), f);
+            if (!StringUtils.isEmpty(errorMessage)) {
+                validationResult.addError(id, errorMessage);
+                valid = false;
+                if (mStopPolicy != STOP_POLICY_CONTINUE_ALL) {
+                    break;
+                }
+            }
+        }
+        return valid;
+    }
+
+    @SuppressWarnings({
+            "rawtypes", "unchecked"
+    })
+    private List<String> validateField(final ValidationPlan plan, final FieldData f) {
+        List<String> errors = null;
+        for (ValidationPlan.Step step : plan.getSteps(f.getWidget().id())) {
+            BaseValidator validator = mValidators.get(step.getValidatorIndex());
+            String errorMessage = validator.validate(step.getAnnotation(), f);
+            if (!StringUtils.isEmpty(errorMessage)) {
+                if (errors == null) {
+                    errors = new ArrayList<String>();
+                }
+                errors.add(errorMessage);
+                if (mStopPolicy != STOP_POLICY_CONTINUE_ALL) {
+                    break;
+                }
+            }
+        }
+        return errors;
+    }
+
+    private FieldData[] getSortedFieldData() {
+        if (mSortedFieldData == null) {
+            mSortedFieldData = mDependencyGraph.sort(mFieldDataArray);
+        }
+        return mSortedFieldData;
+    }
+
+    /**
+     * Sets the extracted value to the field data of the field.<br>
+     * The field data is created once for each field and reused, and it
+     * shares the field information of the form class.
+     *
+     * @return true if the field has not been extracted
+     */
+    private boolean putFieldData(final int id, final WidgetType type, final Object value) {
+        FieldData data = mFieldDataCache.get(id);
+        if (data == null) {
+            // Same as the other lookups, the last field wins if IDs conflict
+            data = new FieldData(mMetadata.getWidgetField(id).getSpec(), type, value);
+            mFieldDataCache.put(id, data);
+        } else {
+            data.setWidgetType(type);
+            data.setValue(value);
+        }
+        if (mFieldDataArray.get(id) == data) {
+            return false;
+        }
+        mFieldDataArray.put(id, data);
+        return true;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.FieldSpec;
+import com.androidformenhancer.utils.IntMap;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled list of the validations to apply to each field of the form.
+ * <p/>
+ * The plan is built from the form class and the annotation classes of the
+ * registered validators, so the validation loop runs only the validators
+ * which have their annotation on the field.
+ * The annotations are found by the slots of {@linkplain AnnotationSlots},
+ * and the fields which have no annotations of the validators are skipped by
+ * checking the bitmasks of the slots.
+ * The plan does not hold validator objects but their indices in the
+ * registry, so the managers which have the same validator configuration share
+ * the same plan. This object is immutable and thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public final class ValidationPlan {
+
+    private static final Step[] NO_STEPS = new Step[0];
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private static final OnceCache<Key, ValidationPlan> CACHE =
+            new OnceCache<Key, ValidationPlan>() {
+                @Override
+                protected ValidationPlan create(final Key key) {
+                    return new ValidationPlan(key.mMetadata, key.mAnnotationClasses);
+                }
+            };
+
+    private final IntMap<Step[]> mSteps;
+    private final Map<Class<? extends Annotation>, Annotation[]> mAnnotationsByType;
+
+    private ValidationPlan(final FormMetadata metadata,
+                           final List<Class<? extends Annotation>> annotationClasses) {
+        mSteps = new IntMap<Step[]>();
+        int[] slots = new int[annotationClasses.size()];
+        long registryMask = 0;
+        boolean masked = true;
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = AnnotationSlots.get(annotationClasses.get(i));
+            registryMask |= AnnotationSlots.getMaskBit(slots[i]);
+            masked &= slots[i] < AnnotationSlots.MASK_SLOTS;
+        }
+        Map<Class<? extends Annotation>, List<Annotation>> byType =
+                new HashMap<Class<? extends Annotation>, List<Annotation>>();
+        for (FormMetadata.WidgetField widgetField : metadata.getWidgetFields()) {
+            FieldSpec spec = widgetField.getSpec();
+            if (masked && (spec.getSlotMask() & registryMask) == 0) {
+                // Same as the extracted field data, the last field wins if IDs conflict
+                mSteps.put(widgetField.getId(), NO_STEPS);
+                continue;
+            }
+            List<Step> steps = new ArrayList<Step>();
+            for (int i = 0; i < slots.length; i++) {
+                Class<? extends Annotation> annotationClass = annotationClasses.get(i);
+                Annotation annotation = spec.getAnnotation(slots[i]);
+                if (annotation == null) {
+                    continue;
+                }
+                steps.add(new Step(i, annotation));
+                List<Annotation> list = byType.get(annotationClass);
+                if (list == null) {
+                    list = new ArrayList<Annotation>();
+                    byType.put(annotationClass, list);
+                }
+                list.add(annotation);
+            }
+            // Same as the extracted field data, the last field wins if IDs conflict
+            mSteps.put(widgetField.getId(), steps.toArray(new Step[steps.size()]));
+        }
+        Map<Class<? extends Annotation>, Annotation[]> annotationsByType =
+                new HashMap<Class<? extends Annotation>, Annotation[]>();
+        for (Map.Entry<Class<? extends Annotation>, List<Annotation>> entry : byType.entrySet()) {
+            List<Annotation> list = entry.getValue();
+            annotationsByType.put(entry.getKey(), list.toArray(new Annotation[list.size()]));
+        }
+        mAnnotationsByType = Collections.unmodifiableMap(annotationsByType);
+    }
+
+    /**
+     * Gets the plan for the form class and the validators.<br>
+     * The plan is built at the first call for each combination.
+     *
+     * @param metadata          metadata of the form class
+     * @param annotationClasses annotation classes of the registered validators
+     *                          in the order of the registry
+     * @return validation plan
+     */
+    public static ValidationPlan get(final FormMetadata metadata,
+                                     final List<Class<? extends Annotation>> annotationClasses) {
+        return CACHE.get(new Key(metadata, annotationClasses));
+    }
+
+    /**
+     * Gets the validations to apply to the field in the order of the
+     * registry.<br>
+     * Do not modify the returned array.
+     *
+     * @param id resource ID of the field
+     * @return validations of the field, empty if there is nothing to validate
+     */
+    public Step[] getSteps(final int id) {
+        return mSteps.get(id, NO_STEPS);
+    }
+
+    /**
+     * Gets all the annotations of the specified type which are validated
+     * in this plan.<br>
+     * Do not modify the returned array.
+     *
+     * @param annotationClass annotation class
+     * @return annotations of the type in the form
+     */
+    public Annotation[] getAnnotations(final Class<? extends Annotation> annotationClass) {
+        Annotation[] annotations = mAnnotationsByType.get(annotationClass);
+        return annotations == null ? NO_ANNOTATIONS : annotations;
+    }
+
+    /**
+     * Pair of the validator and the annotation to validate a field.
+     */
+    public static final class Step {
+
+        private final int mValidatorIndex;
+        private final Annotation mAnnotation;
+
+        private Step(final int validatorIndex, final Annotation annotation) {
+            mValidatorIndex = validatorIndex;
+            mAnnotation = annotation;
+        }
+
+        /**
+         * Gets the index of the validator in the registry.
+         *
+         * @return index of the validator
+         */
+        public int getValidatorIndex() {
+            return mValidatorIndex;
+        }
+
+        /**
+         * Gets the annotation given to the field for the validator.
+         *
+         * @return annotation
+         */
+        public Annotation getAnnotation() {
+            return mAnnotation;
+        }
+    }
+
+    private static final class Key {
+
+        private final FormMetadata mMetadata;
+        private final Class<?> mFormClass;
+        private final List<Class<? extends Annotation>> mAnnotationClasses;
+        private final int mHashCode;
+
+        private Key(final FormMetadata metadata,
+                    final List<Class<? extends Annotation>> annotationClasses) {
+            final Class<?> formClass = metadata.getFormClass();
+            mMetadata = metadata;
+            mFormClass = formClass;
+            mAnnotationClasses = Collections.unmodifiableList(
+                    new ArrayList<Class<? extends Annotation>>(annotationClasses));
+            mHashCode = 31 * formClass.hashCode() + mAnnotationClasses.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return mFormClass.equals(other.mFormClass)
+                    && mAnnotationClasses.equals(other.mAnnotationClasses);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.WidgetType;
+
+/**
+ * Reads the values of the widgets for {@linkplain ValidationEngine}.<br>
+ * This is the only part of the validation which depends on the views, so the
+ * engine can be used without Android by implementing this interface.
+ *
+ * @author Soichiro Kashima
+ */
+public interface WidgetReader {
+
+    /**
+     * Gets the type of the widget specified by {@code id}.
+     *
+     * @param id resource ID of the widget
+     * @return type of the widget, or null if the widget is not found or it is
+     *         not supported
+     */
+    WidgetType getWidgetType(int id);
+
+    /**
+     * Reads the value of the widget specified by {@code id}.<br>
+     * The value must be String for the text fields, radio groups and
+     * spinners, and List&lt;String&gt; for the check boxes.
+     *
+     * @param id          resource ID of the widget
+     * @param type        type of the widget given by
+     *                    {@linkplain #getWidgetType(int)}
+     * @param widgetField field of the form class for the widget
+     * @return value of the widget
+     */
+    Object readValue(int id, WidgetType type, FormMetadata.WidgetField widgetField);
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Classifies characters by the number of bytes they take in a character
+ * encoding.
+ * <p/>
+ * The byte widths are computed once per 256 characters block of the BMP when
+ * the block is first used, and the classifier is shared for each encoding
+ * name, so checking a value does not encode each character into a new byte
+ * array.
+ * The widths are the same as {@linkplain String#getBytes(String)} returns:
+ * the characters which the encoding cannot map are counted as the
+ * replacement bytes of the encoding.
+ *
+ * @author Soichiro Kashima
+ */
+public final class ByteWidthClassifier {
+
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int NUM_OF_PAGES = (Character.MAX_VALUE + 1) >> PAGE_SHIFT;
+
+    private static final ConcurrentMap<String, ByteWidthClassifier> CACHE =
+            new ConcurrentHashMap<String, ByteWidthClassifier>();
+
+    private final String mEncoding;
+    private final CharsetEncoder mEncoder;
+    private final AtomicReferenceArray<byte[]> mPages;
+
+    private ByteWidthClassifier(final String encoding, final Charset charset) {
+        mEncoding = encoding;
+        mEncoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        mPages = new AtomicReferenceArray<byte[]>(NUM_OF_PAGES);
+    }
+
+    /**
+     * Gets the classifier for the encoding.
+     *
+     * @param encoding name of the character encoding
+     * @return shared classifier for the encoding
+     * @throws UnsupportedEncodingException if the encoding is not supported
+     */
+    public static ByteWidthClassifier get(final String encoding)
+            throws UnsupportedEncodingException {
+        if (encoding == null) {
+            throw new UnsupportedEncodingException(null);
+        }
+        ByteWidthClassifier classifier = CACHE.get(encoding);
+        if (classifier == null) {
+            Charset charset;
+            try {
+                charset = Charset.forName(encoding);
+            } catch (IllegalArgumentException e) {
+                // IllegalCharsetNameException or UnsupportedCharsetException
+                throw new UnsupportedEncodingException(encoding);
+            }
+            classifier = new ByteWidthClassifier(encoding, charset);
+            ByteWidthClassifier previous = CACHE.putIfAbsent(encoding, classifier);
+            if (previous != null) {
+                classifier = previous;
+            }
+        }
+        return classifier;
+    }
+
+    /**
+     * Gets the name of the encoding used to classify.
+     *
+     * @return name of the encoding
+     */
+    public String getEncoding() {
+        return mEncoding;
+    }
+
+    /**
+     * Gets the number of bytes of the character in this encoding.
+     *
+     * @param c character to check
+     * @return number of bytes
+     */
+    public int getByteWidth(final char c) {
+        byte[] page = mPages.get(c >> PAGE_SHIFT);
+        if (page == null) {
+            page = fillPage(c >> PAGE_SHIFT);
+        }
+        return page[c & PAGE_MASK];
+    }
+
+    /**
+     * Checks if all the characters of the input are single-byte.<br>
+     * Characters out of the BMP (surrogate pairs) are not single-byte.
+     *
+     * @param input input to check
+     * @return true if all the characters are single-byte
+     */
+    public boolean isSinglebyte(final CharSequence input) {
+        final int length = input.length();
+        for (int i = 0; i < length; i++) {
+            final char c = input.charAt(i);
+            if (isSurrogatePair(input, i, length)) {
+                return false;
+            }
+            if (getByteWidth(c) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if all the characters of the input are multi-byte.<br>
+     * Characters out of the BMP (surrogate pairs) are treated as multi-byte.
+     *
+     * @param input input to check
+     * @return true if all the characters are multi-byte
+     */
+    public boolean isMultibyte(final CharSequence input) {
+        final int length = input.length();
+        for (int i = 0; i < length; i++) {
+            final char c = input.charAt(i);
+            if (isSurrogatePair(input, i, length)) {
+                i++;
+                continue;
+            }
+            if (getByteWidth(c) < 2) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSurrogatePair(final CharSequence input, final int index,
+            final int length) {
+        return Character.isHighSurrogate(input.charAt(index))
+                && index + 1 < length
+                && Character.isLowSurrogate(input.charAt(index + 1));
+    }
+
+    private synchronized byte[] fillPage(final int pageIndex) {
+        byte[] page = mPages.get(pageIndex);
+        if (page != null) {
+            return page;
+        }
+        page = new byte[PAGE_SIZE];
+        final char[] chars = new char[1];
+        final int first = pageIndex << PAGE_SHIFT;
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            chars[0] = (char) (first + i);
+            int width;
+            try {
+                width = mEncoder.encode(CharBuffer.wrap(chars)).remaining();
+            } catch (CharacterCodingException e) {
+                // Should not occur because the errors are replaced
+                width = encodeWithString(chars);
+            }
+            page[i] = (byte) Math.min(width, Byte.MAX_VALUE);
+        }
+        mPages.set(pageIndex, page);
+        return page;
+    }
+
+    private int encodeWithString(final char[] chars) {
+        try {
+            return new String(chars).getBytes(mEncoding).length;
+        } catch (UnsupportedEncodingException e) {
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+/**
+ * Immutable set of the characters in the Basic Multilingual Plane.
+ * <p/>
+ * This is the fast version of the regular expression like
+ * {@code ^[a-zA-Z]+$}. The characters are stored as a bitset which covers
+ * only the range between the lowest and the highest characters, and the input
+ * is scanned once without any allocation.
+ * Surrogate characters are never contained unless they are added explicitly,
+ * so supplementary characters never match like the regular expression.
+ *
+ * @author Soichiro Kashima
+ */
+public final class CharClass {
+
+    private final char mMin;
+    private final char mMax;
+    private final long[] mBits;
+
+    private CharClass(final char min, final char max, final long[] bits) {
+        mMin = min;
+        mMax = max;
+        mBits = bits;
+    }
+
+    /**
+     * Checks if the character is contained in this set.
+     *
+     * @param c character to check
+     * @return true if contained
+     */
+    public boolean contains(final char c) {
+        if (c < mMin || c > mMax) {
+            return false;
+        }
+        final int offset = c - mMin;
+        return (mBits[offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    /**
+     * Checks if the input has one or more characters and all of them are
+     * contained in this set.
+     *
+     * @param input input to check
+     * @return true if all the characters are contained
+     */
+    public boolean matchesAll(final CharSequence input) {
+        if (input == null) {
+            return false;
+        }
+        final int length = input.length();
+        for (int i = 0; i < length; i++) {
+            if (!contains(input.charAt(i))) {
+                return false;
+            }
+        }
+        return length > 0;
+    }
+
+    /**
+     * Builder of the {@linkplain CharClass}.
+     */
+    public static final class Builder {
+
+        private final boolean[] mChars = new boolean[Character.MAX_VALUE + 1];
+
+        /**
+         * Adds the characters in the range.
+         *
+         * @param from first character of the range
+         * @param to   last character of the range (inclusive)
+         * @return this builder
+         */
+        public Builder addRange(final char from, final char to) {
+            for (int c = from; c <= to; c++) {
+                mChars[c] = true;
+            }
+            return this;
+        }
+
+        /**
+         * Adds all the characters in the string.
+         *
+         * @param chars characters to add
+         * @return this builder
+         */
+        public Builder addChars(final String chars) {
+            for (int i = 0; i < chars.length(); i++) {
+                mChars[chars.charAt(i)] = true;
+            }
+            return this;
+        }
+
+        /**
+         * Creates the character set.
+         *
+         * @return new character set
+         */
+        public CharClass build() {
+            int min = -1;
+            int max = -1;
+            for (int c = 0; c < mChars.length; c++) {
+                if (mChars[c]) {
+                    if (min < 0) {
+                        min = c;
+                    }
+                    max = c;
+                }
+            }
+            if (min < 0) {
+                // Nothing matches
+                return new CharClass(Character.MAX_VALUE, Character.MIN_VALUE, new long[0]);
+            }
+            long[] bits = new long[((max - min) >>> 6) + 1];
+            for (int c = min; c <= max; c++) {
+                if (mChars[c]) {
+                    final int offset = c - min;
+                    bits[offset >>> 6] |= 1L << offset;
+                }
+            }
+            return new CharClass((char) min, (char) max, bits);
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Utilities to parse and compare dates in the validators.
+ * <p/>
+ * {@linkplain DateFormat} objects are expensive to create and not
+ * thread-safe, so they are cached for each thread by the pattern, and
+ * discarded when the default locale or time zone is changed.
+ * The boundaries of today are also cached and recalculated only when the day
+ * or the default time zone changes.
+ *
+ * @author Soichiro Kashima
+ */
+public final class DateUtils {
+
+    private static final ThreadLocal<FormatCache> FORMAT_CACHE = new ThreadLocal<FormatCache>() {
+        @Override
+        protected FormatCache initialValue() {
+            return new FormatCache();
+        }
+    };
+
+    private static volatile DayBoundary sDayBoundary;
+
+    private DateUtils() {
+    }
+
+    /**
+     * Parses the date strictly (not leniently) with the default locale.
+     *
+     * @param pattern pattern of the {@linkplain SimpleDateFormat}, or empty to
+     *            use the short date format of the default locale
+     * @param source string to parse
+     * @return parsed date
+     * @throws ParseException if the source cannot be parsed
+     */
+    public static Date parse(final String pattern, final String source) throws ParseException {
+        return getDateFormat(pattern).parse(source);
+    }
+
+    /**
+     * Gets the date format for the pattern and the default locale.<br>
+     * The returned object is shared in the current thread,
+     * so it must not be passed to the other threads or modified.
+     *
+     * @param pattern pattern of the {@linkplain SimpleDateFormat}, or empty to
+     *            use the short date format of the default locale
+     * @return date format which does not parse leniently
+     */
+    public static DateFormat getDateFormat(final String pattern) {
+        return FORMAT_CACHE.get().get(pattern == null ? "" : pattern);
+    }
+
+    /**
+     * Gets the time of the beginning (00:00:00.000) of today.
+     *
+     * @return time in milliseconds
+     */
+    public static long getStartOfToday() {
+        return getDayBoundary().mStartOfToday;
+    }
+
+    /**
+     * Gets the time of the beginning (00:00:00.000) of tomorrow.
+     *
+     * @return time in milliseconds
+     */
+    public static long getStartOfTomorrow() {
+        return getDayBoundary().mStartOfTomorrow;
+    }
+
+    private static DayBoundary getDayBoundary() {
+        final long now = System.currentTimeMillis();
+        final TimeZone timeZone = TimeZone.getDefault();
+        DayBoundary boundary = sDayBoundary;
+        if (boundary == null || now < boundary.mStartOfToday
+                || boundary.mStartOfTomorrow <= now
+                || !boundary.mTimeZoneId.equals(timeZone.getID())) {
+            boundary = new DayBoundary(now, timeZone);
+            sDayBoundary = boundary;
+        }
+        return boundary;
+    }
+
+    private static final class FormatCache {
+        private Locale mLocale;
+        private String mTimeZoneId;
+        private final Map<String, DateFormat> mFormats = new HashMap<String, DateFormat>();
+
+        public DateFormat get(final String pattern) {
+            final Locale locale = Locale.getDefault();
+            final String timeZoneId = TimeZone.getDefault().getID();
+            if (!locale.equals(mLocale) || !timeZoneId.equals(mTimeZoneId)) {
+                mFormats.clear();
+                mLocale = locale;
+                mTimeZoneId = timeZoneId;
+            }
+            DateFormat dateFormat = mFormats.get(pattern);
+            if (dateFormat == null) {
+                if (pattern.length() == 0) {
+                    dateFormat = DateFormat.getDateInstance(DateFormat.SHORT, locale);
+                } else {
+                    dateFormat = new SimpleDateFormat(pattern, locale);
+                }
+                dateFormat.setLenient(false);
+                mFormats.put(pattern, dateFormat);
+            }
+            return dateFormat;
+        }
+    }
+
+    private static final class DayBoundary {
+        private final String mTimeZoneId;
+        private final long mStartOfToday;
+        private final long mStartOfTomorrow;
+
+        public DayBoundary(final long now, final TimeZone timeZone) {
+            mTimeZoneId = timeZone.getID();
+            Calendar calendar = Calendar.getInstance(timeZone, Locale.getDefault());
+            calendar.setTimeInMillis(now);
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            mStartOfToday = calendar.getTimeInMillis();
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            mStartOfTomorrow = calendar.getTimeInMillis();
+        }
+    }
+
+}
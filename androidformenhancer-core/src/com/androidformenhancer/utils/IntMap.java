@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+/**
+ * Map from int keys to objects, which is the same as
+ * {@code android.util.SparseArray} but available without Android.
+ * <p/>
+ * The keys are kept sorted in an int array without boxing, and found by the
+ * binary search. So {@linkplain #keyAt(int)} and {@linkplain #valueAt(int)}
+ * iterate the entries in the ascending order of the keys.
+ * This object is not thread-safe.
+ *
+ * @param <E> type of the values
+ * @author Soichiro Kashima
+ */
+public final class IntMap<E> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private int[] mKeys;
+    private Object[] mValues;
+    private int mSize;
+
+    /**
+     * Constructor.
+     */
+    public IntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with the initial capacity.
+     *
+     * @param initialCapacity number of the entries which can be stored
+     *                        without growing the arrays
+     */
+    public IntMap(final int initialCapacity) {
+        mKeys = new int[initialCapacity];
+        mValues = new Object[initialCapacity];
+    }
+
+    /**
+     * Gets the value mapped from the key.
+     *
+     * @param key key of the value
+     * @return value, or null if not mapped
+     */
+    public E get(final int key) {
+        return get(key, null);
+    }
+
+    /**
+     * Gets the value mapped from the key.
+     *
+     * @param key          key of the value
+     * @param valueIfAbsent value returned if the key is not mapped
+     * @return value, or {@code valueIfAbsent} if not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public E get(final int key, final E valueIfAbsent) {
+        final int i = binarySearch(mKeys, mSize, key);
+        return i < 0 ? valueIfAbsent : (E) mValues[i];
+    }
+
+    /**
+     * Maps the value from the key, replacing the previous value if any.
+     *
+     * @param key   key of the value
+     * @param value value to map
+     */
+    public void put(final int key, final E value) {
+        int i = binarySearch(mKeys, mSize, key);
+        if (i >= 0) {
+            mValues[i] = value;
+            return;
+        }
+        i = ~i;
+        if (mSize == mKeys.length) {
+            final int capacity = Math.max(DEFAULT_CAPACITY, mSize * 2);
+            int[] keys = new int[capacity];
+            Object[] values = new Object[capacity];
+            System.arraycopy(mKeys, 0, keys, 0, mSize);
+            System.arraycopy(mValues, 0, values, 0, mSize);
+            mKeys = keys;
+            mValues = values;
+        }
+        if (i < mSize) {
+            System.arraycopy(mKeys, i, mKeys, i + 1, mSize - i);
+            System.arraycopy(mValues, i, mValues, i + 1, mSize - i);
+        }
+        mKeys[i] = key;
+        mValues[i] = value;
+        mSize++;
+    }
+
+    /**
+     * Removes the value mapped from the key if any.
+     *
+     * @param key key of the value
+     */
+    public void remove(final int key) {
+        final int i = binarySearch(mKeys, mSize, key);
+        if (i < 0) {
+            return;
+        }
+        System.arraycopy(mKeys, i + 1, mKeys, i, mSize - i - 1);
+        System.arraycopy(mValues, i + 1, mValues, i, mSize - i - 1);
+        mSize--;
+        mValues[mSize] = null;
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public void clear() {
+        for (int i = 0; i < mSize; i++) {
+            mValues[i] = null;
+        }
+        mSize = 0;
+    }
+
+    /**
+     * Returns the number of the entries.
+     *
+     * @return number of the entries
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Gets the key at the index in the ascending order of the keys.
+     *
+     * @param index index between 0 and {@linkplain #size()} - 1
+     * @return key
+     */
+    public int keyAt(final int index) {
+        checkIndex(index);
+        return mKeys[index];
+    }
+
+    /**
+     * Gets the value at the index in the ascending order of the keys.
+     *
+     * @param index index between 0 and {@linkplain #size()} - 1
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    public E valueAt(final int index) {
+        checkIndex(index);
+        return (E) mValues[index];
+    }
+
+    /**
+     * Gets the index of the key in the ascending order of the keys.
+     *
+     * @param key key to find
+     * @return index, or a negative number if not mapped
+     */
+    public int indexOfKey(final int key) {
+        final int i = binarySearch(mKeys, mSize, key);
+        return i < 0 ? -1 : i;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || mSize <= index) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+    }
+
+    private static int binarySearch(final int[] keys, final int size, final int key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midKey = keys[mid];
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return ~low;
+    }
+
+}
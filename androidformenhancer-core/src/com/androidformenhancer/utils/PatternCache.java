@@ -0,0 +1,186 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bounded LRU cache of the compiled regular expressions.
+ * <p/>
+ * Compiling a pattern is much slower than matching it, so the validators
+ * use this instead of {@linkplain String#matches(String)}.
+ * {@linkplain Matcher} objects are also reused in each thread.
+ * Hit and miss counts are recorded to check the efficiency of the cache.
+ *
+ * @author Soichiro Kashima
+ */
+public final class PatternCache {
+
+    /**
+     * Max number of the patterns to keep.
+     */
+    public static final int MAX_SIZE = 64;
+
+    private static final Map<String, CachedPattern> CACHE =
+            new LinkedHashMap<String, CachedPattern>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CachedPattern> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            };
+
+    private static long sHitCount;
+    private static long sMissCount;
+
+    private PatternCache() {
+    }
+
+    /**
+     * Gets the compiled pattern of the regular expression.
+     *
+     * @param regex regular expression
+     * @return compiled pattern
+     * @throws PatternSyntaxException if the regular expression is invalid
+     */
+    public static Pattern get(final String regex) {
+        return getCachedPattern(regex).mPattern;
+    }
+
+    /**
+     * Checks if the whole input matches the regular expression.<br>
+     * This is the same as {@linkplain String#matches(String)} but does not
+     * compile the pattern every time.
+     *
+     * @param regex regular expression
+     * @param input input to check
+     * @return true if matches
+     * @throws PatternSyntaxException if the regular expression is invalid
+     */
+    public static boolean matches(final String regex, final CharSequence input) {
+        CachedPattern cachedPattern = getCachedPattern(regex);
+        Matcher matcher = cachedPattern.mMatcher.get();
+        if (matcher == null) {
+            matcher = cachedPattern.mPattern.matcher(input);
+            cachedPattern.mMatcher.set(matcher);
+        } else {
+            matcher.reset(input);
+        }
+        boolean matches = matcher.matches();
+        // Do not keep the reference to the input
+        matcher.reset("");
+        return matches;
+    }
+
+    /**
+     * Compiles the regular expression in advance.<br>
+     * This does not affect the hit and miss counts, and an invalid regular
+     * expression is ignored here to be reported on the validation.
+     *
+     * @param regex regular expression
+     */
+    public static void precompile(final String regex) {
+        if (regex == null) {
+            return;
+        }
+        synchronized (CACHE) {
+            if (CACHE.containsKey(regex)) {
+                return;
+            }
+        }
+        try {
+            CachedPattern cachedPattern = new CachedPattern(Pattern.compile(regex));
+            synchronized (CACHE) {
+                if (!CACHE.containsKey(regex)) {
+                    CACHE.put(regex, cachedPattern);
+                }
+            }
+        } catch (PatternSyntaxException e) {
+            // Will be thrown on the validation
+        }
+    }
+
+    /**
+     * Gets the number of the requests which found the compiled pattern.
+     *
+     * @return hit count
+     */
+    public static long getHitCount() {
+        synchronized (CACHE) {
+            return sHitCount;
+        }
+    }
+
+    /**
+     * Gets the number of the requests which compiled the pattern.
+     *
+     * @return miss count
+     */
+    public static long getMissCount() {
+        synchronized (CACHE) {
+            return sMissCount;
+        }
+    }
+
+    /**
+     * Removes all the patterns and resets the hit and miss counts.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            sHitCount = 0;
+            sMissCount = 0;
+        }
+    }
+
+    private static CachedPattern getCachedPattern(final String regex) {
+        synchronized (CACHE) {
+            CachedPattern cachedPattern = CACHE.get(regex);
+            if (cachedPattern != null) {
+                sHitCount++;
+                return cachedPattern;
+            }
+            sMissCount++;
+        }
+        // Compile outside the lock not to block the other threads
+        CachedPattern cachedPattern = new CachedPattern(Pattern.compile(regex));
+        synchronized (CACHE) {
+            CachedPattern existing = CACHE.get(regex);
+            if (existing != null) {
+                return existing;
+            }
+            CACHE.put(regex, cachedPattern);
+        }
+        return cachedPattern;
+    }
+
+    private static final class CachedPattern {
+        private final Pattern mPattern;
+        private final ThreadLocal<Matcher> mMatcher;
+
+        private CachedPattern(final Pattern pattern) {
+            mPattern = pattern;
+            mMatcher = new ThreadLocal<Matcher>();
+        }
+    }
+
+}
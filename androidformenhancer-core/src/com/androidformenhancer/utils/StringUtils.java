@@ -23,6 +23,17 @@ public final class StringUtils {
     private StringUtils() {
     }
 
+    /**
+     * Checks if the string is null or has no characters.<br>
+     * This is the same as {@code android.text.TextUtils#isEmpty(CharSequence)}.
+     *
+     * @param s string to check
+     * @return true if the string is null or empty
+     */
+    public static boolean isEmpty(final CharSequence s) {
+        return s == null || s.length() == 0;
+    }
+
     /**
      * Converts the list of the error messages to one string joined with the
      * line separator.<br>
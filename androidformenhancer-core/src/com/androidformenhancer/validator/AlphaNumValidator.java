@@ -16,8 +16,9 @@
 
 package com.androidformenhancer.validator;
 
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.AlphaNum;
+import com.androidformenhancer.utils.CharClass;
 
 /**
  * Validates that the value of the field consists of ASCII alphabet and number
@@ -25,9 +26,11 @@ import com.androidformenhancer.annotation.AlphaNum;
  *
  * @author Soichiro Kashima
  */
-public class AlphaNumValidator extends AbstractRegexValidator<AlphaNum> {
+public class AlphaNumValidator extends BaseRegexValidator<AlphaNum> {
 
     private static final String REGEX = "^[a-zA-Z0-9]+$";
+    private static final CharClass CHARS = new CharClass.Builder().addRange('a', 'z').addRange('A', 'Z').addRange('0', '9').build();
+    private static final CharClass CHARS_WITH_SPACE = new CharClass.Builder().addRange('a', 'z').addRange('A', 'Z').addRange('0', '9').addChars(" ").build();
     private static final String REGEX_WITH_SPACE = "^[a-zA-Z0-9 ]+$";
 
     @Override
@@ -41,18 +44,24 @@ public class AlphaNumValidator extends AbstractRegexValidator<AlphaNum> {
     }
 
     @Override
-    protected int getOverrideNameResourceId(final AlphaNum annotation) {
-        return annotation.nameResId();
+    protected CharClass getCharClass(final String regex) {
+        if (REGEX.equals(regex)) {
+            return CHARS;
+        }
+        if (REGEX_WITH_SPACE.equals(regex)) {
+            return CHARS_WITH_SPACE;
+        }
+        return null;
     }
 
     @Override
-    protected int getErrorMessageResourceId() {
-        return R.string.afe__msg_validation_alphanum;
+    protected int getOverrideNameResourceId(final AlphaNum annotation) {
+        return annotation.nameResId();
     }
 
     @Override
-    protected int getNameStyleIndex() {
-        return R.styleable.ValidatorMessages_afeErrorAlphaNum;
+    protected String getMessageKey() {
+        return MessageSource.ALPHA_NUM;
     }
 
 }
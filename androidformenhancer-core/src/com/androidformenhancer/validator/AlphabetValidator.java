@@ -16,8 +16,9 @@
 
 package com.androidformenhancer.validator;
 
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.Alphabet;
+import com.androidformenhancer.utils.CharClass;
 
 /**
  * Validates that the value of the field consists of ASCII alphabet characters
@@ -25,9 +26,11 @@ import com.androidformenhancer.annotation.Alphabet;
  *
  * @author Soichiro Kashima
  */
-public class AlphabetValidator extends AbstractRegexValidator<Alphabet> {
+public class AlphabetValidator extends BaseRegexValidator<Alphabet> {
 
     private static final String REGEX = "^[a-zA-Z]+$";
+    private static final CharClass CHARS = new CharClass.Builder().addRange('a', 'z').addRange('A', 'Z').build();
+    private static final CharClass CHARS_WITH_SPACE = new CharClass.Builder().addRange('a', 'z').addRange('A', 'Z').addChars(" ").build();
     private static final String REGEX_WITH_SPACE = "^[a-zA-Z ]+$";
 
     @Override
@@ -41,18 +44,24 @@ public class AlphabetValidator extends AbstractRegexValidator<Alphabet> {
     }
 
     @Override
-    protected int getOverrideNameResourceId(final Alphabet annotation) {
-        return annotation.nameResId();
+    protected CharClass getCharClass(final String regex) {
+        if (REGEX.equals(regex)) {
+            return CHARS;
+        }
+        if (REGEX_WITH_SPACE.equals(regex)) {
+            return CHARS_WITH_SPACE;
+        }
+        return null;
     }
 
     @Override
-    protected int getErrorMessageResourceId() {
-        return R.string.afe__msg_validation_alphabet;
+    protected int getOverrideNameResourceId(final Alphabet annotation) {
+        return annotation.nameResId();
     }
 
     @Override
-    protected int getNameStyleIndex() {
-        return R.styleable.ValidatorMessages_afeErrorAlphabet;
+    protected String getMessageKey() {
+        return MessageSource.ALPHABET;
     }
 
 }
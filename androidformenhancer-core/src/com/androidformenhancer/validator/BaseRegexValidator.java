@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.validator;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.utils.CharClass;
+import com.androidformenhancer.utils.PatternCache;
+import com.androidformenhancer.utils.StringUtils;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Validates that the value matches the regular expression.
+ * <p/>
+ * The error message is given by the key of {@linkplain
+ * com.androidformenhancer.MessageSource}. The custom validators of the
+ * Android apps extend {@code AbstractRegexValidator} of the Android library
+ * to give the message by the resource ID.
+ *
+ * @author Soichiro Kashima
+ */
+public abstract class BaseRegexValidator<T extends Annotation> extends BaseValidator<T> {
+
+    @Override
+    public String validate(final T annotation, final FieldData fieldData) {
+        final String value = fieldData.getValueAsString();
+        if (StringUtils.isEmpty(value)) {
+            return null;
+        }
+        final String regex = getRegex(annotation);
+        final CharClass charClass = getCharClass(regex);
+        final boolean matches = charClass != null
+                ? charClass.matchesAll(value)
+                : PatternCache.matches(regex, value);
+        if (!matches) {
+            return getMessage(getMessageKey(),
+                    getName(fieldData, getOverrideNameResourceId(annotation)));
+        }
+        return null;
+    }
+
+    @Override
+    public void prepare(final T annotation) {
+        final String regex = getRegex(annotation);
+        if (getCharClass(regex) == null) {
+            PatternCache.precompile(regex);
+        }
+    }
+
+    protected abstract String getRegex(final T annotation);
+
+    /**
+     * Gets the set of the characters which is equivalent to the regular
+     * expression {@code ^[...]+$} returned by {@linkplain #getRegex(Annotation)}.
+     * <br>
+     * If this returns a non-null value, it is used instead of the regular
+     * expression. Implementations must return null for the regular
+     * expressions other than their own ones, so that the subclasses which
+     * override {@linkplain #getRegex(Annotation)} still use their regular
+     * expressions. The default implementation returns null.
+     *
+     * @param regex regular expression returned by
+     *              {@linkplain #getRegex(Annotation)}
+     * @return set of the characters, or null to use the regular expression
+     */
+    protected CharClass getCharClass(final String regex) {
+        return null;
+    }
+
+    protected abstract int getOverrideNameResourceId(final T annotation);
+
+    /**
+     * Gets the key of the error message defined in
+     * {@linkplain com.androidformenhancer.MessageSource}.
+     *
+     * @return key of the message
+     */
+    protected abstract String getMessageKey();
+
+}
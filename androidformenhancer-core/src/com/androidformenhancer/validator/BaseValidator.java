@@ -0,0 +1,254 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.validator;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.MessageSource;
+import com.androidformenhancer.ResourceSource;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.internal.AnnotationSlots;
+import com.androidformenhancer.internal.DefaultMessageSource;
+import com.androidformenhancer.utils.IntMap;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Provides the validation functions.
+ * <p/>
+ * This class prepares the objects to validation for subclasses.
+ * The messages and the resources are given by {@linkplain MessageSource} and
+ * {@linkplain ResourceSource}, so the validators do not depend on Android.
+ * If they are not set, the default English messages are used.
+ * The custom validators of the Android apps extend {@code Validator} of the
+ * Android library, which also gives the context.
+ * <p/>
+ * The framework shares a validator instance between the forms and the
+ * threads, so the subclasses should not keep the state of a validation in
+ * their fields.
+ *
+ * @param <T> annotation type which is necessary to the validation
+ * @author Soichiro Kashima
+ */
+public abstract class BaseValidator<T extends Annotation> {
+
+    /**
+     * Error messages shared with the other validators.
+     */
+    private MessageSource mMessageSource;
+
+    /**
+     * Names and settings shared with the other validators.
+     */
+    private ResourceSource mResourceSource;
+
+    /**
+     * Field data of the form being validated on the current thread.<br>
+     * This is not held by the instances because they are shared.
+     */
+    private static final ThreadLocal<IntMap<FieldData>> FIELD_DATA_ARRAY =
+            new ThreadLocal<IntMap<FieldData>>();
+
+    /**
+     * Slot of the annotation class, or -1 if not resolved yet.
+     */
+    private int mAnnotationSlot = -1;
+
+    /**
+     * Validates the object, and returns a message if there is an error.
+     *
+     * @param fieldData field value and meta data
+     * @return error message
+     */
+    @SuppressWarnings("unchecked")
+    public String validate(final FieldData fieldData) {
+        return validate((T) fieldData.getSpec().getAnnotation(getAnnotationSlot()), fieldData);
+    }
+
+    /**
+     * Validates the object, and returns a message if there is an error.
+     *
+     * @param annotation annotation which the field has
+     * @param fieldData  field value and meta data
+     * @return error message
+     */
+    public abstract String validate(final T annotation, final FieldData fieldData);
+
+    /**
+     * Prepares for the validation with the annotation.<br>
+     * This is called by the framework once for each annotation in the form
+     * when the validation plan is built, so you can override this to
+     * precompute something expensive such as compiling patterns.
+     * The default implementation does nothing.
+     *
+     * @param annotation annotation which the field has
+     */
+    public void prepare(final T annotation) {
+    }
+
+    /**
+     * Gives the concrete annotation class to the {@linkplain BaseValidator} because
+     * the {@linkplain BaseValidator}, the abstract parameterized class cannot
+     * determine its parameter's concrete class.<br>
+     * When you implement this method, just return the class as follows:
+     * <p/>
+     * <pre>
+     * return SomeAnnotation.class;
+     * </pre>
+     *
+     * @return annotation class
+     */
+    public abstract Class<T> getAnnotationClass();
+
+    /**
+     * Gets the slot of the annotation class given by
+     * {@linkplain AnnotationSlots}.<br>
+     * The slot is resolved at the first call.
+     *
+     * @return slot of the annotation class
+     */
+    public int getAnnotationSlot() {
+        if (mAnnotationSlot < 0) {
+            mAnnotationSlot = AnnotationSlots.get(getAnnotationClass());
+        }
+        return mAnnotationSlot;
+    }
+
+    /**
+     * Gets the source of the error messages used by this validator.
+     *
+     * @return message source
+     */
+    protected MessageSource getMessageSource() {
+        return mMessageSource == null ? DefaultMessageSource.INSTANCE : mMessageSource;
+    }
+
+    /**
+     * Sets the source of the error messages to share the resolved messages
+     * with the other validators.
+     * <p/>
+     * This is designed to use in the framework internally.
+     *
+     * @param messageSource message source
+     */
+    public void setMessageSource(final MessageSource messageSource) {
+        mMessageSource = messageSource;
+    }
+
+    /**
+     * Gets the source of the names and the settings used by this validator.
+     *
+     * @return resource source
+     */
+    protected ResourceSource getResourceSource() {
+        return mResourceSource == null ? DefaultMessageSource.INSTANCE : mResourceSource;
+    }
+
+    /**
+     * Sets the source of the names and the settings to share the resolved
+     * resources with the other validators.<br>
+     * Override this to read the settings of the validator.
+     * <p/>
+     * This is designed to use in the framework internally.
+     *
+     * @param resourceSource resource source
+     */
+    public void setResourceSource(final ResourceSource resourceSource) {
+        mResourceSource = resourceSource;
+    }
+
+    /**
+     * Sets the array of the field meta data of the form which is validated
+     * on the current thread, or null to release it after the validation.
+     * <p/>
+     * This is designed to use in the framework internally.
+     *
+     * @param fieldDataArray array of the field data
+     */
+    public static void setFieldDataArray(final IntMap<FieldData> fieldDataArray) {
+        FIELD_DATA_ARRAY.set(fieldDataArray);
+    }
+
+    /**
+     * Gets the array of the field meta data of the form which is validated
+     * on the current thread.
+     *
+     * @return array of the field data, or null if no form is being validated
+     */
+    protected static IntMap<FieldData> getFieldDataArray() {
+        return FIELD_DATA_ARRAY.get();
+    }
+
+    /**
+     * Gets the user-readable name of the field for showing error message.<br>
+     * This method use resource {@code overrideId}, otherwise
+     * {@linkplain Widget#nameResId()} if there is defined, or the name of the
+     * field if the resource is not found.
+     *
+     * @param fieldData  field data given by the target field
+     * @param overrideId resource ID of the name if you want to override
+     * @return
+     */
+    protected String getName(final FieldData fieldData, final int overrideId) {
+        String name = null;
+        int nameResId = getNameResourceId(fieldData);
+        if (overrideId > 0) {
+            name = getResourceSource().getString(overrideId);
+        } else if (nameResId > 0) {
+            name = getResourceSource().getString(nameResId);
+        }
+        return name == null ? fieldData.getName() : name;
+    }
+
+    /**
+     * Gets an error message from the message source.
+     *
+     * @param key           key of the message defined in
+     *                      {@linkplain MessageSource}
+     * @param messageParams array of the parameters needed by the message
+     * @return error message
+     */
+    protected String getMessage(final String key, final Object... messageParams) {
+        return getMessageSource().getMessage(key, messageParams);
+    }
+
+    /**
+     * Gets a string such as a custom error message from the resource source.
+     *
+     * @param resId  resource ID of the string
+     * @param params array of the parameters needed by the string
+     * @return string, or null if not found
+     */
+    protected String getString(final int resId, final Object... params) {
+        return getResourceSource().getString(resId, params);
+    }
+
+    /**
+     * Gets the value of the other field in the form.
+     *
+     * @param id resource ID of the target field
+     * @return value of the target field
+     */
+    protected String getValueById(int id) {
+        return FIELD_DATA_ARRAY.get().get(id).getValueAsString();
+    }
+
+    private int getNameResourceId(final FieldData formMetaData) {
+        Widget widget = formMetaData.getWidget();
+        return widget == null ? 0 : widget.nameResId();
+    }
+
+}
@@ -16,50 +16,43 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.DatePattern;
+import com.androidformenhancer.utils.DateUtils;
+import com.androidformenhancer.utils.StringUtils;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
 
 /**
  * Validates that the value matches the regular expression.
  *
  * @author Soichiro Kashima
  */
-public class DatePatternValidator extends Validator<DatePattern> {
+public class DatePatternValidator extends BaseValidator<DatePattern> {
 
     @Override
     public Class<DatePattern> getAnnotationClass() {
         return DatePattern.class;
     }
 
+    @Override
+    public void prepare(final DatePattern annotation) {
+        // Loads the locale data for the format
+        DateUtils.getDateFormat(annotation.value());
+    }
+
     @Override
     public String validate(final DatePattern annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
-        DateFormat dateFormat = null;
-
-        if (TextUtils.isEmpty(annotation.value())) {
-            dateFormat = DateFormat.getDateInstance(DateFormat.SHORT, Locale.getDefault());
-        } else {
-            dateFormat = new SimpleDateFormat(annotation.value(),
-                    Locale.getDefault());
-        }
-        dateFormat.setLenient(false);
         try {
-            dateFormat.parse(value);
+            DateUtils.parse(annotation.value(), value);
             return null;
         } catch (ParseException e) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorDatePattern,
-                    R.string.afe__msg_validation_date,
+            return getMessage(MessageSource.DATE_PATTERN,
                     getName(fieldData, annotation.nameResId()));
         }
     }
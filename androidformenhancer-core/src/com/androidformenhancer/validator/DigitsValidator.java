@@ -16,15 +16,19 @@
 
 package com.androidformenhancer.validator;
 
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.Digits;
+import com.androidformenhancer.utils.CharClass;
 
 /**
  * This validator provides the digital character field validation.
  *
  * @author Soichiro Kashima
  */
-public class DigitsValidator extends AbstractRegexValidator<Digits> {
+public class DigitsValidator extends BaseRegexValidator<Digits> {
+
+    private static final String REGEX = "^[0-9]+$";
+    static final CharClass DIGITS = new CharClass.Builder().addRange('0', '9').build();
 
     @Override
     public Class<Digits> getAnnotationClass() {
@@ -33,22 +37,22 @@ public class DigitsValidator extends AbstractRegexValidator<Digits> {
 
     @Override
     protected String getRegex(final Digits annotation) {
-        return "^[0-9]+$";
+        return REGEX;
     }
 
     @Override
-    protected int getOverrideNameResourceId(final Digits annotation) {
-        return annotation.nameResId();
+    protected CharClass getCharClass(final String regex) {
+        return REGEX.equals(regex) ? DIGITS : null;
     }
 
     @Override
-    protected int getErrorMessageResourceId() {
-        return R.string.afe__msg_validation_digits;
+    protected int getOverrideNameResourceId(final Digits annotation) {
+        return annotation.nameResId();
     }
 
     @Override
-    protected int getNameStyleIndex() {
-        return R.styleable.ValidatorMessages_afeErrorDigits;
+    protected String getMessageKey() {
+        return MessageSource.DIGITS;
     }
 
 }
@@ -16,10 +16,7 @@
 
 package com.androidformenhancer.validator;
 
-import android.content.Context;
-import android.content.res.TypedArray;
-
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.Email;
 
 /**
@@ -27,25 +24,9 @@ import com.androidformenhancer.annotation.Email;
  *
  * @author Soichiro Kashima
  */
-public class EmailValidator extends AbstractRegexValidator<Email> {
+public class EmailValidator extends BaseRegexValidator<Email> {
 
     public static final String REGEX_EMAIL = "^[\\w-]+(\\.[\\w-]+)*@([\\w][\\w-]*\\.)+[\\w][\\w-]*$";
-    private String mRegex = REGEX_EMAIL;
-
-    @Override
-    public void setContext(Context context) {
-        super.setContext(context);
-        TypedArray a = getContext().getTheme().obtainStyledAttributes(null,
-                R.styleable.ValidatorDefinitions,
-                R.attr.afeValidatorDefinitions, 0);
-        int resId = a.getResourceId(R.styleable.ValidatorDefinitions_afeCustomEmailPattern, 0);
-        a.recycle();
-        if (resId == 0) {
-            mRegex = REGEX_EMAIL;
-        } else {
-            mRegex = getContext().getString(resId);
-        }
-    }
 
     @Override
     public Class<Email> getAnnotationClass() {
@@ -54,7 +35,9 @@ public class EmailValidator extends AbstractRegexValidator<Email> {
 
     @Override
     protected String getRegex(final Email annotation) {
-        return mRegex;
+        // The pattern is not kept in this object which is shared by the forms
+        final String regex = getResourceSource().getEmailPattern();
+        return regex == null ? REGEX_EMAIL : regex;
     }
 
     @Override
@@ -63,13 +46,8 @@ public class EmailValidator extends AbstractRegexValidator<Email> {
     }
 
     @Override
-    protected int getErrorMessageResourceId() {
-        return R.string.afe__msg_validation_email;
-    }
-
-    @Override
-    protected int getNameStyleIndex() {
-        return R.styleable.ValidatorMessages_afeErrorEmail;
+    protected String getMessageKey() {
+        return MessageSource.EMAIL;
     }
 
 }
@@ -16,18 +16,17 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.FloatType;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * This validator provides the float field validation.
  *
  * @author Soichiro Kashima
  */
-public class FloatTypeValidator extends Validator<FloatType> {
+public class FloatTypeValidator extends BaseValidator<FloatType> {
 
     @Override
     public Class<FloatType> getAnnotationClass() {
@@ -37,14 +36,13 @@ public class FloatTypeValidator extends Validator<FloatType> {
     @Override
     public String validate(final FloatType annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
         try {
             Float.parseFloat(value);
         } catch (NumberFormatException e) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorFloatType,
-                    R.string.afe__msg_validation_float_type,
+            return getMessage(MessageSource.FLOAT_TYPE,
                     getName(fieldData, annotation.nameResId()));
         }
 
@@ -16,8 +16,9 @@
 
 package com.androidformenhancer.validator;
 
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.Hiragana;
+import com.androidformenhancer.utils.CharClass;
 
 /**
  * Validates that the value of the field consists of Japanese hiragana
@@ -25,9 +26,11 @@ import com.androidformenhancer.annotation.Hiragana;
  *
  * @author Soichiro Kashima
  */
-public class HiraganaValidator extends AbstractRegexValidator<Hiragana> {
+public class HiraganaValidator extends BaseRegexValidator<Hiragana> {
 
-    private static final String REGEX = "^[あいうえおかきくけこさしすせそたちつてとなにぬねのはひふへほまみむめもやゆよらりるれろわをんゃゅょっぁぃぅぇぉがぎぐげござじずぜぞだぢづでどばびぶべぼぱぴぷぺぽゔー、。]+$";
+    private static final String CHARS = "あいうえおかきくけこさしすせそたちつてとなにぬねのはひふへほまみむめもやゆよらりるれろわをんゃゅょっぁぃぅぇぉがぎぐげござじずぜぞだぢづでどばびぶべぼぱぴぷぺぽゔー、。";
+    private static final String REGEX = "^[" + CHARS + "]+$";
+    private static final CharClass CHAR_CLASS = new CharClass.Builder().addChars(CHARS).build();
 
     @Override
     public Class<Hiragana> getAnnotationClass() {
@@ -40,18 +43,18 @@ public class HiraganaValidator extends AbstractRegexValidator<Hiragana> {
     }
 
     @Override
-    protected int getOverrideNameResourceId(final Hiragana annotation) {
-        return annotation.nameResId();
+    protected CharClass getCharClass(final String regex) {
+        return REGEX.equals(regex) ? CHAR_CLASS : null;
     }
 
     @Override
-    protected int getErrorMessageResourceId() {
-        return R.string.afe__msg_validation_hiragana;
+    protected int getOverrideNameResourceId(final Hiragana annotation) {
+        return annotation.nameResId();
     }
 
     @Override
-    protected int getNameStyleIndex() {
-        return R.styleable.ValidatorMessages_afeErrorHiragana;
+    protected String getMessageKey() {
+        return MessageSource.HIRAGANA;
     }
 
 }
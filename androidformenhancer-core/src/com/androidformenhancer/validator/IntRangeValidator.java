@@ -16,18 +16,17 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.IntRange;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * Validates that the value is in the integer range or not.
  *
  * @author Soichiro Kashima
  */
-public class IntRangeValidator extends Validator<IntRange> {
+public class IntRangeValidator extends BaseValidator<IntRange> {
 
     @Override
     public Class<IntRange> getAnnotationClass() {
@@ -37,7 +36,7 @@ public class IntRangeValidator extends Validator<IntRange> {
     @Override
     public String validate(final IntRange annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
         int nValue = -1;
@@ -48,8 +47,7 @@ public class IntRangeValidator extends Validator<IntRange> {
             hasError = true;
         }
         if (hasError || nValue < annotation.min() || annotation.max() < nValue) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorIntRange,
-                    R.string.afe__msg_validation_int_range,
+            return getMessage(MessageSource.INT_RANGE,
                     getName(fieldData, annotation.nameResId()),
                     annotation.min(), annotation.max());
         }
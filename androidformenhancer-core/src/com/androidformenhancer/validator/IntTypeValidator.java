@@ -16,18 +16,17 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.IntType;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * This validator provides the integer field validation.
  *
  * @author Soichiro Kashima
  */
-public class IntTypeValidator extends Validator<IntType> {
+public class IntTypeValidator extends BaseValidator<IntType> {
 
     @Override
     public Class<IntType> getAnnotationClass() {
@@ -37,14 +36,13 @@ public class IntTypeValidator extends Validator<IntType> {
     @Override
     public String validate(final IntType annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
         try {
             Integer.parseInt(value);
         } catch (NumberFormatException e) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorIntType,
-                    R.string.afe__msg_validation_int_type,
+            return getMessage(MessageSource.INT_TYPE,
                     getName(fieldData, annotation.nameResId()));
         }
         return null;
@@ -16,8 +16,9 @@
 
 package com.androidformenhancer.validator;
 
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.Katakana;
+import com.androidformenhancer.utils.CharClass;
 
 /**
  * Validates that the value of the field consists of Japanese katakana
@@ -25,9 +26,11 @@ import com.androidformenhancer.annotation.Katakana;
  *
  * @author Soichiro Kashima
  */
-public class KatakanaValidator extends AbstractRegexValidator<Katakana> {
+public class KatakanaValidator extends BaseRegexValidator<Katakana> {
 
-    private static final String REGEX = "^[アイウエオカキクケコサシスセソタチツテトナニヌネノハヒフヘホマミムメモヤユヨラリルレロワヲンャュョッァィゥェォヵヶガギグゲゴザジズゼゾダヂヅデドバビブベボパピプペポヴー、。]+$";
+    private static final String CHARS = "アイウエオカキクケコサシスセソタチツテトナニヌネノハヒフヘホマミムメモヤユヨラリルレロワヲンャュョッァィゥェォヵヶガギグゲゴザジズゼゾダヂヅデドバビブベボパピプペポヴー、。";
+    private static final String REGEX = "^[" + CHARS + "]+$";
+    private static final CharClass CHAR_CLASS = new CharClass.Builder().addChars(CHARS).build();
 
     @Override
     public Class<Katakana> getAnnotationClass() {
@@ -40,18 +43,18 @@ public class KatakanaValidator extends AbstractRegexValidator<Katakana> {
     }
 
     @Override
-    protected int getOverrideNameResourceId(final Katakana annotation) {
-        return annotation.nameResId();
+    protected CharClass getCharClass(final String regex) {
+        return REGEX.equals(regex) ? CHAR_CLASS : null;
     }
 
     @Override
-    protected int getErrorMessageResourceId() {
-        return R.string.afe__msg_validation_katakana;
+    protected int getOverrideNameResourceId(final Katakana annotation) {
+        return annotation.nameResId();
     }
 
     @Override
-    protected int getNameStyleIndex() {
-        return R.styleable.ValidatorMessages_afeErrorKatakana;
+    protected String getMessageKey() {
+        return MessageSource.KATAKANA;
     }
 
 }
@@ -16,18 +16,17 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.Length;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * Validates that the length of the value of the field.
  *
  * @author Soichiro Kashima
  */
-public class LengthValidator extends Validator<Length> {
+public class LengthValidator extends BaseValidator<Length> {
 
     @Override
     public Class<Length> getAnnotationClass() {
@@ -37,12 +36,11 @@ public class LengthValidator extends Validator<Length> {
     @Override
     public String validate(final Length annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
         if (annotation.value() != value.length()) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorLength,
-                    R.string.afe__msg_validation_length,
+            return getMessage(MessageSource.LENGTH,
                     getName(fieldData, annotation.nameResId()), annotation.value());
         }
         return null;
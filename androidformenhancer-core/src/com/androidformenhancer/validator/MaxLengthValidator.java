@@ -16,11 +16,10 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.MaxLength;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * Validates that the length of the value of the field exceeds the max length or
@@ -28,7 +27,7 @@ import com.androidformenhancer.annotation.MaxLength;
  *
  * @author Soichiro Kashima
  */
-public class MaxLengthValidator extends Validator<MaxLength> {
+public class MaxLengthValidator extends BaseValidator<MaxLength> {
 
     @Override
     public Class<MaxLength> getAnnotationClass() {
@@ -38,12 +37,11 @@ public class MaxLengthValidator extends Validator<MaxLength> {
     @Override
     public String validate(final MaxLength annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
         if (annotation.value() < value.length()) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorMaxLength,
-                    R.string.afe__msg_validation_max_length,
+            return getMessage(MessageSource.MAX_LENGTH,
                     getName(fieldData, annotation.nameResId()), annotation.value());
         }
         return null;
@@ -16,11 +16,10 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.MaxNumOfDigits;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * Validates that the length of the value of the field exceeds the max number of
@@ -28,7 +27,7 @@ import com.androidformenhancer.annotation.MaxNumOfDigits;
  *
  * @author Soichiro Kashima
  */
-public class MaxNumOfDigitsValidator extends Validator<MaxNumOfDigits> {
+public class MaxNumOfDigitsValidator extends BaseValidator<MaxNumOfDigits> {
 
     @Override
     public Class<MaxNumOfDigits> getAnnotationClass() {
@@ -38,12 +37,11 @@ public class MaxNumOfDigitsValidator extends Validator<MaxNumOfDigits> {
     @Override
     public String validate(final MaxNumOfDigits annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value) || !value.matches("^[0-9]+$")) {
+        if (StringUtils.isEmpty(value) || !DigitsValidator.DIGITS.matchesAll(value)) {
             return null;
         }
         if (annotation.value() < value.length()) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorMaxNumOfDigits,
-                    R.string.afe__msg_validation_max_num_of_digits,
+            return getMessage(MessageSource.MAX_NUM_OF_DIGITS,
                     getName(fieldData, annotation.nameResId()),
                     annotation.value());
         }
@@ -16,18 +16,17 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.MaxValue;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * Validates that the value exceeds the max value or not.
  *
  * @author Soichiro Kashima
  */
-public class MaxValueValidator extends Validator<MaxValue> {
+public class MaxValueValidator extends BaseValidator<MaxValue> {
 
     @Override
     public Class<MaxValue> getAnnotationClass() {
@@ -37,7 +36,7 @@ public class MaxValueValidator extends Validator<MaxValue> {
     @Override
     public String validate(final MaxValue annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
         int nValue = -1;
@@ -48,8 +47,7 @@ public class MaxValueValidator extends Validator<MaxValue> {
             hasError = true;
         }
         if (hasError || annotation.value() < nValue) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorMaxValue,
-                    R.string.afe__msg_validation_max_value,
+            return getMessage(MessageSource.MAX_VALUE,
                     getName(fieldData, annotation.nameResId()), annotation.value());
         }
         return null;
@@ -16,18 +16,17 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.MinValue;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * Validates that the value is less than the minimum value or not.
  *
  * @author Soichiro Kashima
  */
-public class MinValueValidator extends Validator<MinValue> {
+public class MinValueValidator extends BaseValidator<MinValue> {
 
     @Override
     public Class<MinValue> getAnnotationClass() {
@@ -37,7 +36,7 @@ public class MinValueValidator extends Validator<MinValue> {
     @Override
     public String validate(final MinValue annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
         int nValue = -1;
@@ -48,8 +47,7 @@ public class MinValueValidator extends Validator<MinValue> {
             hasError = true;
         }
         if (hasError || nValue < annotation.value()) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorMinValue,
-                    R.string.afe__msg_validation_min_value,
+            return getMessage(MessageSource.MIN_VALUE,
                     getName(fieldData, annotation.nameResId()), annotation.value());
         }
         return null;
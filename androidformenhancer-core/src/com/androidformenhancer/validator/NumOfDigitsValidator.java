@@ -16,18 +16,17 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.NumOfDigits;
+import com.androidformenhancer.utils.StringUtils;
 
 /**
  * Validates that the number of the digits of the field.
  *
  * @author Soichiro Kashima
  */
-public class NumOfDigitsValidator extends Validator<NumOfDigits> {
+public class NumOfDigitsValidator extends BaseValidator<NumOfDigits> {
 
     @Override
     public Class<NumOfDigits> getAnnotationClass() {
@@ -37,12 +36,11 @@ public class NumOfDigitsValidator extends Validator<NumOfDigits> {
     @Override
     public String validate(final NumOfDigits annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value) || !value.matches("^[0-9]+$")) {
+        if (StringUtils.isEmpty(value) || !DigitsValidator.DIGITS.matchesAll(value)) {
             return null;
         }
         if (annotation.value() != value.length()) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorNumOfDigits,
-                    R.string.afe__msg_validation_num_of_digits,
+            return getMessage(MessageSource.NUM_OF_DIGITS,
                     getName(fieldData, annotation.nameResId()), annotation.value());
         }
         return null;
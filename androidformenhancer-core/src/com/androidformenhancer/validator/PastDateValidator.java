@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.validator;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.MessageSource;
+import com.androidformenhancer.annotation.PastDate;
+import com.androidformenhancer.utils.DateUtils;
+import com.androidformenhancer.utils.StringUtils;
+
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * Validates that the value is the past date.
+ *
+ * @author Soichiro Kashima
+ */
+public class PastDateValidator extends BaseValidator<PastDate> {
+
+    @Override
+    public Class<PastDate> getAnnotationClass() {
+        return PastDate.class;
+    }
+
+    @Override
+    public void prepare(final PastDate annotation) {
+        // Loads the locale data for the format
+        DateUtils.getDateFormat(annotation.value());
+    }
+
+    @Override
+    public String validate(final PastDate annotation, final FieldData fieldData) {
+        final String value = fieldData.getValueAsString();
+        if (StringUtils.isEmpty(value)) {
+            return null;
+        }
+        try {
+            Date date = DateUtils.parse(annotation.value(), value);
+            // The date is past if it is before the beginning of today
+            // (or tomorrow if today is allowed)
+            final long limit = annotation.allowToday()
+                    ? DateUtils.getStartOfTomorrow()
+                    : DateUtils.getStartOfToday();
+            if (date.getTime() < limit) {
+                return null;
+            }
+        } catch (ParseException e) {
+        }
+        return getMessage(MessageSource.PAST_DATE,
+                getName(fieldData, annotation.nameResId()));
+    }
+
+}
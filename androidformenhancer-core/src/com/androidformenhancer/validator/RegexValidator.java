@@ -16,7 +16,7 @@
 
 package com.androidformenhancer.validator;
 
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.annotation.Regex;
 
 /**
@@ -24,7 +24,7 @@ import com.androidformenhancer.annotation.Regex;
  *
  * @author Soichiro Kashima
  */
-public class RegexValidator extends AbstractRegexValidator<Regex> {
+public class RegexValidator extends BaseRegexValidator<Regex> {
 
     @Override
     public Class<Regex> getAnnotationClass() {
@@ -42,13 +42,8 @@ public class RegexValidator extends AbstractRegexValidator<Regex> {
     }
 
     @Override
-    protected int getErrorMessageResourceId() {
-        return R.string.afe__msg_validation_regex;
-    }
-
-    @Override
-    protected int getNameStyleIndex() {
-        return R.styleable.ValidatorMessages_afeErrorRegex;
+    protected String getMessageKey() {
+        return MessageSource.REGEX;
     }
 
 }
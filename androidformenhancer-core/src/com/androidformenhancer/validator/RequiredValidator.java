@@ -16,13 +16,12 @@
 
 package com.androidformenhancer.validator;
 
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.WidgetType;
 import com.androidformenhancer.annotation.Required;
 import com.androidformenhancer.annotation.When;
+import com.androidformenhancer.utils.StringUtils;
 
 import java.util.List;
 
@@ -31,7 +30,7 @@ import java.util.List;
  *
  * @author Soichiro Kashima
  */
-public class RequiredValidator extends Validator<Required> {
+public class RequiredValidator extends BaseValidator<Required> {
 
     @Override
     public Class<Required> getAnnotationClass() {
@@ -53,7 +52,7 @@ public class RequiredValidator extends Validator<Required> {
                 try {
                     String whenValue = getValueById(when.id());
                     if (isNotEmpty) {
-                        if (!TextUtils.isEmpty(whenValue)) {
+                        if (!StringUtils.isEmpty(whenValue)) {
                             validateEnabled = true;
                         }
                     } else if (equalsTo.equals(whenValue)) {
@@ -73,23 +72,20 @@ public class RequiredValidator extends Validator<Required> {
             final List<String> list = fieldData.getValueAsStringList();
             if (list == null || list.size() < annotation.atLeast()) {
                 return getMessage(
-                        R.styleable.ValidatorMessages_afeErrorRequiredMultipleSelection,
-                        R.string.afe__msg_validation_required_multiple_selection,
+                        MessageSource.REQUIRED_MULTIPLE_SELECTION,
                         getName(fieldData, annotation.nameResId()), annotation.atLeast());
             }
         } else {
             final String strValue = fieldData.getValueAsString();
-            if (TextUtils.isEmpty(strValue)
+            if (StringUtils.isEmpty(strValue)
                     || (fieldData.getWidgetType() == WidgetType.SPINNER
                     && annotation.otherThanHead() && strValue.equals("0"))) {
                 if (fieldData.getWidgetType() == WidgetType.RADIO
                         || fieldData.getWidgetType() == WidgetType.SPINNER) {
-                    return getMessage(R.styleable.ValidatorMessages_afeErrorRequiredSelection,
-                            R.string.afe__msg_validation_required_selection,
+                    return getMessage(MessageSource.REQUIRED_SELECTION,
                             getName(fieldData, annotation.nameResId()));
                 } else {
-                    return getMessage(R.styleable.ValidatorMessages_afeErrorRequired,
-                            R.string.afe__msg_validation_required,
+                    return getMessage(MessageSource.REQUIRED,
                             getName(fieldData, annotation.nameResId()));
                 }
             }
@@ -16,14 +16,12 @@
 
 package com.androidformenhancer.validator;
 
-import android.content.Context;
-import android.content.res.TypedArray;
-import android.text.TextUtils;
-
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
+import com.androidformenhancer.MessageSource;
 import com.androidformenhancer.ValidationException;
 import com.androidformenhancer.annotation.Singlebyte;
+import com.androidformenhancer.utils.ByteWidthClassifier;
+import com.androidformenhancer.utils.StringUtils;
 
 import java.io.UnsupportedEncodingException;
 
@@ -33,16 +31,28 @@ import java.io.UnsupportedEncodingException;
  *
  * @author Soichiro Kashima
  */
-public class SinglebyteValidator extends Validator<Singlebyte> {
+public class SinglebyteValidator extends BaseValidator<Singlebyte> {
 
     private static final String DEFAULT_ENCODING = "UTF-8";
 
-    private String mEncoding;
+    /**
+     * Encoding given to the constructor, or null to use the encoding of the
+     * resource source.
+     */
+    private final String mEncoding;
 
-    @Override
-    public void setContext(Context context) {
-        super.setContext(context);
-        setEncoding();
+    public SinglebyteValidator() {
+        this(null);
+    }
+
+    /**
+     * Constructor to use the encoding instead of the one of the resource
+     * source.
+     *
+     * @param encoding name of the character encoding
+     */
+    public SinglebyteValidator(final String encoding) {
+        mEncoding = encoding;
     }
 
     @Override
@@ -53,54 +63,38 @@ public class SinglebyteValidator extends Validator<Singlebyte> {
     @Override
     public String validate(final Singlebyte annotation, final FieldData fieldData) {
         final String value = fieldData.getValueAsString();
-        if (TextUtils.isEmpty(value)) {
+        if (StringUtils.isEmpty(value)) {
             return null;
         }
-        boolean hasError = false;
-        try {
-            for (int i = 0; i < value.length(); i = value.offsetByCodePoints(i, 1)) {
-                char[] c = Character.toChars(value.codePointAt(i));
-                if (c.length > 1) {
-                    hasError = true;
-                    break;
-                }
-                byte[] b = new String(c).getBytes(mEncoding);
-                if (b.length != 1) {
-                    hasError = true;
-                    break;
-                }
-            }
-        } catch (UnsupportedEncodingException e) {
-            throw new ValidationException("Unsupported encoding used: " + mEncoding, e);
-        }
-        if (hasError) {
-            return getMessage(R.styleable.ValidatorMessages_afeErrorSinglebyte,
-                    R.string.afe__msg_validation_singlebyte,
+        if (!getClassifier().isSinglebyte(value)) {
+            return getMessage(MessageSource.SINGLEBYTE,
                     getName(fieldData, annotation.nameResId()));
         }
 
         return null;
     }
 
+    /**
+     * Gets the character encoding to decide the byte width of the characters.
+     *
+     * @return encoding given to the constructor, the encoding of the resource
+     * source, or UTF-8
+     */
     public String getEncoding() {
-        return mEncoding;
-    }
-
-    public void setEncoding(final String encoding) {
-        mEncoding = encoding;
+        if (!StringUtils.isEmpty(mEncoding)) {
+            return mEncoding;
+        }
+        final String encoding = getResourceSource().getCharacterEncoding();
+        return StringUtils.isEmpty(encoding) ? DEFAULT_ENCODING : encoding;
     }
 
-    private void setEncoding() {
-        TypedArray a = getContext().getTheme().obtainStyledAttributes(null,
-                R.styleable.ValidatorDefinitions,
-                R.attr.afeValidatorDefinitions, 0);
-
-        mEncoding = a.getString(R.styleable.ValidatorDefinitions_afeCharacterEncoding);
-        if (TextUtils.isEmpty(mEncoding)) {
-            mEncoding = DEFAULT_ENCODING;
+    private ByteWidthClassifier getClassifier() {
+        final String encoding = getEncoding();
+        try {
+            return ByteWidthClassifier.get(encoding);
+        } catch (UnsupportedEncodingException e) {
+            throw new ValidationException("Unsupported encoding used: " + encoding, e);
         }
-
-        a.recycle();
     }
 
 }
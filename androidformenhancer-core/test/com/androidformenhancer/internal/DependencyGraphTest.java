@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.ValidationException;
+import com.androidformenhancer.WidgetType;
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.When;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.utils.IntMap;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class DependencyGraphTest extends TestCase {
+
+    public static class TreeForm {
+        @Widget(id = 3)
+        public String a;
+
+        @Widget(id = 1)
+        public String b;
+
+        @Widget(id = 5, validateAfter = 3)
+        public String c;
+
+        @Widget(id = 4, validateAfter = 3)
+        public String d;
+
+        @Widget(id = 2, validateAfter = 4)
+        public String e;
+
+        @Widget(id = 6, validateAfter = 99)
+        public String f;
+
+        @Required(when = {
+                @When(id = 1, isNotEmpty = true),
+                @When(id = 3, equalsTo = "x")
+        })
+        @Widget(id = 7, validateAfter = 1)
+        public String g;
+    }
+
+    public static class RequiredWhenForm {
+        @Widget(id = 1)
+        public String reason;
+
+        @Widget(id = 2, validateAfter = 1)
+        @Required(when = {
+            @When(id = 1, equalsTo = "2")
+        })
+        public String reasonOther;
+    }
+
+    public static class CircularForm {
+        @Widget(id = 1)
+        public String a;
+
+        @Widget(id = 2, validateAfter = 4)
+        public String b;
+
+        @Widget(id = 3, validateAfter = 2)
+        public String c;
+
+        @Widget(id = 4, validateAfter = 3)
+        public String d;
+    }
+
+    public void testGetOrder() throws Exception {
+        DependencyGraph graph = DependencyGraph.get(FormMetadata.get(TreeForm.class));
+        assertSame(graph, DependencyGraph.get(FormMetadata.get(TreeForm.class)));
+
+        // Depth-first from the roots, siblings are ordered by IDs,
+        // and the field after the missing field is excluded
+        assertIds(new int[]{1, 7, 3, 4, 2, 5}, graph.getOrder());
+
+        graph = DependencyGraph.get(FormMetadata.get(SampleForm.class));
+        assertIds(new int[]{
+                SampleForm.Id.NAME,
+                SampleForm.Id.HIRAGANA,
+                SampleForm.Id.KATAKANA,
+                SampleForm.Id.AGE,
+                SampleForm.Id.GENDER,
+                SampleForm.Id.PHONE,
+                SampleForm.Id.BIRTHDAY,
+                SampleForm.Id.CREDIT_CARD_COMPANY,
+                SampleForm.Id.GOT_TO_KNOW_BY,
+        }, graph.getOrder());
+    }
+
+    public void testSort() throws Exception {
+        DependencyGraph graph = DependencyGraph.get(FormMetadata.get(TreeForm.class));
+        IntMap<FieldData> fieldDataArray = new IntMap<FieldData>();
+        for (String name : new String[]{"a", "b", "c", "e", "f"}) {
+            FieldData fieldData = new FieldData(TreeForm.class.getField(name), WidgetType.TEXT);
+            fieldDataArray.put(fieldData.getId(), fieldData);
+        }
+        // 'e' is after 'd' which is not extracted
+        FieldData[] sorted = graph.sort(fieldDataArray);
+        assertEquals(3, sorted.length);
+        assertEquals(1, sorted[0].getId());
+        assertEquals(3, sorted[1].getId());
+        assertEquals(5, sorted[2].getId());
+    }
+
+    public void testDependencies() throws Exception {
+        DependencyGraph graph = DependencyGraph.get(FormMetadata.get(TreeForm.class));
+        assertIds(new int[]{1, 3}, graph.getDependencies(7));
+        assertIds(new int[]{7}, graph.getDependents(1));
+        assertIds(new int[]{7}, graph.getDependents(3));
+        assertIds(new int[0], graph.getDependents(7));
+        assertIds(new int[]{3, 7}, graph.getRevalidationIds(3));
+        assertIds(new int[]{7}, graph.getRevalidationIds(7));
+        assertIds(new int[0], graph.getRevalidationIds(100));
+
+        graph = DependencyGraph.get(FormMetadata.get(RequiredWhenForm.class));
+        assertIds(new int[]{1, 2}, graph.getRevalidationIds(1));
+    }
+
+    public void testCircular() throws Exception {
+        try {
+            DependencyGraph.get(FormMetadata.get(CircularForm.class));
+            fail();
+        } catch (ValidationException e) {
+            assertTrue(e.getMessage().startsWith("Circular validateAfter found in "));
+        }
+    }
+
+    private static void assertIds(final int[] expected, final int[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i]);
+        }
+    }
+
+}
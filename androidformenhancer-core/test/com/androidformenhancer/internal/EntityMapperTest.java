@@ -0,0 +1,111 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class EntityMapperTest extends TestCase {
+
+    public static class Form {
+        public String name;
+        public String age;
+        public String rate;
+        public String agreed;
+        public String initial;
+        public List<String> tags;
+    }
+
+    public static class Entity {
+        public String name;
+        public int age;
+        public double rate;
+        public boolean agreed;
+        public char initial;
+        public List<String> tags;
+    }
+
+    public static class MissingFieldEntity {
+        public String name;
+    }
+
+    public static class UnsupportedTypeEntity {
+        public String name;
+        public Integer age;
+        public double rate;
+        public boolean agreed;
+        public char initial;
+        public List<String> tags;
+    }
+
+    public void testGet() throws Exception {
+        EntityMapper<Entity> mapper = EntityMapper.get(Form.class, Entity.class);
+        assertSame(mapper, EntityMapper.get(Form.class, Entity.class));
+    }
+
+    public void testMap() throws Exception {
+        Form form = new Form();
+        form.name = "Alice";
+        form.age = "20";
+        form.rate = "1.5";
+        form.agreed = "true";
+        form.initial = "";
+        form.tags = new ArrayList<String>();
+        form.tags.add("a");
+
+        Entity entity = EntityMapper.get(Form.class, Entity.class).map(form);
+        assertEquals("Alice", entity.name);
+        assertEquals(20, entity.age);
+        assertEquals(1.5, entity.rate);
+        assertTrue(entity.agreed);
+        // Empty strings are not copied
+        assertEquals('\0', entity.initial);
+        assertEquals(form.tags, entity.tags);
+        assertNotSame(form.tags, entity.tags);
+    }
+
+    public void testMapNull() throws Exception {
+        Entity entity = EntityMapper.get(Form.class, Entity.class).map(new Form());
+        assertNull(entity.name);
+        assertEquals(0, entity.age);
+        assertNull(entity.tags);
+    }
+
+    public void testMissingField() throws Exception {
+        try {
+            EntityMapper.get(Form.class, MissingFieldEntity.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("MissingFieldEntity"));
+        }
+    }
+
+    public void testUnsupportedType() throws Exception {
+        try {
+            EntityMapper.get(Form.class, UnsupportedTypeEntity.class);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("java.lang.Integer"));
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.FormBinder;
+import com.androidformenhancer.annotation.Widget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class FormBindersTest extends TestCase {
+
+    public static class UnboundForm {
+        @Widget(id = 1)
+        public String name;
+    }
+
+    public static class BoundForm {
+        @Widget(id = 1)
+        public String name;
+
+        @Widget(id = 2)
+        public List<String> tags;
+    }
+
+    /**
+     * Same as the code generated by androidformenhancer-compiler.
+     */
+    public static final class BoundForm$$FormBinder implements FormBinder<BoundForm> {
+        @Override
+        public BoundForm newForm() {
+            return new BoundForm();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void setValue(BoundForm form, int id, Object value) {
+            switch (id) {
+                case 1:
+                    form.name = (String) value;
+                    break;
+                case 2:
+                    form.tags = (List<String>) value;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public Object getValue(BoundForm form, int id) {
+            switch (id) {
+                case 1:
+                    return form.name;
+                case 2:
+                    return form.tags;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public BoundForm copy(BoundForm source) {
+            BoundForm form = new BoundForm();
+            form.name = source.name;
+            if (source.tags != null) {
+                form.tags = new ArrayList<String>(source.tags);
+            }
+            return form;
+        }
+    }
+
+    public void testGet() throws Exception {
+        FormBinder<Object> binder = FormBinders.get(BoundForm.class);
+        assertNotNull(binder);
+        assertEquals(BoundForm$$FormBinder.class, binder.getClass());
+        assertSame(binder, FormBinders.get(BoundForm.class));
+
+        BoundForm form = (BoundForm) binder.newForm();
+        List<String> tags = new ArrayList<String>();
+        tags.add("a");
+        binder.setValue(form, 1, "foo");
+        binder.setValue(form, 2, tags);
+        assertEquals("foo", binder.getValue(form, 1));
+
+        BoundForm copy = (BoundForm) binder.copy(form);
+        assertEquals("foo", copy.name);
+        assertEquals(tags, copy.tags);
+        assertNotSame(tags, copy.tags);
+    }
+
+    public void testGetWithoutBinder() throws Exception {
+        assertNull(FormBinders.get(UnboundForm.class));
+        assertNull(FormBinders.get(UnboundForm.class));
+    }
+
+}
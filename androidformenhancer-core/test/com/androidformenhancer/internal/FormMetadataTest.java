@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.Widget;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class FormMetadataTest extends TestCase {
+
+    public static class InvalidForm {
+        @Widget(id = 1)
+        public int number;
+    }
+
+    public void testGet() throws Exception {
+        FormMetadata metadata = FormMetadata.get(SampleForm.class);
+        assertSame(metadata, FormMetadata.get(SampleForm.class));
+        assertEquals(SampleForm.class, metadata.getFormClass());
+        assertEquals(9, metadata.getWidgetFields().length);
+        metadata.ensureFormFieldsTypes();
+    }
+
+    public void testWidgetField() throws Exception {
+        FormMetadata.WidgetField gender = null;
+        FormMetadata.WidgetField gotToKnowBy = null;
+        for (FormMetadata.WidgetField widgetField : FormMetadata.get(SampleForm.class).getWidgetFields()) {
+            if ("gender".equals(widgetField.getName())) {
+                gender = widgetField;
+            } else if ("gotToKnowBy".equals(widgetField.getName())) {
+                gotToKnowBy = widgetField;
+            }
+        }
+        assertNotNull(gender);
+        assertEquals(SampleForm.Id.GENDER, gender.getId());
+        assertFalse(gender.isArray());
+        assertEquals("0", gender.getWidgetValue(SampleForm.Id.GENDER_MALE));
+        assertEquals("1", gender.getWidgetValue(SampleForm.Id.GENDER_FEMALE));
+        assertNull(gender.getWidgetValue(0));
+        assertNotNull(gender.getAnnotations().get(Required.class));
+        assertEquals(SampleForm.Id.GENDER, gender.getSpec().getId());
+        assertEquals("gender", gender.getSpec().getName());
+        assertSame(gender.getWidget(), gender.getSpec().getWidget());
+        assertSame(gender.getAnnotations(), gender.getSpec().getAnnotations());
+
+        assertNotNull(gotToKnowBy);
+        assertTrue(gotToKnowBy.isArray());
+        assertEquals(4, gotToKnowBy.getWidgetValues().length);
+    }
+
+    public void testEnsureFormFieldsTypes() throws Exception {
+        FormMetadata metadata = FormMetadata.get(InvalidForm.class);
+        try {
+            metadata.ensureFormFieldsTypes();
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        fail();
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class OnceCacheTest extends TestCase {
+
+    public void testGet() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        OnceCache<String, Object> cache = new OnceCache<String, Object>() {
+            @Override
+            protected Object create(final String key) {
+                count.incrementAndGet();
+                return new Object();
+            }
+        };
+        Object a = cache.get("a");
+        assertSame(a, cache.get("a"));
+        assertNotSame(a, cache.get("b"));
+        assertEquals(2, count.get());
+    }
+
+    public void testGetWaitsForCreation() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final OnceCache<String, Object> cache = new OnceCache<String, Object>() {
+            @Override
+            protected Object create(final String key) {
+                count.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return new Object();
+            }
+        };
+        final List<Object> results = new ArrayList<Object>();
+        Runnable getter = new Runnable() {
+            @Override
+            public void run() {
+                Object value = cache.get("a");
+                synchronized (results) {
+                    results.add(value);
+                }
+            }
+        };
+        Thread first = new Thread(getter);
+        first.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Thread second = new Thread(getter);
+        second.start();
+        release.countDown();
+        first.join(10000);
+        second.join(10000);
+
+        assertEquals(1, count.get());
+        assertEquals(2, results.size());
+        assertSame(results.get(0), results.get(1));
+    }
+
+    public void testGetRetriesAfterFailure() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        OnceCache<String, Object> cache = new OnceCache<String, Object>() {
+            @Override
+            protected Object create(final String key) {
+                if (count.incrementAndGet() == 1) {
+                    throw new IllegalArgumentException("first");
+                }
+                return key;
+            }
+        };
+        try {
+            cache.get("a");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("first", e.getMessage());
+        }
+        assertEquals("a", cache.get("a"));
+        assertEquals(2, count.get());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.annotation.DatePattern;
+import com.androidformenhancer.annotation.Digits;
+import com.androidformenhancer.annotation.Hiragana;
+import com.androidformenhancer.annotation.IntType;
+import com.androidformenhancer.annotation.Katakana;
+import com.androidformenhancer.annotation.MaxLength;
+import com.androidformenhancer.annotation.MaxValue;
+import com.androidformenhancer.annotation.MinValue;
+import com.androidformenhancer.annotation.Multibyte;
+import com.androidformenhancer.annotation.PastDate;
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.annotation.WidgetValue;
+
+import java.util.List;
+
+/**
+ * Same form as the DefaultForm of the Android tests, with the literal IDs
+ * instead of the resource IDs.
+ *
+ * @author Soichiro Kashima
+ */
+public class SampleForm {
+
+    /**
+     * IDs of the widgets.
+     */
+    public static final class Id {
+        public static final int NAME = 1;
+        public static final int HIRAGANA = 2;
+        public static final int KATAKANA = 3;
+        public static final int AGE = 4;
+        public static final int GENDER = 5;
+        public static final int GENDER_MALE = 51;
+        public static final int GENDER_FEMALE = 52;
+        public static final int PHONE = 6;
+        public static final int BIRTHDAY = 7;
+        public static final int CREDIT_CARD_COMPANY = 8;
+        public static final int GOT_TO_KNOW_BY = 9;
+
+        private Id() {
+        }
+    }
+
+    @Required
+    @Multibyte
+    @MaxLength(20)
+    @Widget(id = Id.NAME)
+    public String name;
+
+    @Hiragana
+    @MaxLength(20)
+    @Widget(id = Id.HIRAGANA, validateAfter = Id.NAME)
+    public String hiragana;
+
+    @Katakana
+    @MaxLength(20)
+    @Widget(id = Id.KATAKANA, validateAfter = Id.HIRAGANA)
+    public String katakana;
+
+    @IntType
+    @MinValue(20)
+    @MaxValue(100)
+    @Widget(id = Id.AGE, validateAfter = Id.KATAKANA)
+    public String age;
+
+    @Required
+    @Widget(id = Id.GENDER,
+            validateAfter = Id.AGE,
+            values = {
+                    @WidgetValue(id = Id.GENDER_MALE, value = "0"),
+                    @WidgetValue(id = Id.GENDER_FEMALE, value = "1")
+            })
+    public String gender;
+
+    @Digits
+    @Widget(id = Id.PHONE, validateAfter = Id.GENDER)
+    public String phone;
+
+    @Required
+    @DatePattern
+    @PastDate
+    @Widget(id = Id.BIRTHDAY, validateAfter = Id.PHONE)
+    public String birthday;
+
+    @Required(otherThanHead = true)
+    @Widget(id = Id.CREDIT_CARD_COMPANY, validateAfter = Id.BIRTHDAY)
+    public String creditCardCompany;
+
+    @Required(atLeast = 2)
+    @Widget(id = Id.GOT_TO_KNOW_BY,
+            validateAfter = Id.CREDIT_CARD_COMPANY,
+            values = {
+                    @WidgetValue(id = 91, value = "TV"),
+                    @WidgetValue(id = 92, value = "IN"),
+                    @WidgetValue(id = 93, value = "TW"),
+                    @WidgetValue(id = 94, value = "FB"),
+            })
+    public List<String> gotToKnowBy;
+}
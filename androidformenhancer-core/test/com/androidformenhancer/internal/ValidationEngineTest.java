@@ -0,0 +1,219 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.ValidationResult;
+import com.androidformenhancer.WidgetType;
+import com.androidformenhancer.annotation.MaxLength;
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.When;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.utils.IntMap;
+import com.androidformenhancer.validator.MaxLengthValidator;
+import com.androidformenhancer.validator.RequiredValidator;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the validation without the views and the resources.
+ *
+ * @author Soichiro Kashima
+ */
+public class ValidationEngineTest extends TestCase {
+
+    public static class Form {
+        @Required
+        @Widget(id = 1)
+        public String name;
+
+        @MaxLength(3)
+        @Widget(id = 2, validateAfter = 1)
+        public String code;
+    }
+
+    public static class ConditionalForm {
+        @Widget(id = 1)
+        public String name;
+
+        @Required(when = {
+                @When(id = 1, isNotEmpty = true)
+        })
+        @Widget(id = 2, validateAfter = 1)
+        public String code;
+    }
+
+    public static class InitializedForm {
+        @Widget(id = 1)
+        public String name = "default";
+
+        @Widget(id = 2)
+        public String code;
+    }
+
+    /**
+     * Reads the values from the map instead of the views.
+     */
+    private static class MapReader implements WidgetReader {
+        private IntMap<Object> mValues = new IntMap<Object>();
+        private boolean mFails;
+
+        @Override
+        public WidgetType getWidgetType(final int id) {
+            return mValues.indexOfKey(id) < 0 ? null : WidgetType.TEXT;
+        }
+
+        @Override
+        public Object readValue(final int id, final WidgetType type,
+                                final FormMetadata.WidgetField widgetField) {
+            if (mFails && id == 2) {
+                throw new IllegalStateException("Failed to read " + id);
+            }
+            return mValues.get(id);
+        }
+    }
+
+    public void testValidate() throws Exception {
+        ValidationEngine engine = newEngine();
+        MapReader reader = new MapReader();
+        reader.mValues.put(1, "");
+        reader.mValues.put(2, "abcd");
+        engine.extract(reader);
+
+        ValidationResult result = engine.validate();
+        assertEquals("name is required", result.getErrorsFor(1).get(0));
+        assertEquals("code must be less than 3 characters",
+                result.getErrorsFor(2).get(0));
+
+        engine.setStopPolicy(ValidationEngine.STOP_POLICY_STOP_ALL_IF_ANY);
+        result = engine.validate();
+        assertTrue(result.hasErrorFor(1));
+        assertFalse(result.hasErrorFor(2));
+    }
+
+    public void testExtractField() throws Exception {
+        ValidationEngine engine = newEngine();
+        MapReader reader = new MapReader();
+        reader.mValues.put(1, "");
+        reader.mValues.put(2, "abc");
+        engine.extract(reader);
+        Form form = (Form) engine.getForm();
+        assertTrue(engine.validate(1).hasErrorFor(1));
+
+        reader.mValues.put(1, "a");
+        assertTrue(engine.extractField(1));
+        assertFalse(engine.extractField(1));
+        assertFalse(engine.validate(1).hasErrorFor(1));
+        assertEquals("a", ((Form) engine.getForm()).name);
+        assertEquals("", form.name);
+    }
+
+    public void testExtractWithoutWidget() throws Exception {
+        ValidationEngine engine = newEngine();
+        MapReader reader = new MapReader();
+        reader.mValues.put(1, "a");
+        reader.mValues.put(2, "abcd");
+        engine.extract(reader);
+        assertEquals("abcd", ((Form) engine.getForm()).code);
+
+        reader.mValues.remove(2);
+        engine.extract(reader);
+        assertNull(((Form) engine.getForm()).code);
+        assertNull(engine.getFieldData(2));
+        assertFalse(engine.validate().hasError());
+    }
+
+    public void testExtractInitialValues() throws Exception {
+        ValidationEngine engine = new ValidationEngine(InitializedForm.class);
+        MapReader reader = new MapReader();
+        reader.mValues.put(2, "a");
+        engine.extract(reader);
+        assertEquals("default", ((InitializedForm) engine.getForm()).name);
+
+        reader.mValues.put(1, "b");
+        engine.extract(reader);
+        assertEquals("b", ((InitializedForm) engine.getForm()).name);
+
+        // Same as a new form object
+        reader.mValues.put(1, null);
+        engine.extract(reader);
+        assertEquals("default", ((InitializedForm) engine.getForm()).name);
+
+        reader.mValues.put(1, "b");
+        engine.extract(reader);
+        reader.mValues.remove(1);
+        engine.extract(reader);
+        assertEquals("default", ((InitializedForm) engine.getForm()).name);
+        assertEquals("a", ((InitializedForm) engine.getForm()).code);
+    }
+
+    public void testExtractAfterFailure() throws Exception {
+        ValidationEngine engine = newEngine();
+        MapReader reader = new MapReader();
+        reader.mValues.put(1, "a");
+        reader.mValues.put(2, "abcd");
+        engine.extract(reader);
+
+        // Fails after the name has been updated
+        reader.mValues.put(1, "");
+        reader.mFails = true;
+        try {
+            engine.extract(reader);
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        reader.mFails = false;
+        engine.extract(reader);
+        Form form = (Form) engine.getForm();
+        assertEquals("", form.name);
+        assertEquals("abcd", form.code);
+        ValidationResult result = engine.validate();
+        assertTrue(result.hasErrorFor(1));
+        assertTrue(result.hasErrorFor(2));
+    }
+
+    public void testShareValidators() throws Exception {
+        RequiredValidator validator = new RequiredValidator();
+        ValidationEngine engine1 = new ValidationEngine(ConditionalForm.class);
+        engine1.addValidator(validator);
+        ValidationEngine engine2 = new ValidationEngine(ConditionalForm.class);
+        engine2.addValidator(validator);
+
+        MapReader reader1 = new MapReader();
+        reader1.mValues.put(1, "a");
+        reader1.mValues.put(2, "");
+        engine1.extract(reader1);
+        MapReader reader2 = new MapReader();
+        reader2.mValues.put(1, "");
+        reader2.mValues.put(2, "");
+        engine2.extract(reader2);
+
+        // Each engine gives its own field data to the shared validator
+        assertTrue(engine1.validate().hasErrorFor(2));
+        assertFalse(engine2.validate().hasErrorFor(2));
+        assertTrue(engine1.validate().hasErrorFor(2));
+    }
+
+    private static ValidationEngine newEngine() {
+        ValidationEngine engine = new ValidationEngine(Form.class);
+        engine.addValidator(new RequiredValidator());
+        engine.addValidator(new MaxLengthValidator());
+        return engine;
+    }
+
+}
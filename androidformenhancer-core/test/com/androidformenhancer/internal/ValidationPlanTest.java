@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import com.androidformenhancer.annotation.Email;
+import com.androidformenhancer.annotation.MaxLength;
+import com.androidformenhancer.annotation.Multibyte;
+import com.androidformenhancer.annotation.Required;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class ValidationPlanTest extends TestCase {
+
+    public void testGetSteps() throws Exception {
+        List<Class<? extends Annotation>> annotationClasses = new ArrayList<Class<? extends Annotation>>();
+        annotationClasses.add(MaxLength.class);
+        annotationClasses.add(Email.class);
+        annotationClasses.add(Required.class);
+        annotationClasses.add(Multibyte.class);
+        FormMetadata metadata = FormMetadata.get(SampleForm.class);
+        ValidationPlan plan = ValidationPlan.get(metadata, annotationClasses);
+        assertSame(plan, ValidationPlan.get(metadata, annotationClasses));
+
+        // Ordered by the registry, not by the field declaration
+        ValidationPlan.Step[] steps = plan.getSteps(SampleForm.Id.NAME);
+        assertEquals(3, steps.length);
+        assertEquals(0, steps[0].getValidatorIndex());
+        assertTrue(steps[0].getAnnotation() instanceof MaxLength);
+        assertEquals(2, steps[1].getValidatorIndex());
+        assertTrue(steps[1].getAnnotation() instanceof Required);
+        assertEquals(3, steps[2].getValidatorIndex());
+        assertTrue(steps[2].getAnnotation() instanceof Multibyte);
+
+        assertEquals(0, plan.getSteps(SampleForm.Id.PHONE).length);
+        assertEquals(0, plan.getSteps(0).length);
+    }
+
+    public void testGetAnnotations() throws Exception {
+        List<Class<? extends Annotation>> annotationClasses = new ArrayList<Class<? extends Annotation>>();
+        annotationClasses.add(Required.class);
+        ValidationPlan plan = ValidationPlan.get(FormMetadata.get(SampleForm.class), annotationClasses);
+        assertEquals(5, plan.getAnnotations(Required.class).length);
+        assertEquals(0, plan.getAnnotations(MaxLength.class).length);
+    }
+
+}
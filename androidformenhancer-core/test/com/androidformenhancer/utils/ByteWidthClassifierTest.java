@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import junit.framework.TestCase;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class ByteWidthClassifierTest extends TestCase {
+
+    public void testGetByteWidth() throws Exception {
+        assertByteWidthsOfBmp("UTF-8");
+        assertByteWidthsOfBmp("SJIS");
+    }
+
+    public void testIsSinglebyte() throws Exception {
+        ByteWidthClassifier classifier = ByteWidthClassifier.get("UTF-8");
+        assertTrue(classifier.isSinglebyte(""));
+        assertTrue(classifier.isSinglebyte("a1 "));
+        assertFalse(classifier.isSinglebyte("a　"));
+        assertFalse(classifier.isSinglebyte("あ1"));
+        assertFalse(classifier.isSinglebyte("𠮷"));
+    }
+
+    public void testIsMultibyte() throws Exception {
+        ByteWidthClassifier classifier = ByteWidthClassifier.get("SJIS");
+        assertTrue(classifier.isMultibyte("あ予定表　"));
+        assertTrue(classifier.isMultibyte("あ𠮷"));
+        assertFalse(classifier.isMultibyte("あ1"));
+        assertFalse(classifier.isMultibyte("ｱ"));
+    }
+
+    public void testGet() throws Exception {
+        assertSame(ByteWidthClassifier.get("UTF-8"), ByteWidthClassifier.get("UTF-8"));
+        assertEquals("SJIS", ByteWidthClassifier.get("SJIS").getEncoding());
+        try {
+            ByteWidthClassifier.get("FOO");
+            fail();
+        } catch (UnsupportedEncodingException e) {
+            assertEquals("FOO", e.getMessage());
+        }
+    }
+
+    private static void assertByteWidthsOfBmp(final String encoding) throws Exception {
+        ByteWidthClassifier classifier = ByteWidthClassifier.get(encoding);
+        for (int i = Character.MIN_VALUE; i <= Character.MAX_VALUE; i++) {
+            char c = (char) i;
+            assertEquals(encoding + ": " + Integer.toHexString(i),
+                    String.valueOf(c).getBytes(encoding).length,
+                    classifier.getByteWidth(c));
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class CharClassTest extends TestCase {
+
+    public void testMatchesAll() throws Exception {
+        CharClass charClass = new CharClass.Builder()
+                .addRange('a', 'c')
+                .addChars("xあ")
+                .build();
+        assertTrue(charClass.matchesAll("a"));
+        assertTrue(charClass.matchesAll("abcxあ"));
+        assertFalse(charClass.matchesAll(null));
+        assertFalse(charClass.matchesAll(""));
+        assertFalse(charClass.matchesAll("d"));
+        assertFalse(charClass.matchesAll("ab "));
+        assertFalse(charClass.matchesAll("ab\n"));
+        assertFalse(charClass.matchesAll("い"));
+        assertFalse(charClass.matchesAll(new String(Character.toChars(0x20000))));
+    }
+
+    public void testContains() throws Exception {
+        CharClass charClass = new CharClass.Builder().addRange('0', '9').build();
+        assertTrue(charClass.contains('0'));
+        assertTrue(charClass.contains('9'));
+        assertFalse(charClass.contains('/'));
+        assertFalse(charClass.contains(':'));
+        assertFalse(charClass.contains('１'));
+    }
+
+    public void testEmpty() throws Exception {
+        CharClass charClass = new CharClass.Builder().build();
+        assertFalse(charClass.contains('a'));
+        assertFalse(charClass.contains(Character.MIN_VALUE));
+        assertFalse(charClass.contains(Character.MAX_VALUE));
+        assertFalse(charClass.matchesAll("a"));
+    }
+
+}
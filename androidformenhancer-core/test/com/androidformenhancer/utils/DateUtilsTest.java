@@ -0,0 +1,115 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import junit.framework.TestCase;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class DateUtilsTest extends TestCase {
+
+    private Locale mDefaultLocale;
+    private TimeZone mDefaultTimeZone;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mDefaultLocale = Locale.getDefault();
+        mDefaultTimeZone = TimeZone.getDefault();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Locale.setDefault(mDefaultLocale);
+        TimeZone.setDefault(mDefaultTimeZone);
+        super.tearDown();
+    }
+
+    public void testParse() throws Exception {
+        Calendar c = Calendar.getInstance();
+        c.setTime(DateUtils.parse("yyyy.MM.dd", "2000.2.29"));
+        assertEquals(2000, c.get(Calendar.YEAR));
+        assertEquals(Calendar.FEBRUARY, c.get(Calendar.MONTH));
+        assertEquals(29, c.get(Calendar.DAY_OF_MONTH));
+        try {
+            DateUtils.parse("yyyy.MM.dd", "2001.2.29");
+            fail();
+        } catch (ParseException e) {
+        }
+    }
+
+    public void testGetDateFormat() throws Exception {
+        assertSame(DateUtils.getDateFormat("yyyy.MM.dd"), DateUtils.getDateFormat("yyyy.MM.dd"));
+        assertSame(DateUtils.getDateFormat(""), DateUtils.getDateFormat(null));
+        assertFalse(DateUtils.getDateFormat("yyyy.MM.dd").isLenient());
+    }
+
+    public void testLocaleChange() throws Exception {
+        Locale.setDefault(Locale.US);
+        DateFormat us = DateUtils.getDateFormat("");
+        DateUtils.parse("", "12/31/2000");
+
+        Locale.setDefault(Locale.JAPAN);
+        assertNotSame(us, DateUtils.getDateFormat(""));
+        DateUtils.parse("", "2000/12/31");
+        try {
+            DateUtils.parse("", "12/31/2000");
+            fail();
+        } catch (ParseException e) {
+        }
+    }
+
+    public void testDayBoundary() throws Exception {
+        final long now = System.currentTimeMillis();
+        final long startOfToday = DateUtils.getStartOfToday();
+        final long startOfTomorrow = DateUtils.getStartOfTomorrow();
+        assertTrue(startOfToday <= now);
+        assertTrue(now < startOfTomorrow);
+
+        Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(startOfToday);
+        assertEquals(0, c.get(Calendar.HOUR_OF_DAY));
+        assertEquals(0, c.get(Calendar.MINUTE));
+        assertEquals(0, c.get(Calendar.SECOND));
+        assertEquals(0, c.get(Calendar.MILLISECOND));
+        c.add(Calendar.DAY_OF_MONTH, 1);
+        assertEquals(startOfTomorrow, c.getTimeInMillis());
+    }
+
+    public void testTimeZoneChange() throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+        final long startOfTodayInTokyo = DateUtils.getStartOfToday();
+        final long parsedInTokyo = DateUtils.parse("yyyy.MM.dd", "2000.01.01").getTime();
+
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        final long startOfToday = DateUtils.getStartOfToday();
+        Calendar c = Calendar.getInstance();
+        c.setTimeInMillis(startOfToday);
+        assertEquals(0, c.get(Calendar.HOUR_OF_DAY));
+        assertTrue(startOfToday != startOfTodayInTokyo);
+        assertEquals(14 * 60 * 60 * 1000L,
+                DateUtils.parse("yyyy.MM.dd", "2000.01.01").getTime() - parsedInTokyo);
+    }
+
+}
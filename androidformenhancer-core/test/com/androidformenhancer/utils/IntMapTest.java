@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class IntMapTest extends TestCase {
+
+    public void testPutAndGet() throws Exception {
+        IntMap<String> map = new IntMap<String>();
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+        assertEquals("default", map.get(1, "default"));
+
+        map.put(3, "c");
+        map.put(1, "a");
+        map.put(2, "b");
+        assertEquals(3, map.size());
+        assertEquals("a", map.get(1));
+        assertEquals("b", map.get(2));
+        assertEquals("c", map.get(3));
+
+        // Replaced
+        map.put(2, "B");
+        assertEquals(3, map.size());
+        assertEquals("B", map.get(2));
+    }
+
+    public void testOrder() throws Exception {
+        IntMap<String> map = new IntMap<String>(2);
+        map.put(30, "c");
+        map.put(-10, "z");
+        map.put(10, "a");
+        map.put(20, "b");
+        int[] expectedKeys = new int[] {
+                -10, 10, 20, 30
+        };
+        String[] expectedValues = new String[] {
+                "z", "a", "b", "c"
+        };
+        assertEquals(expectedKeys.length, map.size());
+        for (int i = 0; i < expectedKeys.length; i++) {
+            assertEquals(expectedKeys[i], map.keyAt(i));
+            assertEquals(expectedValues[i], map.valueAt(i));
+            assertEquals(i, map.indexOfKey(expectedKeys[i]));
+        }
+        assertTrue(map.indexOfKey(15) < 0);
+    }
+
+    public void testRemoveAndClear() throws Exception {
+        IntMap<String> map = new IntMap<String>();
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(3, "c");
+
+        map.remove(2);
+        assertEquals(2, map.size());
+        assertNull(map.get(2));
+        assertEquals(3, map.keyAt(1));
+
+        // Not found
+        map.remove(4);
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.utils;
+
+import java.util.regex.PatternSyntaxException;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class PatternCacheTest extends TestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        PatternCache.clear();
+    }
+
+    public void testMatches() throws Exception {
+        assertTrue(PatternCache.matches("^[0-9]+$", "123"));
+        assertEquals(0, PatternCache.getHitCount());
+        assertEquals(1, PatternCache.getMissCount());
+
+        assertFalse(PatternCache.matches("^[0-9]+$", "12a"));
+        assertFalse(PatternCache.matches("^[0-9]+$", "123\n"));
+        assertTrue(PatternCache.matches("[0-9]+", "123"));
+        assertEquals(2, PatternCache.getHitCount());
+        assertEquals(2, PatternCache.getMissCount());
+        assertSame(PatternCache.get("[0-9]+"), PatternCache.get("[0-9]+"));
+    }
+
+    public void testPrecompile() throws Exception {
+        PatternCache.precompile("^a+$");
+        PatternCache.precompile("(");
+        PatternCache.precompile(null);
+        assertEquals(0, PatternCache.getMissCount());
+        assertTrue(PatternCache.matches("^a+$", "aaa"));
+        assertEquals(1, PatternCache.getHitCount());
+        assertEquals(0, PatternCache.getMissCount());
+        try {
+            PatternCache.matches("(", "a");
+        } catch (PatternSyntaxException e) {
+            return;
+        }
+        fail();
+    }
+
+    public void testEviction() throws Exception {
+        for (int i = 0; i < PatternCache.MAX_SIZE + 1; i++) {
+            PatternCache.get("a{" + i + "}");
+        }
+        // The eldest one has been evicted
+        PatternCache.get("a{0}");
+        assertEquals(0, PatternCache.getHitCount());
+        assertEquals(PatternCache.MAX_SIZE + 2, PatternCache.getMissCount());
+    }
+
+}
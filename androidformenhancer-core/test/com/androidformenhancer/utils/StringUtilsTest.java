@@ -26,6 +26,13 @@ import junit.framework.TestCase;
  */
 public class StringUtilsTest extends TestCase {
 
+    public void testIsEmpty() throws Exception {
+        assertTrue(StringUtils.isEmpty(null));
+        assertTrue(StringUtils.isEmpty(""));
+        assertFalse(StringUtils.isEmpty(" "));
+        assertFalse(StringUtils.isEmpty("a"));
+    }
+
     public void testSerialize() throws Exception {
         assertEquals("", StringUtils.serialize(null));
         List<String> errorMessages = new ArrayList<String>();
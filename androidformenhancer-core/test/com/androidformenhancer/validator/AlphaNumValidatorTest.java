@@ -25,7 +25,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for AlphaNumValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -46,7 +46,7 @@ public class AlphaNumValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         AlphaNumValidator validator = new AlphaNumValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
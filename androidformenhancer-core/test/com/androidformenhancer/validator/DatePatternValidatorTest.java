@@ -26,7 +26,7 @@ import java.util.Locale;
 
 /**
  * Test case for DatePatternValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -47,7 +47,7 @@ public class DatePatternValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         DatePatternValidator validator = new DatePatternValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
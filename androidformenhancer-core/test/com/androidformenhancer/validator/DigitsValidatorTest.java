@@ -25,7 +25,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for DigitsValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -40,9 +40,36 @@ public class DigitsValidatorTest extends ValidatorTest {
         public String a;
     }
 
+    /**
+     * Validator which overrides the regular expression.
+     */
+    public static class HexDigitsValidator extends DigitsValidator {
+        @Override
+        protected String getRegex(final Digits annotation) {
+            return "^[0-9a-f]+$";
+        }
+    }
+
+    public void testValidateWithOverriddenRegex() throws Exception {
+        DigitsValidator validator = new HexDigitsValidator();
+        setMessageSource(validator);
+
+        Field field = Foo.class.getDeclaredField("a");
+        FieldData fieldData = new FieldData(field, WidgetType.TEXT);
+
+        fieldData.setValue("123");
+        validate(validator, fieldData, true);
+
+        fieldData.setValue("1af");
+        validate(validator, fieldData, true);
+
+        fieldData.setValue("1ag");
+        validate(validator, fieldData, false);
+    }
+
     public void testValidate() throws Exception {
         DigitsValidator validator = new DigitsValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
@@ -17,6 +17,7 @@
 package com.androidformenhancer.validator;
 
 import com.androidformenhancer.FieldData;
+import com.androidformenhancer.ResourceSource;
 import com.androidformenhancer.WidgetType;
 import com.androidformenhancer.annotation.Email;
 import com.androidformenhancer.annotation.Widget;
@@ -25,7 +26,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for EmailValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -42,7 +43,7 @@ public class EmailValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         EmailValidator validator = new EmailValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
@@ -114,4 +115,37 @@ public class EmailValidatorTest extends ValidatorTest {
         validate(validator, fieldData, true);
     }
 
+    public void testCustomPattern() throws Exception {
+        EmailValidator validator = new EmailValidator();
+        setMessageSource(validator);
+        validator.setResourceSource(new ResourceSource() {
+            @Override
+            public String getString(final int resId, final Object... params) {
+                return null;
+            }
+
+            @Override
+            public String getCharacterEncoding() {
+                return null;
+            }
+
+            @Override
+            public String getEmailPattern() {
+                return "^[a-z]+@example\\.com$";
+            }
+        });
+
+        Field field = Foo.class.getDeclaredField("a");
+        FieldData fieldData = new FieldData(field, WidgetType.TEXT);
+
+        fieldData.setValue("a@example.com");
+        validate(validator, fieldData, true);
+
+        fieldData.setValue("a@a.b");
+        validate(validator, fieldData, false);
+
+        setMessageSource(validator);
+        validate(validator, fieldData, true);
+    }
+
 }
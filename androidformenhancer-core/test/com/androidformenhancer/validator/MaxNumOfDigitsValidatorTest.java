@@ -25,7 +25,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for MaxNumOfDigitsValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -42,7 +42,7 @@ public class MaxNumOfDigitsValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         MaxNumOfDigitsValidator validator = new MaxNumOfDigitsValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
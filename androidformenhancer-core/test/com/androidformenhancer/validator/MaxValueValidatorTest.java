@@ -25,7 +25,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for MaxValueValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -50,7 +50,7 @@ public class MaxValueValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         MaxValueValidator validator = new MaxValueValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
@@ -25,7 +25,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for MinValueValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -50,7 +50,7 @@ public class MinValueValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         MinValueValidator validator = new MinValueValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
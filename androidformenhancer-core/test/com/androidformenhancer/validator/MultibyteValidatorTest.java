@@ -25,7 +25,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for MultibyteValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -42,7 +42,7 @@ public class MultibyteValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         MultibyteValidator validator = new MultibyteValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
@@ -74,7 +74,8 @@ public class MultibyteValidatorTest extends ValidatorTest {
         fieldData.setValue("あ𠮷");
         validate(validator, fieldData, true);
 
-        validator.setEncoding("SJIS");
+        validator = new MultibyteValidator("SJIS");
+        setMessageSource(validator);
 
         fieldData.setValue(new String("あ".getBytes("SJIS"), "SJIS"));
         validate(validator, fieldData, true);
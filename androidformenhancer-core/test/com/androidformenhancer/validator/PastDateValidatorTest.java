@@ -29,7 +29,7 @@ import java.util.Locale;
 
 /**
  * Test case for PastDateValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -54,7 +54,7 @@ public class PastDateValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         PastDateValidator validator = new PastDateValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
@@ -17,6 +17,7 @@
 package com.androidformenhancer.validator;
 
 import com.androidformenhancer.FieldData;
+import com.androidformenhancer.ResourceSource;
 import com.androidformenhancer.ValidationException;
 import com.androidformenhancer.WidgetType;
 import com.androidformenhancer.annotation.Singlebyte;
@@ -26,7 +27,7 @@ import java.lang.reflect.Field;
 
 /**
  * Test case for MultibyteValidator.<br>
- * Include AndroidFormEnhancer project as library and run as Android JUnit test.
+ * Run as JUnit test of androidformenhancer-core.
  * 
  * @author Soichiro Kashima
  */
@@ -43,7 +44,7 @@ public class SinglebyteValidatorTest extends ValidatorTest {
 
     public void testValidate() throws Exception {
         SinglebyteValidator validator = new SinglebyteValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
 
         Field field = Foo.class.getDeclaredField("a");
         FieldData fieldData = new FieldData(field, WidgetType.TEXT);
@@ -78,7 +79,8 @@ public class SinglebyteValidatorTest extends ValidatorTest {
         fieldData.setValue("𠮷");
         validate(validator, fieldData, false);
 
-        validator.setEncoding("SJIS");
+        validator = new SinglebyteValidator("SJIS");
+        setMessageSource(validator);
 
         fieldData.setValue(new String("1".getBytes("SJIS"), "SJIS"));
         validate(validator, fieldData, true);
@@ -94,28 +96,44 @@ public class SinglebyteValidatorTest extends ValidatorTest {
     }
 
     public void testEncoding() throws Throwable {
-        SinglebyteValidator validator = new SinglebyteValidator();
-        validator.setEncoding("UTF-8");
-        assertEquals("UTF-8", validator.getEncoding());
+        SinglebyteValidator validator = new SinglebyteValidator("Shift_JIS");
+        assertEquals("Shift_JIS", validator.getEncoding());
+        setMessageSource(validator);
+        assertEquals("Shift_JIS", validator.getEncoding());
     }
 
-    public void testSetContext() {
+    public void testSetResourceSource() {
         SinglebyteValidator validator = new SinglebyteValidator();
-        validator.setContext(getInstrumentation().getContext());
+        setMessageSource(validator);
+        assertEquals("UTF-8", validator.getEncoding());
 
-        validator.setEncoding("UTF-8");
-        validator.setContext(getInstrumentation().getContext());
+        validator.setResourceSource(new ResourceSource() {
+            @Override
+            public String getString(final int resId, final Object... params) {
+                return null;
+            }
+
+            @Override
+            public String getCharacterEncoding() {
+                return "Shift_JIS";
+            }
+
+            @Override
+            public String getEmailPattern() {
+                return null;
+            }
+        });
+        assertEquals("Shift_JIS", validator.getEncoding());
     }
 
     public void testUnsupportedEncoding() throws Throwable {
         try {
-            SinglebyteValidator validator = new SinglebyteValidator();
-            validator.setContext(getInstrumentation().getContext());
+            SinglebyteValidator validator = new SinglebyteValidator("FOO");
+            setMessageSource(validator);
 
             Field field = Foo.class.getDeclaredField("a");
             FieldData fieldData = new FieldData(field, WidgetType.TEXT);
 
-            validator.setEncoding("FOO");
             fieldData.setValue("a");
             validate(validator, fieldData, true);
         } catch (ValidationException e) {
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.validator;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.internal.DefaultMessageSource;
+
+import junit.framework.TestCase;
+
+/**
+ * Convenience class for testing validators.
+ * 
+ * @author Soichiro Kashima
+ */
+public class ValidatorTest extends TestCase {
+
+    /**
+     * Gives the default messages and resources to the validator,
+     * as the validators used without Android have.
+     *
+     * @param validator validator to set up
+     */
+    public void setMessageSource(final BaseValidator<?> validator) {
+        validator.setMessageSource(DefaultMessageSource.INSTANCE);
+        validator.setResourceSource(DefaultMessageSource.INSTANCE);
+    }
+
+    public void validate(final BaseValidator<?> validator, final FieldData fieldData,
+            final boolean expectValid)
+            throws Exception {
+        String errorMessage = validator.validate(fieldData);
+        if (expectValid) {
+            assertNull(errorMessage);
+        } else {
+            assertNotNull(errorMessage);
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+import android.content.Context;
+import android.test.InstrumentationTestCase;
+
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.internal.FormMetadata;
+import com.androidformenhancer.test.DefaultForm;
+
+import java.util.concurrent.Executor;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class AndroidFormEnhancerTest extends InstrumentationTestCase {
+
+    public static class CircularForm {
+        @Widget(id = 1, validateAfter = 2)
+        public String a;
+
+        @Widget(id = 2, validateAfter = 1)
+        public String b;
+    }
+
+    public void testPreload() throws Exception {
+        Context context = getInstrumentation().getContext();
+        final int[] executed = new int[1];
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executed[0]++;
+                command.run();
+            }
+        };
+        // Invalid forms are only logged
+        AndroidFormEnhancer.preload(executor, context, CircularForm.class, DefaultForm.class);
+        assertEquals(1, executed[0]);
+        assertEquals(DefaultForm.class, FormMetadata.get(DefaultForm.class).getFormClass());
+    }
+}
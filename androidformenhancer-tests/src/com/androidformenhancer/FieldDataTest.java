@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.internal.AnnotationSlots;
+
+import junit.framework.TestCase;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class FieldDataTest extends TestCase {
+
+    public static class Form {
+        @Required
+        @Widget(id = 1)
+        public String name;
+
+        @Widget(id = 2)
+        public List<String> tags;
+
+        public String noWidget;
+    }
+
+    public void testFieldSpec() throws Exception {
+        FieldSpec spec = new FieldSpec(Form.class.getField("name"));
+        assertEquals(1, spec.getId());
+        assertEquals("name", spec.getName());
+        assertEquals(1, spec.getWidget().id());
+        assertFalse(spec.isArray());
+        assertNotNull(spec.getAnnotation(Required.class));
+        assertTrue(new FieldSpec(Form.class.getField("tags")).isArray());
+        try {
+            new FieldSpec(Form.class.getField("noWidget"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    public void testAnnotationSlots() throws Exception {
+        FieldSpec spec = new FieldSpec(Form.class.getField("name"));
+        int requiredSlot = AnnotationSlots.get(Required.class);
+        int widgetSlot = AnnotationSlots.get(Widget.class);
+        assertEquals(requiredSlot, AnnotationSlots.get(Required.class));
+        assertSame(spec.getAnnotation(Required.class), spec.getAnnotation(requiredSlot));
+        assertSame(spec.getWidget(), spec.getAnnotation(widgetSlot));
+        assertNull(spec.getAnnotation(AnnotationSlots.get(Deprecated.class)));
+        assertEquals(AnnotationSlots.getMaskBit(requiredSlot) | AnnotationSlots.getMaskBit(widgetSlot),
+                spec.getSlotMask());
+
+        FieldSpec tags = new FieldSpec(Form.class.getField("tags"));
+        assertNull(tags.getAnnotation(requiredSlot));
+        assertEquals(0, tags.getSlotMask() & AnnotationSlots.getMaskBit(requiredSlot));
+    }
+
+    public void testSharedSpec() throws Exception {
+        FieldSpec spec = new FieldSpec(Form.class.getField("name"));
+        FieldData a = new FieldData(spec, WidgetType.TEXT, "a");
+        FieldData b = new FieldData(spec, WidgetType.TEXT, "b");
+        assertSame(a.getSpec(), b.getSpec());
+        assertEquals("a", a.getValueAsString());
+        assertEquals("b", b.getValueAsString());
+
+        // Setters do not affect the shared spec
+        a.setId(3);
+        a.setName("renamed");
+        a.setArray(true);
+        assertEquals(3, a.getId());
+        assertEquals("renamed", a.getName());
+        assertTrue(a.isArray());
+        assertEquals(1, b.getId());
+        assertEquals("name", b.getName());
+        assertFalse(b.isArray());
+        assertEquals(1, spec.getId());
+    }
+
+    public void testSetAnnotations() throws Exception {
+        FieldData fieldData = new FieldData(Form.class.getField("tags"), WidgetType.CHECKBOX);
+        assertNull(fieldData.getAnnotation(Required.class));
+        Annotation required = Form.class.getField("name").getAnnotation(Required.class);
+        fieldData.setAnnotations(new Annotation[]{
+                required
+        });
+        assertSame(required, fieldData.getAnnotation(Required.class));
+        assertEquals(2, fieldData.getWidget().id());
+    }
+
+    public void testCopy() throws Exception {
+        List<String> tags = new ArrayList<String>(Arrays.asList("a"));
+        FieldData source = new FieldData(Form.class.getField("tags"), WidgetType.CHECKBOX, tags);
+        FieldData copy = new FieldData(source);
+        tags.add("b");
+        assertSame(source.getSpec(), copy.getSpec());
+        assertEquals(Arrays.asList("a"), copy.getValueAsStringList());
+        assertEquals(WidgetType.CHECKBOX, copy.getWidgetType());
+    }
+}
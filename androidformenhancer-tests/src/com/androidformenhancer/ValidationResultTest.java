@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class ValidationResultTest extends TestCase {
+
+    public void testValidatedIds() {
+        ValidationResult result = new ValidationResult();
+        for (int i = 0; i < 20; i++) {
+            result.addValidatedId(100 - i);
+        }
+        assertEquals(20, result.getValidatedIdCount());
+        assertEquals(100, result.getValidatedIdAt(0));
+        assertEquals(81, result.getValidatedIdAt(19));
+        assertEquals(20, result.getValidatedIds().size());
+        assertEquals(Integer.valueOf(100), result.getValidatedIds().get(0));
+        try {
+            result.getValidatedIdAt(20);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // Expected
+        }
+    }
+
+    public void testErrors() {
+        ValidationResult result = new ValidationResult();
+        assertFalse(result.hasError());
+        result.addError(3, "a");
+        result.addError(1, "b");
+        result.addError(3, "c");
+        assertTrue(result.hasError());
+        assertTrue(result.hasErrorFor(3));
+        assertFalse(result.hasErrorFor(2));
+        assertEquals(Arrays.asList("a", "c"), result.getErrorsFor(3));
+        assertEquals(Arrays.asList(3, 1), new ArrayList<Integer>(result.getErrorIds()));
+        assertEquals(Arrays.asList("a", "c", "b"), result.getAllErrors());
+        assertEquals("a\nc\nb", result.getAllSerializedErrors());
+    }
+
+    public void testGetErrorsForWithoutErrors() {
+        ValidationResult result = new ValidationResult();
+        assertTrue(result.getErrorsFor(1).isEmpty());
+        assertSame(result.getErrorsFor(1), new ValidationResult().getErrorsFor(2));
+        try {
+            result.getErrorsFor(1).add("a");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+    }
+
+    public void testReset() {
+        ValidationResult result = new ValidationResult();
+        result.addValidatedId(1);
+        result.addError(1, "a");
+        assertEquals(1, result.getValidatedIds().size());
+        assertEquals(1, result.getErrorIds().size());
+        result.reset();
+        assertEquals(0, result.getValidatedIdCount());
+        assertTrue(result.getValidatedIds().isEmpty());
+        assertFalse(result.hasError());
+        assertFalse(result.hasErrorFor(1));
+        assertTrue(result.getErrorIds().isEmpty());
+        result.addError(2, "b");
+        assertEquals(Arrays.asList("b"), result.getErrorsFor(2));
+    }
+
+    public void testObtainAndRecycle() {
+        ValidationResult result = ValidationResult.obtain();
+        result.addValidatedId(1);
+        result.addError(1, "a");
+        result.recycle();
+        try {
+            result.recycle();
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        ValidationResult obtained = ValidationResult.obtain();
+        assertSame(result, obtained);
+        assertEquals(0, obtained.getValidatedIdCount());
+        assertFalse(obtained.hasError());
+        obtained.recycle();
+    }
+}
@@ -1,13 +1,25 @@
 package com.androidformenhancer.helper;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.test.ActivityInstrumentationTestCase2;
+import android.widget.EditText;
 
 import com.androidformenhancer.R;
+import com.androidformenhancer.ValidationResult;
 import com.androidformenhancer.internal.ValidationManager;
 import com.androidformenhancer.test.DefaultActivity;
 import com.androidformenhancer.test.DefaultEntity;
 import com.androidformenhancer.test.DefaultForm;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 public class FormHelperTest extends ActivityInstrumentationTestCase2<DefaultActivity> {
 
     private DefaultActivity activity;
@@ -34,6 +46,125 @@ public class FormHelperTest extends ActivityInstrumentationTestCase2<DefaultActi
         getInstrumentation().waitForIdleSync();
     }
 
+    public void testValidateAsync() throws Throwable {
+        final List<ValidationResult> results = new ArrayList<ValidationResult>();
+        final List<Runnable> tasks = new ArrayList<Runnable>();
+        final ValidationResult[] expected = new ValidationResult[1];
+        final FormHelper helper = new ActivityFormHelper(DefaultForm.class, activity);
+        final FormHelper.Callback callback = new FormHelper.Callback() {
+            @Override
+            public void onValidated(ValidationResult result) {
+                results.add(result);
+            }
+        };
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                expected[0] = helper.validate();
+                Executor executor = new Executor() {
+                    @Override
+                    public void execute(Runnable command) {
+                        tasks.add(command);
+                    }
+                };
+                // The first one is superseded by the second one
+                helper.validateAsync(executor, callback);
+                helper.validateAsync(executor, callback);
+            }
+        });
+        assertEquals(2, tasks.size());
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        for (Runnable task : tasks) {
+            executorService.execute(task);
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+        getInstrumentation().waitForIdleSync();
+
+        assertEquals(1, results.size());
+        assertEquals(expected[0].getValidatedIds(), results.get(0).getValidatedIds());
+        assertEquals(expected[0].getAllErrors(), results.get(0).getAllErrors());
+    }
+
+    public void testValidateAsyncWhileValidating() throws Throwable {
+        final int count = 50;
+        final List<ValidationResult> results = new ArrayList<ValidationResult>();
+        final List<ValidationResult> uiResults = new ArrayList<ValidationResult>();
+        final ValidationResult[] expected = new ValidationResult[1];
+        final FormHelper helper = new ActivityFormHelper(DefaultForm.class, activity);
+        final CountDownLatch latch = new CountDownLatch(count);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final FormHelper.Callback callback = new FormHelper.Callback() {
+            @Override
+            public void onValidated(ValidationResult result) {
+                results.add(result);
+                latch.countDown();
+            }
+        };
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                expected[0] = helper.validate();
+                // Validate repeatedly on the worker thread
+                helper.validateAsync(new Executor() {
+                    @Override
+                    public void execute(final Runnable command) {
+                        executorService.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                for (int i = 0; i < count; i++) {
+                                    command.run();
+                                }
+                            }
+                        });
+                    }
+                }, callback);
+                // The validators are shared with the worker thread
+                for (int i = 0; i < count; i++) {
+                    uiResults.add(helper.validate());
+                }
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executorService.shutdown();
+
+        assertFalse(expected[0].getAllErrors().isEmpty());
+        assertEquals(count, results.size());
+        for (ValidationResult result : results) {
+            assertEquals(expected[0].getAllErrors(), result.getAllErrors());
+        }
+        for (ValidationResult result : uiResults) {
+            assertEquals(expected[0].getAllErrors(), result.getAllErrors());
+        }
+    }
+
+    public void testSetOnTextChangeValidation() throws Throwable {
+        final long debounceMs = 100;
+        final FormHelper helper = new ActivityFormHelper(DefaultForm.class, activity);
+        final CountDownLatch latch = new CountDownLatch(1);
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                helper.setOnTextChangeValidation(debounceMs);
+                EditText name = (EditText) activity.findViewById(com.androidformenhancer.test.R.id.textfield_name);
+                name.setText("a");
+                name.setText("ab");
+                // Not validated until the text is stable
+                assertFalse("ab".equals(((DefaultForm) helper.getForm()).name));
+                // The sentinel runs after the pending validation which has
+                // been posted earlier with the same delay
+                new Handler(Looper.getMainLooper()).postDelayed(new Runnable() {
+                    @Override
+                    public void run() {
+                        latch.countDown();
+                    }
+                }, debounceMs);
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals("ab", ((DefaultForm) helper.getForm()).name);
+    }
+
     public void testShowAlertDialog() throws Throwable {
         runTestOnUiThread(new Runnable() {
             @Override
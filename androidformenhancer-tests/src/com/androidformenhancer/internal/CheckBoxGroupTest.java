@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.content.Context;
+import android.test.InstrumentationTestCase;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.CheckBox;
+import android.widget.LinearLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class CheckBoxGroupTest extends InstrumentationTestCase {
+
+    private Context mContext;
+    private LinearLayout mGroup;
+    private LinearLayout mNested;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mContext = getInstrumentation().getContext();
+        mGroup = new LinearLayout(mContext);
+        mGroup.addView(newCheckBox("a", true));
+        mGroup.addView(newCheckBox(null, true));
+        mNested = new LinearLayout(mContext);
+        mNested.addView(newCheckBox("b", false));
+        mNested.addView(newCheckBox("c", true));
+        mGroup.addView(mNested);
+    }
+
+    public void testAddCheckedValues() throws Exception {
+        CheckBoxGroup checkBoxGroup = new CheckBoxGroup(mGroup);
+        assertSame(mGroup, checkBoxGroup.getGroup());
+        assertEquals(Arrays.asList("a", "c"), getCheckedValues(checkBoxGroup));
+
+        // Checked state and tags are read every time
+        ((CheckBox) mNested.getChildAt(0)).setChecked(true);
+        mNested.getChildAt(1).setTag("d");
+        assertEquals(Arrays.asList("a", "b", "d"), getCheckedValues(checkBoxGroup));
+    }
+
+    public void testAddCheckedValuesAfterHierarchyChanged() throws Exception {
+        CheckBoxGroup checkBoxGroup = new CheckBoxGroup(mGroup);
+        assertEquals(Arrays.asList("a", "c"), getCheckedValues(checkBoxGroup));
+
+        mNested.addView(newCheckBox("e", true));
+        assertEquals(Arrays.asList("a", "c", "e"), getCheckedValues(checkBoxGroup));
+
+        mGroup.removeView(mNested);
+        assertEquals(Arrays.asList("a"), getCheckedValues(checkBoxGroup));
+        checkBoxGroup.release();
+    }
+
+    public void testAddCheckedValuesAfterReplaced() throws Exception {
+        CheckBoxGroup checkBoxGroup = new CheckBoxGroup(mGroup);
+        assertEquals(Arrays.asList("a", "c"), getCheckedValues(checkBoxGroup));
+
+        // The number of the children is not changed
+        mNested.removeView(mNested.getChildAt(1));
+        mNested.addView(newCheckBox("f", true));
+        assertEquals(Arrays.asList("a", "f"), getCheckedValues(checkBoxGroup));
+    }
+
+    public void testKeepHierarchyChangeListener() throws Exception {
+        final int[] counts = new int[1];
+        mNested.setOnHierarchyChangeListener(new ViewGroup.OnHierarchyChangeListener() {
+            @Override
+            public void onChildViewAdded(View parent, View child) {
+                counts[0]++;
+            }
+
+            @Override
+            public void onChildViewRemoved(View parent, View child) {
+            }
+        });
+        CheckBoxGroup checkBoxGroup = new CheckBoxGroup(mGroup);
+        assertEquals(Arrays.asList("a", "c"), getCheckedValues(checkBoxGroup));
+
+        // The listener of the application is still called
+        mNested.addView(newCheckBox("e", true));
+        assertEquals(1, counts[0]);
+        assertEquals(Arrays.asList("a", "c", "e"), getCheckedValues(checkBoxGroup));
+        checkBoxGroup.release();
+    }
+
+    private CheckBox newCheckBox(final String tag, final boolean checked) {
+        CheckBox cb = new CheckBox(mContext);
+        cb.setTag(tag);
+        cb.setChecked(checked);
+        return cb;
+    }
+
+    private static List<String> getCheckedValues(final CheckBoxGroup checkBoxGroup) {
+        List<String> values = new ArrayList<String>();
+        checkBoxGroup.addCheckedValues(values);
+        return values;
+    }
+}
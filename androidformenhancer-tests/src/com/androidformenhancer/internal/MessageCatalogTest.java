@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+import android.test.InstrumentationTestCase;
+
+import com.androidformenhancer.MessageSource;
+import com.androidformenhancer.R;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class MessageCatalogTest extends InstrumentationTestCase {
+
+    public void testGet() throws Exception {
+        Context context = getInstrumentation().getContext();
+        assertSame(MessageCatalog.get(context), MessageCatalog.get(context));
+    }
+
+    public void testGetSharedByContent() throws Exception {
+        final Context context = getInstrumentation().getContext();
+        Context other = new ContextWrapper(context) {
+            private Resources.Theme mTheme;
+
+            @Override
+            public Resources.Theme getTheme() {
+                if (mTheme == null) {
+                    mTheme = getResources().newTheme();
+                    mTheme.setTo(context.getTheme());
+                }
+                return mTheme;
+            }
+        };
+        // Another theme object which has the same styles
+        assertNotSame(context.getTheme(), other.getTheme());
+        assertSame(MessageCatalog.get(context), MessageCatalog.get(other));
+        assertSame(ValidatorRegistry.get(context), ValidatorRegistry.get(other));
+    }
+
+    public void testGetString() throws Exception {
+        Context context = getInstrumentation().getContext();
+        MessageCatalog catalog = MessageCatalog.get(context);
+        assertEquals(context.getString(R.string.afe__msg_validation_required),
+                catalog.getString(R.string.afe__msg_validation_required));
+        assertSame(catalog.getString(R.string.afe__msg_validation_required),
+                catalog.getString(R.string.afe__msg_validation_required));
+    }
+
+    public void testGetMessage() throws Exception {
+        Context context = getInstrumentation().getContext();
+        MessageCatalog catalog = MessageCatalog.get(context);
+        int resId = catalog.getMessageResId(R.styleable.ValidatorMessages_afeErrorRequired,
+                R.string.afe__msg_validation_required);
+        assertTrue(resId != 0);
+        assertEquals(context.getString(resId, "Name"),
+                catalog.getMessage(R.styleable.ValidatorMessages_afeErrorRequired,
+                        R.string.afe__msg_validation_required, "Name"));
+
+        // Out of the styleable uses the default message
+        assertEquals(R.string.afe__msg_validation_required,
+                catalog.getMessageResId(-1, R.string.afe__msg_validation_required));
+    }
+
+    public void testGetMessageByKey() throws Exception {
+        Context context = getInstrumentation().getContext();
+        MessageCatalog catalog = MessageCatalog.get(context);
+        assertEquals(catalog.getMessage(R.styleable.ValidatorMessages_afeErrorRequired,
+                R.string.afe__msg_validation_required, "Name"),
+                catalog.getMessage(MessageSource.REQUIRED, "Name"));
+        assertEquals(catalog.getMessage(R.styleable.ValidatorMessages_afeErrorDatePattern,
+                R.string.afe__msg_validation_date, "Name", "yyyy/MM/dd"),
+                catalog.getMessage(MessageSource.DATE_PATTERN, "Name", "yyyy/MM/dd"));
+
+        try {
+            catalog.getMessage("afeErrorFoo");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Message is not defined: afeErrorFoo", e.getMessage());
+        }
+    }
+
+    public void testGetStringWithParams() throws Exception {
+        Context context = getInstrumentation().getContext();
+        MessageCatalog catalog = MessageCatalog.get(context);
+        assertEquals(context.getString(R.string.afe__msg_validation_required, "Name"),
+                catalog.getString(R.string.afe__msg_validation_required, "Name"));
+
+        // Not found
+        assertNull(catalog.getString(0));
+    }
+
+}
@@ -1,10 +1,22 @@
 package com.androidformenhancer.internal;
 
+import android.content.Context;
 import android.test.ActivityInstrumentationTestCase2;
+import android.util.SparseArray;
+import android.view.View;
+import android.widget.EditText;
 
+import com.androidformenhancer.AndroidFormEnhancer;
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.FormSnapshot;
+import com.androidformenhancer.ValidationResult;
 import com.androidformenhancer.test.DefaultActivity;
 import com.androidformenhancer.test.DefaultEntity;
 import com.androidformenhancer.test.DefaultForm;
+import com.androidformenhancer.test.R;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
 
 public class ValidationManagerTest extends ActivityInstrumentationTestCase2<DefaultActivity> {
 
@@ -19,4 +31,189 @@ public class ValidationManagerTest extends ActivityInstrumentationTestCase2<Defa
         vm.create(DefaultEntity.class);
     }
 
+    public void testPreload() throws Throwable {
+        // The Activity uses the theme of the application
+        Context context = getInstrumentation().getTargetContext().getApplicationContext();
+        AndroidFormEnhancer.preload(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                command.run();
+            }
+        }, context, DefaultForm.class);
+        ValidationManager preloaded = new ValidationManager(context, DefaultForm.class);
+
+        // The first validation on the Activity uses what the preload created
+        ValidationManager vm = new ValidationManager(getActivity(), DefaultForm.class);
+        assertSame(MessageCatalog.get(context), MessageCatalog.get(getActivity()));
+        assertSame(ValidatorRegistry.get(context), ValidatorRegistry.get(getActivity()));
+        assertSame(preloaded.getEngine().getValidationPlan(),
+                vm.getEngine().getValidationPlan());
+    }
+
+    public void testValidateIncrementally() throws Throwable {
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                View root = getActivity().findViewById(android.R.id.content);
+                ValidationManager vm = new ValidationManager(getActivity(), DefaultForm.class);
+                ValidationResult result = vm.validateIncrementally(root);
+                assertSameResult(validateAll(root), result);
+                assertTrue(result.hasErrorFor(R.id.textfield_name));
+
+                ((EditText) root.findViewById(R.id.textfield_name)).setText("テスト");
+
+                // Not revalidated until marked as dirty
+                result = vm.validateIncrementally(root);
+                assertTrue(result.hasErrorFor(R.id.textfield_name));
+
+                vm.markDirty(R.id.textfield_name);
+                result = vm.validateIncrementally(root);
+                assertFalse(result.hasErrorFor(R.id.textfield_name));
+                assertSameResult(validateAll(root), result);
+
+                ((EditText) root.findViewById(R.id.textfield_name)).setText("");
+                vm.markDirty(R.id.textfield_name);
+                assertSameResult(validateAll(root), vm.validateIncrementally(root));
+            }
+        });
+    }
+
+    public void testExtractField() throws Throwable {
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                View root = getActivity().findViewById(android.R.id.content);
+                ValidationManager vm = new ValidationManager(getActivity(), DefaultForm.class);
+                try {
+                    vm.extractField(R.id.textfield_name);
+                    fail();
+                } catch (IllegalStateException e) {
+                    assertEquals("Form is not initialized or validated.", e.getMessage());
+                }
+
+                vm.extractFormFromView(root);
+                assertTrue(vm.validate(R.id.textfield_name).hasErrorFor(R.id.textfield_name));
+                FieldData fieldData = vm.getFieldData(R.id.textfield_name);
+
+                ((EditText) root.findViewById(R.id.textfield_name)).setText("テスト");
+                assertTrue(vm.extractField(R.id.textfield_name));
+                assertFalse(vm.extractField(R.id.textfield_name));
+                assertSame(fieldData, vm.getFieldData(R.id.textfield_name));
+                assertEquals("テスト", fieldData.getValueAsString());
+
+                ValidationResult result = vm.validate(R.id.textfield_name);
+                assertFalse(result.hasErrorFor(R.id.textfield_name));
+                assertEquals(1, result.getValidatedIds().size());
+                assertSameResult(validateAll(root), vm.validate());
+            }
+        });
+    }
+
+    public void testGetFormSnapshot() throws Throwable {
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                View root = getActivity().findViewById(android.R.id.content);
+                ValidationManager vm = new ValidationManager(getActivity(), DefaultForm.class);
+                vm.extractFormFromView(root);
+                FormSnapshot snapshot = vm.getFormSnapshot();
+                assertSame(snapshot, vm.getFormSnapshot());
+                assertSame(snapshot.getForm(), vm.getForm());
+
+                // Same values do not create a new snapshot
+                vm.extractFormFromView(root);
+                assertSame(snapshot, vm.getFormSnapshot());
+
+                ((EditText) root.findViewById(R.id.textfield_name)).setText("snapshot");
+                assertTrue(vm.extractField(R.id.textfield_name));
+                FormSnapshot changed = vm.getFormSnapshot();
+                assertNotSame(snapshot, changed);
+                assertTrue(snapshot.getVersion() < changed.getVersion());
+                assertEquals("snapshot", ((DefaultForm) changed.getForm()).name);
+                assertFalse("snapshot".equals(((DefaultForm) snapshot.getForm()).name));
+
+                DefaultForm form = (DefaultForm) changed.getForm();
+                if (form.gotToKnowBy != null) {
+                    try {
+                        form.gotToKnowBy.add("0");
+                        fail();
+                    } catch (UnsupportedOperationException e) {
+                        // Expected
+                    }
+                }
+            }
+        });
+    }
+
+    public void testExtractFormFromViewTwice() throws Throwable {
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                View root = getActivity().findViewById(android.R.id.content);
+                EditText name = (EditText) root.findViewById(R.id.textfield_name);
+                ValidationManager vm = new ValidationManager(getActivity(), DefaultForm.class);
+                name.setText("first");
+                vm.extractFormFromView(root);
+                FormSnapshot first = vm.getFormSnapshot();
+
+                // The form is reused but the snapshot is not changed
+                name.setText("second");
+                vm.extractFormFromView(root);
+                FormSnapshot second = vm.getFormSnapshot();
+                assertEquals("first", ((DefaultForm) first.getForm()).name);
+                assertEquals("second", ((DefaultForm) second.getForm()).name);
+
+                name.setText("");
+                vm.extractFormFromView(root);
+                assertEquals("", ((DefaultForm) vm.getForm()).name);
+                assertEquals("second", ((DefaultForm) second.getForm()).name);
+            }
+        });
+    }
+
+    public void testValidateHeadless() throws Throwable {
+        ValidationManager vm = new ValidationManager(getActivity(), DefaultForm.class);
+        DefaultForm form = new DefaultForm();
+        ValidationResult result = vm.validate(form);
+        assertTrue(result.hasErrorFor(R.id.textfield_name));
+        assertTrue(result.hasErrorFor(R.id.rg_gender));
+        assertTrue(result.hasErrorFor(R.id.cbg_got_to_know_by));
+        assertSameResult(result, vm.validate(new SparseArray<Object>()));
+
+        form.name = "テスト";
+        form.gender = "0";
+        form.gotToKnowBy = new ArrayList<String>();
+        form.gotToKnowBy.add("TV");
+        form.gotToKnowBy.add("IN");
+        result = vm.validate(form);
+        assertFalse(result.hasErrorFor(R.id.textfield_name));
+        assertFalse(result.hasErrorFor(R.id.rg_gender));
+        assertFalse(result.hasErrorFor(R.id.cbg_got_to_know_by));
+
+        SparseArray<Object> values = new SparseArray<Object>();
+        values.put(R.id.textfield_name, form.name);
+        values.put(R.id.rg_gender, form.gender);
+        values.put(R.id.cbg_got_to_know_by, form.gotToKnowBy);
+        assertSameResult(result, vm.validate(values));
+
+        try {
+            vm.validate(new Object());
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    private ValidationResult validateAll(final View root) {
+        ValidationManager vm = new ValidationManager(getActivity(), DefaultForm.class);
+        vm.extractFormFromView(root);
+        return vm.validate();
+    }
+
+    private static void assertSameResult(final ValidationResult expected,
+                                         final ValidationResult actual) {
+        assertEquals(expected.getValidatedIds(), actual.getValidatedIds());
+        assertEquals(expected.getAllErrors(), actual.getAllErrors());
+    }
+
 }
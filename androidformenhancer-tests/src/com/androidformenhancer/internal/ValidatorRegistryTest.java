@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.test.InstrumentationTestCase;
+import android.view.ContextThemeWrapper;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.annotation.Alphabet;
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.test.DefaultForm;
+import com.androidformenhancer.validator.AlphabetValidator;
+import com.androidformenhancer.validator.BaseValidator;
+import com.androidformenhancer.validator.EmailValidator;
+import com.androidformenhancer.validator.RequiredValidator;
+import com.androidformenhancer.validator.Validator;
+
+import java.lang.annotation.Annotation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class ValidatorRegistryTest extends InstrumentationTestCase {
+
+    /**
+     * Validator whose type argument is not concrete.
+     */
+    public static class GenericValidator<T extends Annotation> extends Validator<T> {
+        @Override
+        public String validate(final T annotation, final FieldData fieldData) {
+            return null;
+        }
+
+        @Override
+        public Class<T> getAnnotationClass() {
+            return null;
+        }
+    }
+
+    public void testGet() throws Exception {
+        Context context = getInstrumentation().getContext();
+        ValidatorRegistry registry = ValidatorRegistry.get(context);
+        assertSame(registry, ValidatorRegistry.get(context));
+        assertEquals(ValidationManager.STOP_POLICY_CONTINUE_ALL, registry.getStopPolicy());
+        assertTrue(registry.getValidatorClasses().contains(RequiredValidator.class));
+        assertTrue(registry.getValidatorClasses().contains(EmailValidator.class));
+    }
+
+    public void testGetWithSameTheme() throws Exception {
+        Context context = getInstrumentation().getContext();
+        ValidatorRegistry registry = ValidatorRegistry.get(context);
+        // Found by the theme
+        assertSame(registry, ValidatorRegistry.get(new ContextWrapper(context)));
+        // Found by the definitions of the other theme
+        Context themed = new ContextThemeWrapper(context, android.R.style.Theme);
+        assertSame(registry, ValidatorRegistry.get(themed));
+        assertSame(registry, ValidatorRegistry.get(themed));
+    }
+
+    public void testGetValidators() throws Exception {
+        Context context = getInstrumentation().getContext();
+        ValidatorRegistry registry = ValidatorRegistry.get(context);
+        List<BaseValidator<?>> validators =
+                registry.getValidators(FormMetadata.get(DefaultForm.class));
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (BaseValidator<?> validator : validators) {
+            classes.add(validator.getClass());
+        }
+        // DefaultForm does not use @Email
+        assertTrue(classes.contains(RequiredValidator.class));
+        assertFalse(classes.contains(EmailValidator.class));
+
+        // The instances are shared
+        List<BaseValidator<?>> others =
+                registry.getValidators(FormMetadata.get(DefaultForm.class));
+        assertEquals(validators.size(), others.size());
+        for (int i = 0; i < validators.size(); i++) {
+            assertSame(validators.get(i), others.get(i));
+        }
+    }
+
+    public void testGetAnnotationClass() throws Exception {
+        assertEquals(Required.class, ValidatorRegistry.getAnnotationClass(RequiredValidator.class));
+        // Declared by the superclass
+        assertEquals(Alphabet.class, ValidatorRegistry.getAnnotationClass(AlphabetValidator.class));
+        assertNull(ValidatorRegistry.getAnnotationClass(GenericValidator.class));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.content.Context;
+import android.test.InstrumentationTestCase;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.LinearLayout;
+
+/**
+ * @author Soichiro Kashima
+ */
+public class ViewIndexTest extends InstrumentationTestCase {
+
+    private static final int ID_ROOT = 1;
+    private static final int ID_GROUP = 2;
+    private static final int ID_TEXT = 3;
+    private static final int ID_ADDED = 4;
+
+    private Context mContext;
+    private LinearLayout mRoot;
+    private LinearLayout mGroup;
+    private EditText mText;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mContext = getInstrumentation().getContext();
+        mRoot = new LinearLayout(mContext);
+        mRoot.setId(ID_ROOT);
+        mGroup = new LinearLayout(mContext);
+        mGroup.setId(ID_GROUP);
+        mText = new EditText(mContext);
+        mText.setId(ID_TEXT);
+        mGroup.addView(mText);
+        mRoot.addView(mGroup);
+    }
+
+    public void testFindViewById() throws Exception {
+        ViewIndex index = new ViewIndex(mRoot);
+        assertSame(mRoot, index.getRootView());
+        assertSame(mRoot, index.findViewById(ID_ROOT));
+        assertSame(mGroup, index.findViewById(ID_GROUP));
+        assertSame(mText, index.findViewById(ID_TEXT));
+        assertNull(index.findViewById(ID_ADDED));
+    }
+
+    public void testFindViewByIdFirstWins() throws Exception {
+        EditText duplicated = new EditText(mContext);
+        duplicated.setId(ID_TEXT);
+        mRoot.addView(duplicated);
+        ViewIndex index = new ViewIndex(mRoot);
+        assertSame(mRoot.findViewById(ID_TEXT), index.findViewById(ID_TEXT));
+        assertSame(mText, index.findViewById(ID_TEXT));
+    }
+
+    public void testFindViewByIdAfterAdded() throws Exception {
+        ViewIndex index = new ViewIndex(mRoot);
+        assertNull(index.findViewById(ID_ADDED));
+        EditText added = new EditText(mContext);
+        added.setId(ID_ADDED);
+        mGroup.addView(added);
+        assertSame(added, index.findViewById(ID_ADDED));
+        assertSame(mText, index.findViewById(ID_TEXT));
+    }
+
+    public void testFindViewByIdAfterGroupAdded() throws Exception {
+        ViewIndex index = new ViewIndex(mRoot);
+        assertNull(index.findViewById(ID_ADDED));
+        assertNull(index.findViewById(ID_ADDED));
+        // Same as the views inflated from ViewStub
+        LinearLayout inflated = new LinearLayout(mContext);
+        EditText added = new EditText(mContext);
+        added.setId(ID_ADDED);
+        inflated.addView(added);
+        mRoot.addView(inflated);
+        assertSame(added, index.findViewById(ID_ADDED));
+    }
+
+    public void testFindViewByIdAfterRemoved() throws Exception {
+        ViewIndex index = new ViewIndex(mRoot);
+        assertSame(mText, index.findViewById(ID_TEXT));
+        mGroup.removeView(mText);
+        assertNull(index.findViewById(ID_TEXT));
+
+        EditText replaced = new EditText(mContext);
+        replaced.setId(ID_TEXT);
+        mGroup.addView(replaced);
+        assertSame(replaced, index.findViewById(ID_TEXT));
+    }
+
+    public void testFindViewByIdAfterIdChanged() throws Exception {
+        ViewIndex index = new ViewIndex(mRoot);
+        assertSame(mText, index.findViewById(ID_TEXT));
+        mText.setId(ID_ADDED);
+        assertNull(index.findViewById(ID_TEXT));
+        assertSame(mText, index.findViewById(ID_ADDED));
+    }
+
+    public void testInvalidate() throws Exception {
+        ViewIndex index = new ViewIndex(mRoot);
+        assertSame(mText, index.findViewById(ID_TEXT));
+        index.invalidate();
+        assertSame(mText, index.findViewById(ID_TEXT));
+        index.release();
+    }
+
+    public void testNullRootView() throws Exception {
+        ViewIndex index = new ViewIndex(null);
+        assertNull(index.findViewById(ID_TEXT));
+        index.release();
+    }
+}
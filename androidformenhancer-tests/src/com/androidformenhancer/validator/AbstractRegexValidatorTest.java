@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.validator;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.R;
+import com.androidformenhancer.WidgetType;
+import com.androidformenhancer.annotation.Regex;
+import com.androidformenhancer.annotation.Widget;
+
+import java.lang.reflect.Field;
+
+/**
+ * Test case for AbstractRegexValidator, which is extended by the custom
+ * validators of the apps.
+ *
+ * @author Soichiro Kashima
+ */
+public class AbstractRegexValidatorTest extends ValidatorTest {
+
+    /**
+     * Dummy class which has @Regex field.
+     */
+    public class Foo {
+        @Regex("^[0-9]{3}-[0-9]{4}$")
+        @Widget(id = 0)
+        public String a;
+    }
+
+    /**
+     * Custom validator which gives the message by the resource ID.
+     */
+    public static class ZipCodeValidator extends AbstractRegexValidator<Regex> {
+        @Override
+        public Class<Regex> getAnnotationClass() {
+            return Regex.class;
+        }
+
+        @Override
+        protected String getRegex(final Regex annotation) {
+            return annotation.value();
+        }
+
+        @Override
+        protected int getOverrideNameResourceId(final Regex annotation) {
+            return annotation.nameResId();
+        }
+
+        @Override
+        protected int getErrorMessageResourceId() {
+            return R.string.afe__msg_validation_regex;
+        }
+    }
+
+    public void testValidate() throws Exception {
+        ZipCodeValidator validator = new ZipCodeValidator();
+        setMessageCatalog(validator);
+
+        Field field = Foo.class.getDeclaredField("a");
+        FieldData fieldData = new FieldData(field, WidgetType.TEXT);
+
+        fieldData.setValue("");
+        validate(validator, fieldData, true);
+
+        fieldData.setValue("100-0001");
+        validate(validator, fieldData, true);
+
+        fieldData.setValue("1000001");
+        validate(validator, fieldData, false);
+    }
+
+    public void testValidateWithContext() throws Exception {
+        // Only the context is set as the old framework did
+        ZipCodeValidator validator = new ZipCodeValidator();
+        validator.setContext(getInstrumentation().getContext());
+
+        Field field = Foo.class.getDeclaredField("a");
+        FieldData fieldData = new FieldData(field, WidgetType.TEXT);
+
+        fieldData.setValue("100-0001");
+        validate(validator, fieldData, true);
+
+        fieldData.setValue("1000001");
+        validate(validator, fieldData, false);
+    }
+
+}
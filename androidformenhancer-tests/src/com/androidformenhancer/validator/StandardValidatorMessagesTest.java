@@ -0,0 +1,178 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.validator;
+
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.WidgetType;
+import com.androidformenhancer.annotation.AlphaNum;
+import com.androidformenhancer.annotation.Alphabet;
+import com.androidformenhancer.annotation.DatePattern;
+import com.androidformenhancer.annotation.Digits;
+import com.androidformenhancer.annotation.Email;
+import com.androidformenhancer.annotation.FloatType;
+import com.androidformenhancer.annotation.Hiragana;
+import com.androidformenhancer.annotation.IntRange;
+import com.androidformenhancer.annotation.IntType;
+import com.androidformenhancer.annotation.Katakana;
+import com.androidformenhancer.annotation.Length;
+import com.androidformenhancer.annotation.MaxLength;
+import com.androidformenhancer.annotation.MaxNumOfDigits;
+import com.androidformenhancer.annotation.MaxValue;
+import com.androidformenhancer.annotation.MinValue;
+import com.androidformenhancer.annotation.Multibyte;
+import com.androidformenhancer.annotation.NumOfDigits;
+import com.androidformenhancer.annotation.PastDate;
+import com.androidformenhancer.annotation.Regex;
+import com.androidformenhancer.annotation.Required;
+import com.androidformenhancer.annotation.Singlebyte;
+import com.androidformenhancer.annotation.Widget;
+
+/**
+ * Test case for the messages of the standard validators.<br>
+ * The validators themselves are tested in androidformenhancer-core,
+ * and this test checks that the messages are read from the resources
+ * of the current locale.
+ *
+ * @author Soichiro Kashima
+ */
+public class StandardValidatorMessagesTest extends ValidatorTest {
+
+    /**
+     * Dummy class which has the fields for each validator.
+     */
+    public class Foo {
+        @Required
+        @Widget(id = 0)
+        public String required;
+
+        @IntType
+        @Widget(id = 0)
+        public String intType;
+
+        @FloatType
+        @Widget(id = 0)
+        public String floatType;
+
+        @Digits
+        @Widget(id = 0)
+        public String digits;
+
+        @MinValue(10)
+        @Widget(id = 0)
+        public String minValue;
+
+        @MaxValue(10)
+        @Widget(id = 0)
+        public String maxValue;
+
+        @IntRange(min = 1, max = 2)
+        @Widget(id = 0)
+        public String intRange;
+
+        @Multibyte
+        @Widget(id = 0)
+        public String multibyte;
+
+        @Singlebyte
+        @Widget(id = 0)
+        public String singlebyte;
+
+        @Length(2)
+        @Widget(id = 0)
+        public String length;
+
+        @MaxLength(1)
+        @Widget(id = 0)
+        public String maxLength;
+
+        @NumOfDigits(2)
+        @Widget(id = 0)
+        public String numOfDigits;
+
+        @MaxNumOfDigits(1)
+        @Widget(id = 0)
+        public String maxNumOfDigits;
+
+        @Regex("^a$")
+        @Widget(id = 0)
+        public String regex;
+
+        @Email
+        @Widget(id = 0)
+        public String email;
+
+        @DatePattern("yyyy/MM/dd")
+        @Widget(id = 0)
+        public String datePattern;
+
+        @PastDate("yyyy/MM/dd")
+        @Widget(id = 0)
+        public String pastDate;
+
+        @Hiragana
+        @Widget(id = 0)
+        public String hiragana;
+
+        @Katakana
+        @Widget(id = 0)
+        public String katakana;
+
+        @Alphabet
+        @Widget(id = 0)
+        public String alphabet;
+
+        @AlphaNum
+        @Widget(id = 0)
+        public String alphaNum;
+    }
+
+    public void testMessages() throws Exception {
+        assertMessage(new RequiredValidator(), "required", "");
+        assertMessage(new IntTypeValidator(), "intType", "a");
+        assertMessage(new FloatTypeValidator(), "floatType", "a");
+        assertMessage(new DigitsValidator(), "digits", "a");
+        assertMessage(new MinValueValidator(), "minValue", "1");
+        assertMessage(new MaxValueValidator(), "maxValue", "100");
+        assertMessage(new IntRangeValidator(), "intRange", "3");
+        assertMessage(new MultibyteValidator(), "multibyte", "a");
+        assertMessage(new SinglebyteValidator(), "singlebyte", "あ");
+        assertMessage(new LengthValidator(), "length", "a");
+        assertMessage(new MaxLengthValidator(), "maxLength", "ab");
+        assertMessage(new NumOfDigitsValidator(), "numOfDigits", "1");
+        assertMessage(new MaxNumOfDigitsValidator(), "maxNumOfDigits", "12");
+        assertMessage(new RegexValidator(), "regex", "b");
+        assertMessage(new EmailValidator(), "email", "a");
+        assertMessage(new DatePatternValidator(), "datePattern", "a");
+        assertMessage(new PastDateValidator(), "pastDate", "2999/01/01");
+        assertMessage(new HiraganaValidator(), "hiragana", "a");
+        assertMessage(new KatakanaValidator(), "katakana", "a");
+        assertMessage(new AlphabetValidator(), "alphabet", "1");
+        assertMessage(new AlphaNumValidator(), "alphaNum", "あ");
+    }
+
+    private void assertMessage(final BaseValidator<?> validator, final String name,
+            final String value) throws Exception {
+        setMessageCatalog(validator);
+        FieldData fieldData = new FieldData(Foo.class.getDeclaredField(name), WidgetType.TEXT);
+        fieldData.setValue(value);
+        String errorMessage = validator.validate(fieldData);
+        assertNotNull(name, errorMessage);
+        assertTrue(errorMessage, errorMessage.contains(name));
+        assertFalse(errorMessage, errorMessage.contains("%"));
+    }
+
+}
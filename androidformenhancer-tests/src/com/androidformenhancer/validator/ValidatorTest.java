@@ -17,6 +17,7 @@
 package com.androidformenhancer.validator;
 
 import com.androidformenhancer.FieldData;
+import com.androidformenhancer.internal.MessageCatalog;
 
 import android.test.InstrumentationTestCase;
 import android.util.Log;
@@ -28,7 +29,19 @@ import android.util.Log;
  */
 public class ValidatorTest extends InstrumentationTestCase {
 
-    public void validate(final Validator<?> validator, final FieldData fieldData,
+    /**
+     * Gives the messages and the resources of the instrumentation context
+     * to the validator, as the framework does.
+     *
+     * @param validator validator to set up
+     */
+    public void setMessageCatalog(final BaseValidator<?> validator) {
+        MessageCatalog catalog = MessageCatalog.get(getInstrumentation().getContext());
+        validator.setMessageSource(catalog);
+        validator.setResourceSource(catalog);
+    }
+
+    public void validate(final BaseValidator<?> validator, final FieldData fieldData,
             final boolean expectValid)
             throws Exception {
         String errorMessage = validator.validate(fieldData);
@@ -47,27 +47,8 @@ public class ValidatorTestRunner extends InstrumentationTestRunner {
     protected InstrumentationTestSuite getTargetTestSuite() {
         final InstrumentationTestSuite testSuite = new InstrumentationTestSuite(this);
 
-        testSuite.addTestSuite(DigitsValidatorTest.class);
-        testSuite.addTestSuite(LengthValidatorTest.class);
-        testSuite.addTestSuite(MaxLengthValidatorTest.class);
-        testSuite.addTestSuite(NumOfDigitsValidatorTest.class);
-        testSuite.addTestSuite(MaxNumOfDigitsValidatorTest.class);
-        testSuite.addTestSuite(MaxValueValidatorTest.class);
-        testSuite.addTestSuite(MinValueValidatorTest.class);
-        testSuite.addTestSuite(IntRangeValidatorTest.class);
-        testSuite.addTestSuite(MultibyteValidatorTest.class);
-        testSuite.addTestSuite(HiraganaValidatorTest.class);
-        testSuite.addTestSuite(KatakanaValidatorTest.class);
-        testSuite.addTestSuite(AlphabetValidatorTest.class);
-        testSuite.addTestSuite(AlphaNumValidatorTest.class);
-        testSuite.addTestSuite(SinglebyteValidatorTest.class);
-        testSuite.addTestSuite(IntTypeValidatorTest.class);
-        testSuite.addTestSuite(FloatTypeValidatorTest.class);
-        testSuite.addTestSuite(RequiredValidatorTest.class);
-        testSuite.addTestSuite(RegexValidatorTest.class);
-        testSuite.addTestSuite(EmailValidatorTest.class);
-        testSuite.addTestSuite(DatePatternValidatorTest.class);
-        testSuite.addTestSuite(PastDateValidatorTest.class);
+        testSuite.addTestSuite(StandardValidatorMessagesTest.class);
+        testSuite.addTestSuite(AbstractRegexValidatorTest.class);
 
         return testSuite;
     }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer;
+
+import android.content.Context;
+import android.os.Process;
+import android.util.Log;
+
+import com.androidformenhancer.internal.ValidationManager;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Entry point of the library-wide operations.
+ *
+ * @author Soichiro Kashima
+ */
+public final class AndroidFormEnhancer {
+
+    private static final String TAG = "AFE";
+
+    private AndroidFormEnhancer() {
+    }
+
+    /**
+     * Prepares the forms on a background thread to reduce the cost of the
+     * first validation.<br>
+     * The metadata of the form classes, the validation plans, the compiled
+     * patterns, the validators and the messages defined in the theme of the
+     * context are created and cached. You can call this in
+     * {@linkplain android.app.Application#onCreate()}.
+     * <p/>
+     * The validators and the messages are cached by the contents of the
+     * styles, so the Activities whose themes define the same validators and
+     * messages as the context use the preloaded ones, such as the Activities
+     * which use the theme of the application.
+     * To preload for the Activities which have another theme, give a
+     * {@linkplain android.view.ContextThemeWrapper} with the theme.
+     * <p/>
+     * This is safe to call while the forms are used. If the first use
+     * requests the data which is being created, it waits for the data instead
+     * of creating it again.
+     * The failures are only logged, and thrown again on the first use.
+     *
+     * @param context     context to access to the resources
+     * @param formClasses form classes to prepare
+     */
+    public static void preload(final Context context, final Class<?>... formClasses) {
+        preload(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        command.run();
+                    }
+                }, "AndroidFormEnhancer-preload");
+                thread.start();
+            }
+        }, context, formClasses);
+    }
+
+    /**
+     * Prepares the forms with the executor to reduce the cost of the first
+     * validation.
+     *
+     * @param executor    executor to run the preparation
+     * @param context     context to access to the resources
+     * @param formClasses form classes to prepare
+     * @see #preload(Context, Class[])
+     */
+    public static void preload(final Executor executor, final Context context,
+                               final Class<?>... formClasses) {
+        final Class<?>[] classes = formClasses.clone();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Class<?> formClass : classes) {
+                    try {
+                        new ValidationManager(context, formClass).prepare();
+                    } catch (RuntimeException e) {
+                        Log.w(TAG, "Failed to preload the form: " + formClass.getName(), e);
+                    }
+                }
+            }
+        });
+    }
+}
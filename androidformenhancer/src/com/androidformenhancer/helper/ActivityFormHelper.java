@@ -85,14 +85,15 @@ public class ActivityFormHelper extends FormHelper {
             throw new IllegalStateException(EXCEPTION_MSG_WITHOUT_FRAGMENT_ACTIVITY);
         }
         if (Build.VERSION_CODES.HONEYCOMB <= Build.VERSION.SDK_INT) {
-            mNormalActivity.findViewById(id).setClickable(true);
-            mNormalActivity.findViewById(id).setOnClickListener(new View.OnClickListener() {
+            View view = findViewById(id);
+            view.setClickable(true);
+            view.setOnClickListener(new View.OnClickListener() {
                 @Override
                 public void onClick(View v) {
                     showDatePickerDialog(id, defaultMessageId);
                 }
             });
-            ((TextView) mNormalActivity.findViewById(id)).setText(mNormalActivity.getString(defaultMessageId));
+            ((TextView) view).setText(mNormalActivity.getString(defaultMessageId));
         }
     }
 
@@ -101,7 +102,7 @@ public class ActivityFormHelper extends FormHelper {
         if (mNormalActivity == null) {
             throw new IllegalStateException(EXCEPTION_MSG_WITHOUT_FRAGMENT_ACTIVITY);
         }
-        View v = mNormalActivity.findViewById(id);
+        View v = findViewById(id);
         if (v == null || !(v instanceof TextView)) {
             throw new IllegalArgumentException("Target view must be valid TextView: " + v);
         }
@@ -19,10 +19,17 @@ package com.androidformenhancer.helper;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.util.SparseArray;
 import android.view.View;
 import android.widget.EditText;
 import android.widget.TextView;
 
+import com.androidformenhancer.FieldData;
+import com.androidformenhancer.FormSnapshot;
 import com.androidformenhancer.R;
 import com.androidformenhancer.ValidationResult;
 import com.androidformenhancer.WidgetType;
@@ -31,6 +38,10 @@ import com.androidformenhancer.internal.DialogFragment;
 import com.androidformenhancer.internal.ValidationManager;
 import com.androidformenhancer.utils.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 /**
  * Helper class to use this library's functions.
  *
@@ -51,6 +62,34 @@ public abstract class FormHelper {
     private Drawable mIconError;
     private Drawable mIconOk;
     private ValidationManager mValidationManager;
+    private boolean mIncrementalValidation;
+    private List<EditText> mWatchedTexts;
+    private List<TextWatcher> mTextWatchers;
+    private int[] mUnwatchedIds;
+    private ValidationManager mAsyncValidationManager;
+    private Handler mHandler;
+    private volatile int mAsyncGeneration;
+    private List<TextChangeValidation> mTextChangeValidations;
+
+    /**
+     * Minimum interval of the validations on text change in milliseconds,
+     * which is about one frame.
+     */
+    private static final long MIN_TEXT_CHANGE_VALIDATION_INTERVAL = 16;
+
+    /**
+     * Callback to receive the result of
+     * {@linkplain FormHelper#validateAsync(Executor, Callback)}.
+     */
+    public interface Callback {
+        /**
+         * Called on the UI thread when the validation has finished.<br>
+         * The errors have already been set to the TextViews.
+         *
+         * @param result result of the validation
+         */
+        void onValidated(ValidationResult result);
+    }
 
     public FormHelper(final Class<?> clazz, final Context context) {
         mContext = context;
@@ -118,22 +157,95 @@ public abstract class FormHelper {
      * Validations are executed in the orders specified by the
      * {@linkplain Widget#validateAfter()}. If this annotation is not specified,
      * the order is undefined.
+     * <p/>
+     * The result can be returned to the pool by
+     * {@linkplain ValidationResult#recycle()} when it is no longer used.
      *
      * @return result of the validation
      */
     public ValidationResult validate() {
-        getValidationManager().extractFormFromView(mRootView);
-        ValidationResult validationResult = getValidationManager().validate();
-        for (int id : validationResult.getValidatedIds()) {
-            View v = mRootView.findViewById(id);
-            if (!(v instanceof TextView)) {
-                continue;
+        ValidationResult validationResult;
+        if (mIncrementalValidation) {
+            // Selections cannot be watched without replacing the listeners
+            // of the application, so they are always checked if changed
+            for (int id : mUnwatchedIds) {
+                getValidationManager().markDirty(id);
             }
-            setErrorToTextView(validationResult, (TextView) v);
+            validationResult = getValidationManager().validateIncrementally(mRootView);
+        } else {
+            getValidationManager().extractFormFromView(mRootView);
+            validationResult = getValidationManager().validate();
         }
+        setErrorsToTextViews(validationResult);
         return validationResult;
     }
 
+    /**
+     * Validates the input values on the other thread.
+     * <p/>
+     * The input values are extracted on the calling thread, which must be
+     * the UI thread, and validated with the executor. The result is set to
+     * the TextViews and passed to the callback on the UI thread.
+     * If this method is called again or {@linkplain #cancelAsyncValidation()}
+     * is called before the result is delivered, the previous validation is
+     * cancelled and its callback is never called.
+     * <p/>
+     * Note that the validators must be thread-safe to use this method.
+     *
+     * @param executor executor to run the validation
+     * @param callback callback to receive the result, or null
+     */
+    public void validateAsync(final Executor executor, final Callback callback) {
+        getValidationManager().extractFormFromView(mRootView);
+        final SparseArray<FieldData> fieldDataArray =
+                getValidationManager().copyFieldDataArray();
+        final ValidationManager validationManager = getAsyncValidationManager();
+        final Handler handler = getHandler();
+        final int generation = ++mAsyncGeneration;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mAsyncGeneration) {
+                    return;
+                }
+                ValidationResult result = null;
+                RuntimeException error = null;
+                try {
+                    result = validationManager.validateFieldData(fieldDataArray);
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                final ValidationResult validationResult = result;
+                final RuntimeException validationError = error;
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mAsyncGeneration) {
+                            return;
+                        }
+                        if (validationError != null) {
+                            // Throw on the UI thread as well as validate()
+                            throw validationError;
+                        }
+                        setErrorsToTextViews(validationResult);
+                        if (callback != null) {
+                            callback.onValidated(validationResult);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Cancels the validation started by
+     * {@linkplain #validateAsync(Executor, Callback)}.<br>
+     * If the validation has already been started, its result is discarded.
+     */
+    public void cancelAsyncValidation() {
+        mAsyncGeneration++;
+    }
+
     /**
      * Sets the {@linkplain android.view.View.OnFocusChangeListener} to
      * validate on focus out.<br>
@@ -148,20 +260,99 @@ public abstract class FormHelper {
             if (widgetType != WidgetType.TEXT) {
                 continue;
             }
-            final EditText e = (EditText) mRootView.findViewById(id);
+            final EditText e = (EditText) findViewById(id);
             e.setOnFocusChangeListener(new View.OnFocusChangeListener() {
                 @Override
                 public void onFocusChange(View v, boolean hasFocus) {
                     if (!hasFocus) {
-                        getValidationManager().extractFormFromView(mRootView);
+                        getValidationManager().extractField(id);
                         ValidationResult result = getValidationManager().validate(id);
                         setErrorToTextView(result, e);
+                        result.recycle();
                     }
                 }
             });
         }
     }
 
+    /**
+     * Sets the {@linkplain TextWatcher} to validate on text change.<br>
+     * The validation of a field is delayed until the text is not changed
+     * for {@code debounceMs} milliseconds, and the pending validation is
+     * cancelled if the text is changed again. So each field is validated at
+     * most once in a frame even if the text is changed rapidly by the IME or
+     * pasting.
+     * <p/>
+     * If the views of the form are recreated, call this method again.
+     *
+     * @param debounceMs delay of the validation in milliseconds
+     */
+    public void setOnTextChangeValidation(final long debounceMs) {
+        clearTextChangeValidations();
+        mTextChangeValidations = new ArrayList<TextChangeValidation>();
+        final long delay = Math.max(debounceMs, MIN_TEXT_CHANGE_VALIDATION_INTERVAL);
+        getValidationManager().extractFormFromView(mRootView);
+        for (final int id : getValidationManager().getExtractedWidgetIds()) {
+            WidgetType widgetType = getValidationManager().getFieldData(id).getWidgetType();
+            if (widgetType != WidgetType.TEXT) {
+                continue;
+            }
+            EditText e = (EditText) findViewById(id);
+            TextChangeValidation validation = new TextChangeValidation(id, e, delay);
+            e.addTextChangedListener(validation);
+            mTextChangeValidations.add(validation);
+        }
+    }
+
+    /**
+     * Enables the incremental validation for {@linkplain #validate()}.<br>
+     * The TextWatchers are added to the EditTexts in the form to track the
+     * changed fields, and only the changed fields and the fields which depend
+     * on them are extracted and validated again.
+     * The other widgets such as RadioGroup are checked if the selection has
+     * been changed on each validation.
+     * <p/>
+     * If the views of the form are recreated, call this method again.
+     */
+    public void setIncrementalValidation() {
+        clearTextWatchers();
+        mIncrementalValidation = true;
+        mWatchedTexts = new ArrayList<EditText>();
+        mTextWatchers = new ArrayList<TextWatcher>();
+        List<Integer> unwatchedIds = new ArrayList<Integer>();
+
+        getValidationManager().extractFormFromView(mRootView);
+        for (final int id : getValidationManager().getExtractedWidgetIds()) {
+            WidgetType widgetType = getValidationManager().getFieldData(id).getWidgetType();
+            if (widgetType != WidgetType.TEXT) {
+                unwatchedIds.add(id);
+                continue;
+            }
+            EditText e = (EditText) findViewById(id);
+            TextWatcher textWatcher = new TextWatcher() {
+                @Override
+                public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+                }
+
+                @Override
+                public void onTextChanged(CharSequence s, int start, int before, int count) {
+                }
+
+                @Override
+                public void afterTextChanged(Editable s) {
+                    getValidationManager().markDirty(id);
+                }
+            };
+            e.addTextChangedListener(textWatcher);
+            mWatchedTexts.add(e);
+            mTextWatchers.add(textWatcher);
+        }
+        mUnwatchedIds = new int[unwatchedIds.size()];
+        for (int i = 0; i < mUnwatchedIds.length; i++) {
+            mUnwatchedIds[i] = unwatchedIds.get(i);
+        }
+    }
+
     /**
      * Validates TextView or EditText.<br>
      * For example, you can call this inside
@@ -172,21 +363,35 @@ public abstract class FormHelper {
     public void validateText(final int textViewId) {
         getValidationManager().extractFormFromView(mRootView);
         ValidationResult result = getValidationManager().validate(textViewId);
-        TextView v = (TextView) mRootView.findViewById(textViewId);
+        TextView v = (TextView) findViewById(textViewId);
         setErrorToTextView(result, v);
+        result.recycle();
     }
 
     /**
      * Returns the extracted form.<br>
-     * The form returned is deep copy, so values of this object's fields cannot
-     * be changed from inside the FormHelper.
+     * The form returned is a copy, so values of this object's fields are not
+     * changed from inside the FormHelper. The copy is shared until the values
+     * are changed, so the fields must not be modified and the List fields
+     * are unmodifiable.
      *
-     * @return deep copy of the extracted form
+     * @return copy of the extracted form
      */
     public Object getForm() {
         return getValidationManager().getForm();
     }
 
+    /**
+     * Returns the snapshot of the extracted form.<br>
+     * Compare the versions of the snapshots to check if the values have been
+     * changed.
+     *
+     * @return snapshot of the extracted form
+     */
+    public FormSnapshot getFormSnapshot() {
+        return getValidationManager().getFormSnapshot();
+    }
+
     /**
      * Copies an object fields which have same names as the form class.
      *
@@ -357,6 +562,18 @@ public abstract class FormHelper {
         mRootView = view;
     }
 
+    /**
+     * Finds the view in the form specified by {@code id}.<br>
+     * The views are found from the index of the form, so this is lighter
+     * than {@linkplain View#findViewById(int)} for the large layouts.
+     *
+     * @param id resource ID of the target view
+     * @return found view or null if not found
+     */
+    protected View findViewById(final int id) {
+        return getValidationManager().getViewIndex(mRootView).findViewById(id);
+    }
+
     protected void init() {
         if (mContext == null || mContext.getTheme() == null) {
             return;
@@ -394,6 +611,57 @@ public abstract class FormHelper {
         return d;
     }
 
+    private void setErrorsToTextViews(final ValidationResult validationResult) {
+        for (int i = 0; i < validationResult.getValidatedIdCount(); i++) {
+            int id = validationResult.getValidatedIdAt(i);
+            View v = findViewById(id);
+            if (!(v instanceof TextView)) {
+                continue;
+            }
+            setErrorToTextView(validationResult, (TextView) v);
+        }
+    }
+
+    private ValidationManager getAsyncValidationManager() {
+        if (mAsyncValidationManager == null) {
+            // Use the other engine not to share the form and the field data
+            // with the UI thread. The validators are shared, and they are
+            // thread-safe because the field data being validated is kept for
+            // each thread and their settings are immutable.
+            mAsyncValidationManager = new ValidationManager(mContext, mFormClass);
+        }
+        return mAsyncValidationManager;
+    }
+
+    private Handler getHandler() {
+        if (mHandler == null) {
+            mHandler = new Handler(Looper.getMainLooper());
+        }
+        return mHandler;
+    }
+
+    private void clearTextChangeValidations() {
+        if (mTextChangeValidations == null) {
+            return;
+        }
+        for (TextChangeValidation validation : mTextChangeValidations) {
+            validation.mEditText.removeTextChangedListener(validation);
+            getHandler().removeCallbacks(validation);
+        }
+        mTextChangeValidations = null;
+    }
+
+    private void clearTextWatchers() {
+        if (mWatchedTexts == null) {
+            return;
+        }
+        for (int i = 0; i < mWatchedTexts.size(); i++) {
+            mWatchedTexts.get(i).removeTextChangedListener(mTextWatchers.get(i));
+        }
+        mWatchedTexts = null;
+        mTextWatchers = null;
+    }
+
     private void setDrawableIntrinsicBounds(final Drawable d) {
         if (d != null) {
             d.setBounds(0, 0, d.getIntrinsicWidth(), d.getIntrinsicHeight());
@@ -413,4 +681,46 @@ public abstract class FormHelper {
         }
         return mValidationManager;
     }
+
+    /**
+     * Debounced validation of a text field.<br>
+     * This is created once for each field, so text changes do not allocate
+     * new objects.
+     */
+    private final class TextChangeValidation implements TextWatcher, Runnable {
+
+        private final int mId;
+        private final EditText mEditText;
+        private final long mDelay;
+
+        TextChangeValidation(final int id, final EditText editText, final long delay) {
+            mId = id;
+            mEditText = editText;
+            mDelay = delay;
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            // Only the latest change is validated
+            Handler handler = getHandler();
+            handler.removeCallbacks(this);
+            handler.postDelayed(this, mDelay);
+        }
+
+        @Override
+        public void run() {
+            getValidationManager().extractField(mId);
+            ValidationResult result = getValidationManager().validate(mId);
+            setErrorToTextView(result, mEditText);
+            result.recycle();
+        }
+    }
 }
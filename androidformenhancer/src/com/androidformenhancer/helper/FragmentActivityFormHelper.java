@@ -80,14 +80,15 @@ public class FragmentActivityFormHelper extends FormHelper {
         if (mFragmentActivity == null) {
             throw new IllegalStateException(EXCEPTION_MSG_WITHOUT_FRAGMENT_ACTIVITY);
         }
-        mFragmentActivity.findViewById(id).setClickable(true);
-        mFragmentActivity.findViewById(id).setOnClickListener(new View.OnClickListener() {
+        View view = findViewById(id);
+        view.setClickable(true);
+        view.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
                 showDatePickerDialog(id, defaultMessageId);
             }
         });
-        ((TextView) mFragmentActivity.findViewById(id)).setText(mFragmentActivity.getString(defaultMessageId));
+        ((TextView) view).setText(mFragmentActivity.getString(defaultMessageId));
     }
 
     @Override
@@ -95,7 +96,7 @@ public class FragmentActivityFormHelper extends FormHelper {
         if (mFragmentActivity == null) {
             throw new IllegalStateException(EXCEPTION_MSG_WITHOUT_FRAGMENT_ACTIVITY);
         }
-        View v = mFragmentActivity.findViewById(id);
+        View v = findViewById(id);
         if (v == null || !(v instanceof TextView)) {
             throw new IllegalArgumentException("Target view must be valid TextView: " + v);
         }
@@ -79,14 +79,15 @@ public class SupportFragmentFormHelper extends FormHelper {
         if (mFragment == null) {
             throw new IllegalStateException(EXCEPTION_MSG_WITHOUT_FRAGMENT_ACTIVITY);
         }
-        mFragment.getActivity().findViewById(id).setClickable(true);
-        mFragment.getActivity().findViewById(id).setOnClickListener(new View.OnClickListener() {
+        View view = findViewById(id);
+        view.setClickable(true);
+        view.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
                 showDatePickerDialog(id, defaultMessageId);
             }
         });
-        ((TextView) mFragment.getActivity().findViewById(id)).setText(mFragment.getActivity().getString(defaultMessageId));
+        ((TextView) view).setText(mFragment.getActivity().getString(defaultMessageId));
     }
 
     @Override
@@ -94,7 +95,7 @@ public class SupportFragmentFormHelper extends FormHelper {
         if (mFragment == null) {
             throw new IllegalStateException(EXCEPTION_MSG_WITHOUT_FRAGMENT_ACTIVITY);
         }
-        View v = mFragment.getActivity().findViewById(id);
+        View v = findViewById(id);
         if (v == null || !(v instanceof TextView)) {
             throw new IllegalArgumentException("Target view must be valid TextView: " + v);
         }
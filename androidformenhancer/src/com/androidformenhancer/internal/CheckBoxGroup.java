@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.widget.CheckBox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index of the tagged check boxes in a check box group which does not have
+ * {@linkplain com.androidformenhancer.annotation.WidgetValue}s.
+ * <p/>
+ * The check boxes in the group are found once, and found again only when
+ * a view is added to or removed from the group.
+ * Same as {@linkplain ViewIndex},
+ * {@linkplain ViewGroup.OnHierarchyChangeListener} is not used because it
+ * might be used by the application, so the numbers of the children of the
+ * view groups and the parents of the views found are checked on each lookup
+ * instead.
+ * The string values of the tags are also cached while the tags are not
+ * changed.
+ * <p/>
+ * This object is not thread-safe, and must be used on the UI thread.
+ *
+ * @author Soichiro Kashima
+ */
+public final class CheckBoxGroup {
+
+    private final ViewGroup mGroup;
+    private ViewGroup[] mGroups;
+    private ViewParent[] mGroupParents;
+    private int[] mChildCounts;
+    private CheckBox[] mCheckBoxes;
+    private ViewParent[] mCheckBoxParents;
+    private Object[] mTags;
+    private String[] mValues;
+
+    /**
+     * Constructor.
+     *
+     * @param group view group which has the check boxes
+     */
+    public CheckBoxGroup(final ViewGroup group) {
+        mGroup = group;
+    }
+
+    /**
+     * Returns the view group which has the check boxes.
+     *
+     * @return view group
+     */
+    public ViewGroup getGroup() {
+        return mGroup;
+    }
+
+    /**
+     * Adds the values of the tags of the checked check boxes to the list.
+     * The check boxes which do not have tags are ignored.
+     *
+     * @param checkedValues list to add the values
+     */
+    public void addCheckedValues(final List<String> checkedValues) {
+        if (mCheckBoxes == null || isStale()) {
+            build();
+        }
+        for (int i = 0; i < mCheckBoxes.length; i++) {
+            CheckBox cb = mCheckBoxes[i];
+            if (!cb.isChecked()) {
+                continue;
+            }
+            Object tag = cb.getTag();
+            if (tag == null) {
+                continue;
+            }
+            if (tag != mTags[i]) {
+                mTags[i] = tag;
+                mValues[i] = tag.toString();
+            }
+            checkedValues.add(mValues[i]);
+        }
+    }
+
+    /**
+     * Releases the found views. This object should not be used after this
+     * method is called.
+     */
+    public void release() {
+        mGroups = null;
+        mGroupParents = null;
+        mChildCounts = null;
+        mCheckBoxes = null;
+        mCheckBoxParents = null;
+        mTags = null;
+        mValues = null;
+    }
+
+    private void build() {
+        List<ViewGroup> groups = new ArrayList<ViewGroup>();
+        List<CheckBox> checkBoxes = new ArrayList<CheckBox>();
+        collect(mGroup, groups, checkBoxes);
+        mGroups = groups.toArray(new ViewGroup[groups.size()]);
+        mGroupParents = new ViewParent[mGroups.length];
+        mChildCounts = new int[mGroups.length];
+        for (int i = 0; i < mGroups.length; i++) {
+            mGroupParents[i] = mGroups[i].getParent();
+            mChildCounts[i] = mGroups[i].getChildCount();
+        }
+        mCheckBoxes = checkBoxes.toArray(new CheckBox[checkBoxes.size()]);
+        mCheckBoxParents = new ViewParent[mCheckBoxes.length];
+        for (int i = 0; i < mCheckBoxes.length; i++) {
+            mCheckBoxParents[i] = mCheckBoxes[i].getParent();
+        }
+        mTags = new Object[mCheckBoxes.length];
+        mValues = new String[mCheckBoxes.length];
+    }
+
+    /**
+     * Checks if a view has been added to or removed from the view groups
+     * since the check boxes are found.
+     */
+    private boolean isStale() {
+        for (int i = 0; i < mGroups.length; i++) {
+            ViewGroup group = mGroups[i];
+            if (group.getChildCount() != mChildCounts[i]
+                    || (group != mGroup && group.getParent() != mGroupParents[i])) {
+                return true;
+            }
+        }
+        for (int i = 0; i < mCheckBoxes.length; i++) {
+            if (mCheckBoxes[i].getParent() != mCheckBoxParents[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(final ViewGroup group, final List<ViewGroup> groups,
+                                final List<CheckBox> checkBoxes) {
+        groups.add(group);
+        for (int i = 0; i < group.getChildCount(); i++) {
+            View child = group.getChildAt(i);
+            if (child instanceof CheckBox) {
+                checkBoxes.add((CheckBox) child);
+            } else if (child instanceof ViewGroup) {
+                collect((ViewGroup) child, groups, checkBoxes);
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.support.v4.util.LruCache;
+import android.util.SparseArray;
+
+import com.androidformenhancer.MessageSource;
+import com.androidformenhancer.R;
+import com.androidformenhancer.ResourceSource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolved error messages and field names for the validators.
+ * <p/>
+ * The catalog is shared by all the contexts whose styles define the same
+ * message resource IDs and settings with the same locale, so the Activities
+ * which have the same theme use the same catalog.
+ * The message templates and field names are loaded once for each resource ID.
+ * The cached strings are discarded when the locale of the resources is
+ * changed.
+ * The catalog keeps only the resources of the application, not the ones of
+ * the Activity, and only the recently used catalogs are cached.
+ * This is the {@linkplain MessageSource} and the {@linkplain ResourceSource}
+ * given to the validators by the Android library.
+ *
+ * @author Soichiro Kashima
+ */
+public final class MessageCatalog implements MessageSource, ResourceSource {
+
+    /**
+     * Maximum number of the cached catalogs for the styles and the locales.
+     */
+    static final int MAX_CACHE_SIZE = 8;
+
+    private static final LruCache<Key, MessageCatalog> CACHE =
+            new LruCache<Key, MessageCatalog>(MAX_CACHE_SIZE);
+
+    /**
+     * Pairs of the attribute index and the default message resource ID for
+     * the keys of {@linkplain MessageSource}.
+     */
+    private static final Map<String, int[]> MESSAGES = new HashMap<String, int[]>();
+
+    static {
+        putMessage(MessageSource.DATE_PATTERN,
+                R.styleable.ValidatorMessages_afeErrorDatePattern,
+                R.string.afe__msg_validation_date);
+        putMessage(MessageSource.DIGITS,
+                R.styleable.ValidatorMessages_afeErrorDigits,
+                R.string.afe__msg_validation_digits);
+        putMessage(MessageSource.EMAIL,
+                R.styleable.ValidatorMessages_afeErrorEmail,
+                R.string.afe__msg_validation_email);
+        putMessage(MessageSource.INT_RANGE,
+                R.styleable.ValidatorMessages_afeErrorIntRange,
+                R.string.afe__msg_validation_int_range);
+        putMessage(MessageSource.INT_TYPE,
+                R.styleable.ValidatorMessages_afeErrorIntType,
+                R.string.afe__msg_validation_int_type);
+        putMessage(MessageSource.FLOAT_TYPE,
+                R.styleable.ValidatorMessages_afeErrorFloatType,
+                R.string.afe__msg_validation_float_type);
+        putMessage(MessageSource.LENGTH,
+                R.styleable.ValidatorMessages_afeErrorLength,
+                R.string.afe__msg_validation_length);
+        putMessage(MessageSource.MAX_LENGTH,
+                R.styleable.ValidatorMessages_afeErrorMaxLength,
+                R.string.afe__msg_validation_max_length);
+        putMessage(MessageSource.MAX_NUM_OF_DIGITS,
+                R.styleable.ValidatorMessages_afeErrorMaxNumOfDigits,
+                R.string.afe__msg_validation_max_num_of_digits);
+        putMessage(MessageSource.MAX_VALUE,
+                R.styleable.ValidatorMessages_afeErrorMaxValue,
+                R.string.afe__msg_validation_max_value);
+        putMessage(MessageSource.MIN_VALUE,
+                R.styleable.ValidatorMessages_afeErrorMinValue,
+                R.string.afe__msg_validation_min_value);
+        putMessage(MessageSource.MULTIBYTE,
+                R.styleable.ValidatorMessages_afeErrorMultibyte,
+                R.string.afe__msg_validation_multibyte);
+        putMessage(MessageSource.NUM_OF_DIGITS,
+                R.styleable.ValidatorMessages_afeErrorNumOfDigits,
+                R.string.afe__msg_validation_num_of_digits);
+        putMessage(MessageSource.PAST_DATE,
+                R.styleable.ValidatorMessages_afeErrorPastDate,
+                R.string.afe__msg_validation_past_date);
+        putMessage(MessageSource.REGEX,
+                R.styleable.ValidatorMessages_afeErrorRegex,
+                R.string.afe__msg_validation_regex);
+        putMessage(MessageSource.REQUIRED,
+                R.styleable.ValidatorMessages_afeErrorRequired,
+                R.string.afe__msg_validation_required);
+        putMessage(MessageSource.REQUIRED_SELECTION,
+                R.styleable.ValidatorMessages_afeErrorRequiredSelection,
+                R.string.afe__msg_validation_required_selection);
+        putMessage(MessageSource.REQUIRED_MULTIPLE_SELECTION,
+                R.styleable.ValidatorMessages_afeErrorRequiredMultipleSelection,
+                R.string.afe__msg_validation_required_multiple_selection);
+        putMessage(MessageSource.SINGLEBYTE,
+                R.styleable.ValidatorMessages_afeErrorSinglebyte,
+                R.string.afe__msg_validation_singlebyte);
+        putMessage(MessageSource.HIRAGANA,
+                R.styleable.ValidatorMessages_afeErrorHiragana,
+                R.string.afe__msg_validation_hiragana);
+        putMessage(MessageSource.KATAKANA,
+                R.styleable.ValidatorMessages_afeErrorKatakana,
+                R.string.afe__msg_validation_katakana);
+        putMessage(MessageSource.ALPHABET,
+                R.styleable.ValidatorMessages_afeErrorAlphabet,
+                R.string.afe__msg_validation_alphabet);
+        putMessage(MessageSource.ALPHA_NUM,
+                R.styleable.ValidatorMessages_afeErrorAlphaNum,
+                R.string.afe__msg_validation_alphanum);
+    }
+
+    private final Resources mResources;
+    private final int[] mMessageResIds;
+    private final String mCharacterEncoding;
+    private final String mEmailPattern;
+    private final SparseArray<String> mStrings;
+    private Locale mLocale;
+
+    private MessageCatalog(final Resources resources, final Key key) {
+        mResources = resources;
+        mLocale = getCurrentLocale();
+        mStrings = new SparseArray<String>();
+        mMessageResIds = key.mMessageResIds;
+        mCharacterEncoding = key.mCharacterEncoding;
+        mEmailPattern = key.mEmailPatternResId == 0
+                ? null : resources.getString(key.mEmailPatternResId);
+    }
+
+    /**
+     * Gets the catalog for the style of the context.<br>
+     * The catalog is shared by the contexts which have the same message
+     * resource IDs, settings and locale.
+     *
+     * @param context context to access to the resources
+     * @return message catalog
+     */
+    public static MessageCatalog get(final Context context) {
+        final Key key = readKey(context);
+        synchronized (CACHE) {
+            MessageCatalog catalog = CACHE.get(key);
+            if (catalog == null) {
+                catalog = new MessageCatalog(getApplicationResources(context), key);
+                CACHE.put(key, catalog);
+            }
+            return catalog;
+        }
+    }
+
+    /**
+     * Gets the resource ID of the message defined in the
+     * {@code afeValidatorMessages} style.
+     *
+     * @param index     index of the attributes
+     * @param defaultId message resource ID used if the style does not define
+     * @return resource ID of the message
+     */
+    public int getMessageResId(final int index, final int defaultId) {
+        int messageResId = 0;
+        if (0 <= index && index < mMessageResIds.length) {
+            messageResId = mMessageResIds[index];
+        }
+        return messageResId == 0 ? defaultId : messageResId;
+    }
+
+    /**
+     * Gets the error message formatted with the parameters.
+     *
+     * @param index         index of the attributes
+     * @param defaultId     message resource ID of the default message
+     * @param messageParams array of the parameters needed by message resource
+     * @return error message
+     */
+    public String getMessage(final int index, final int defaultId, final Object... messageParams) {
+        final String template = getString(getMessageResId(index, defaultId));
+        return String.format(getLocale(), template, messageParams);
+    }
+
+    @Override
+    public String getMessage(final String key, final Object... messageParams) {
+        int[] message = MESSAGES.get(key);
+        if (message == null) {
+            throw new IllegalArgumentException("Message is not defined: " + key);
+        }
+        return getMessage(message[0], message[1], messageParams);
+    }
+
+    /**
+     * Gets the string resource.<br>
+     * This is the same as {@linkplain Resources#getString(int, Object...)}
+     * but the string is loaded only once.
+     *
+     * @param resId  resource ID of the string
+     * @param params array of the parameters needed by the string
+     * @return string, or null if the resource is not found
+     */
+    @Override
+    public String getString(final int resId, final Object... params) {
+        String s;
+        synchronized (this) {
+            checkLocale();
+            s = mStrings.get(resId);
+            if (s == null) {
+                try {
+                    s = mResources.getString(resId);
+                } catch (Resources.NotFoundException e) {
+                    return null;
+                }
+                mStrings.put(resId, s);
+            }
+        }
+        if (params.length == 0) {
+            return s;
+        }
+        return String.format(getLocale(), s, params);
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return mCharacterEncoding;
+    }
+
+    @Override
+    public String getEmailPattern() {
+        return mEmailPattern;
+    }
+
+    private synchronized Locale getLocale() {
+        checkLocale();
+        return mLocale;
+    }
+
+    private void checkLocale() {
+        final Locale locale = getCurrentLocale();
+        if (locale != mLocale && (locale == null || !locale.equals(mLocale))) {
+            mStrings.clear();
+            mLocale = locale;
+        }
+    }
+
+    private Locale getCurrentLocale() {
+        return mResources.getConfiguration().locale;
+    }
+
+    private static Resources getApplicationResources(final Context context) {
+        // Do not keep the Activity by its resources
+        Context applicationContext = context.getApplicationContext();
+        return (applicationContext == null ? context : applicationContext).getResources();
+    }
+
+    private static void putMessage(final String key, final int index, final int defaultId) {
+        MESSAGES.put(key, new int[] {
+                index, defaultId
+        });
+    }
+
+    private static Key readKey(final Context context) {
+        int[] messageResIds = new int[R.styleable.ValidatorMessages.length];
+        TypedArray a = context.getTheme().obtainStyledAttributes(null,
+                R.styleable.ValidatorMessages,
+                R.attr.afeValidatorMessages, 0);
+        for (int i = 0; i < messageResIds.length; i++) {
+            messageResIds[i] = a.getResourceId(i, 0);
+        }
+        a.recycle();
+
+        a = context.getTheme().obtainStyledAttributes(null,
+                R.styleable.ValidatorDefinitions,
+                R.attr.afeValidatorDefinitions, 0);
+        String characterEncoding =
+                a.getString(R.styleable.ValidatorDefinitions_afeCharacterEncoding);
+        int emailPatternResId =
+                a.getResourceId(R.styleable.ValidatorDefinitions_afeCustomEmailPattern, 0);
+        a.recycle();
+
+        return new Key(messageResIds, characterEncoding, emailPatternResId,
+                context.getResources().getConfiguration().locale);
+    }
+
+    /**
+     * Contents of the styles and the locale which decide the catalog.
+     */
+    private static final class Key {
+        private final int[] mMessageResIds;
+        private final String mCharacterEncoding;
+        private final int mEmailPatternResId;
+        private final Locale mLocale;
+        private final int mHashCode;
+
+        private Key(final int[] messageResIds, final String characterEncoding,
+                    final int emailPatternResId, final Locale locale) {
+            mMessageResIds = messageResIds;
+            mCharacterEncoding = characterEncoding;
+            mEmailPatternResId = emailPatternResId;
+            mLocale = locale;
+            mHashCode = 31 * (31 * (31 * Arrays.hashCode(messageResIds)
+                    + (characterEncoding == null ? 0 : characterEncoding.hashCode()))
+                    + emailPatternResId)
+                    + (locale == null ? 0 : locale.hashCode());
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Arrays.equals(mMessageResIds, other.mMessageResIds)
+                    && equals(mCharacterEncoding, other.mCharacterEncoding)
+                    && mEmailPatternResId == other.mEmailPatternResId
+                    && equals(mLocale, other.mLocale);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+
+        private static boolean equals(final Object a, final Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+
+}
@@ -17,9 +17,6 @@
 package com.androidformenhancer.internal;
 
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.text.TextUtils;
-import android.util.Log;
 import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
@@ -29,40 +26,42 @@ import android.widget.RadioGroup;
 import android.widget.Spinner;
 
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
-import com.androidformenhancer.ValidationException;
+import com.androidformenhancer.FormSnapshot;
 import com.androidformenhancer.ValidationResult;
 import com.androidformenhancer.WidgetType;
-import com.androidformenhancer.annotation.Widget;
 import com.androidformenhancer.annotation.WidgetValue;
+import com.androidformenhancer.utils.IntMap;
+import com.androidformenhancer.validator.BaseValidator;
 import com.androidformenhancer.validator.Validator;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
 /**
  * The utility to validate input values.
+ * <p/>
+ * The validation itself is done by {@linkplain ValidationEngine} of the core
+ * library, and this class reads the values from the views and gives the
+ * messages of the resources to the validators.
  *
  * @author Soichiro Kashima
  */
 public final class ValidationManager {
-    private static final String TAG = "AFE";
 
-    public static final int STOP_POLICY_CONTINUE_ALL = 0;
-    public static final int STOP_POLICY_STOP_ALL_IF_ANY = 1;
-    public static final int STOP_POLICY_STOP_AND_RESUME_NEXT = 2;
+    public static final int STOP_POLICY_CONTINUE_ALL =
+            ValidationEngine.STOP_POLICY_CONTINUE_ALL;
+    public static final int STOP_POLICY_STOP_ALL_IF_ANY =
+            ValidationEngine.STOP_POLICY_STOP_ALL_IF_ANY;
+    public static final int STOP_POLICY_STOP_AND_RESUME_NEXT =
+            ValidationEngine.STOP_POLICY_STOP_AND_RESUME_NEXT;
 
-    private int mStopPolicy;
-    private List<Validator<?>> mValidators;
-
-    private Class<?> mFormClass;
-    private Object mForm;
-    private SparseArray<FieldData> mFieldDataArray;
+    private ValidationEngine mEngine;
+    private Context mContext;
+    private MessageCatalog mMessageCatalog;
+    private View mRootView;
+    private ViewIndex mViewIndex;
+    private WidgetReader mWidgetReader;
 
     /**
      * Constructor.
@@ -71,86 +70,66 @@ public final class ValidationManager {
      * @param formClass POJO form class which has information of the form
      */
     public ValidationManager(final Context context, final Class<?> formClass) {
-        mValidators = new ArrayList<Validator<?>>();
-        mStopPolicy = STOP_POLICY_CONTINUE_ALL;
-        mFormClass = formClass;
+        mEngine = new ValidationEngine(formClass);
+        mContext = context;
+        mWidgetReader = new ViewReader();
         init(context);
     }
 
     /**
-     * Reads the form information from the form, and creates a new object.
+     * Reads the form information from the form.<br>
+     * The form object is created at the first extraction and reused after
+     * that. All the fields are written by each extraction, so the form does
+     * not keep the stale values.
+     * Use {@linkplain #getFormSnapshot()} to get the values at a time.
      *
      * @param rootView root view of the form
      */
     public void extractFormFromView(final View rootView) {
-        ensureFormFieldsTypes();
-
-        try {
-            mForm = mFormClass.newInstance();
-            mFieldDataArray = new SparseArray<FieldData>();
-            final Field[] fields = mFormClass.getFields();
-            for (Field field : fields) {
-                Widget widget = field.getAnnotation(Widget.class);
-                if (widget == null) {
-                    continue;
-                }
-                View view = rootView.findViewById(widget.id());
-                if (view instanceof EditText) {
-                    String value = ((EditText) view).getText().toString();
-                    field.set(mForm, value);
-                    addFormMetaData(field, WidgetType.TEXT, value);
-                    continue;
-                }
-                if (view instanceof RadioGroup) {
-                    RadioGroup radioGroup = (RadioGroup) view;
-                    int checkedId = radioGroup.getCheckedRadioButtonId();
-                    WidgetValue[] values = widget.values();
-                    String value = null;
-                    for (int i = 0; i < values.length; i++) {
-                        if (values[i].id() == checkedId) {
-                            field.set(mForm, values[i].value());
-                            value = values[i].value();
-                            break;
-                        }
-                    }
-                    addFormMetaData(field, WidgetType.RADIO, value);
-                    continue;
-                }
-                if (view instanceof Spinner) {
-                    int index = ((Spinner) view).getSelectedItemPosition();
-                    field.set(mForm, Integer.toString(index));
-                    addFormMetaData(field, WidgetType.SPINNER, Integer.toString(index));
-                    continue;
-                }
-                if (view instanceof ViewGroup) {
-                    ViewGroup group = (ViewGroup) view;
-                    List<String> checkedValues = new ArrayList<String>();
-                    if (widget.values() != null && widget.values().length > 0) {
-                        for (WidgetValue checkBoxValue : widget.values()) {
-                            CheckBox cb = (CheckBox) group.findViewById(checkBoxValue.id());
-                            if (cb != null && cb.isChecked()) {
-                                checkedValues.add(checkBoxValue.value());
-                            }
-                        }
-                    } else {
-                        List<CheckBox> cbs = findCheckboxes(group);
-                        for (CheckBox cb : cbs) {
-                            if (cb != null && cb.isChecked() && cb.getTag() != null) {
-                                Object tag = cb.getTag();
-                                checkedValues.add(tag.toString());
-                            }
-                        }
-                    }
-                    field.set(mForm, checkedValues);
-                    addFormMetaData(field, WidgetType.CHECKBOX, checkedValues);
-                    continue;
-                }
+        mRootView = rootView;
+        mEngine.extract(mWidgetReader);
+    }
+
+    /**
+     * Returns the index of the views in the form to find the views without
+     * walking the view tree.<br>
+     * The index is reused while the same root view is used.
+     * This method must be called on the UI thread.
+     *
+     * @param rootView root view of the form
+     * @return index of the views
+     */
+    public ViewIndex getViewIndex(final View rootView) {
+        if (mViewIndex == null || mViewIndex.getRootView() != rootView) {
+            if (mViewIndex != null) {
+                mViewIndex.release();
             }
-        } catch (Exception e) {
-            mForm = null;
-            Log.v(TAG, e.getMessage(), e);
-            throw new RuntimeException("Failed to create form instance or retrive data.", e);
+            mViewIndex = new ViewIndex(rootView);
         }
+        return mViewIndex;
+    }
+
+    /**
+     * Reads the value of the field specified by {@code id} from the view
+     * again, and updates the form extracted by
+     * {@linkplain #extractFormFromView(View)}.<br>
+     * The fields which the conditions of the field refer to are also read
+     * again, so that {@linkplain #validate(int)} gives the same result as
+     * extracting the whole form.
+     * <p/>
+     * The other fields and the field data objects are reused, so this is much
+     * lighter than extracting the whole form when only one field has been
+     * changed, such as on focus out.
+     *
+     * @param id resource ID of the target field
+     * @return true if any value has been changed
+     * @throws IllegalStateException if the form has not been extracted
+     */
+    public boolean extractField(final int id) {
+        if (mRootView == null) {
+            throw new IllegalStateException("Form is not initialized or validated.");
+        }
+        return mEngine.extractField(id);
     }
 
     /**
@@ -159,7 +138,7 @@ public final class ValidationManager {
      * @return result of the validation
      */
     public ValidationResult validate() {
-        return validate(0);
+        return mEngine.validate();
     }
 
     /**
@@ -168,42 +147,111 @@ public final class ValidationManager {
      * @param id resource ID of the target field
      * @return result of the validation
      */
-    @SuppressWarnings({
-            "rawtypes", "unchecked"
-    })
     public ValidationResult validate(final int id) {
-        ValidationResult validationResult = new ValidationResult();
+        return mEngine.validate(id);
+    }
 
-        for (Validator<?> validator : mValidators) {
-            validator.setFieldDataArray(mFieldDataArray);
-        }
+    /**
+     * Creates a copy of the extracted field data.<br>
+     * The copy is not affected by the following extractions, so it can be
+     * validated on the other thread with
+     * {@linkplain #validateFieldData(SparseArray)}.
+     *
+     * @return copy of the extracted field data
+     * @throws IllegalStateException if the form has not been extracted
+     */
+    public SparseArray<FieldData> copyFieldDataArray() {
+        return toSparseArray(mEngine.copyFieldDataArray());
+    }
 
-        FieldData[] sorted = id == 0 ? sort() : new FieldData[]{
-                mFieldDataArray.get(id),
-        };
-        validation:
-        for (FieldData f : sorted) {
-            Widget widget = f.getWidget();
-            validationResult.addValidatedId(widget.id());
-            for (Validator validator : mValidators) {
-                Annotation annotation = f.getAnnotation(validator.getAnnotationClass());
-                if (annotation == null) {
-                    continue;
-                }
-                String errorMessage = validator.validate(annotation, getFieldData(widget.id()));
-                if (!TextUtils.isEmpty(errorMessage)) {
-                    validationResult.addError(widget.id(), errorMessage);
-                    if (mStopPolicy == STOP_POLICY_STOP_ALL_IF_ANY) {
-                        break validation;
-                    }
-                    if (mStopPolicy == STOP_POLICY_STOP_AND_RESUME_NEXT) {
-                        break;
-                    }
-                }
-            }
-        }
+    /**
+     * Validates all the fields of the given field data instead of the
+     * extracted ones.
+     * <p/>
+     * This method is thread-safe, so a manager dedicated to this method can
+     * be used from the worker threads. Note that the validators also must be
+     * thread-safe in that case.
+     *
+     * @param fieldDataArray field data created by
+     *                       {@linkplain #copyFieldDataArray()}
+     * @return result of the validation
+     */
+    public ValidationResult validateFieldData(final SparseArray<FieldData> fieldDataArray) {
+        return mEngine.validateFieldData(toIntMap(fieldDataArray));
+    }
 
-        return validationResult;
+    /**
+     * Validates all the fields of the form object which has not been
+     * extracted from the views, such as the one restored from a draft.
+     * <p/>
+     * The widget types are decided by the form class: List fields are
+     * validated as check boxes, the fields which have
+     * {@linkplain com.androidformenhancer.annotation.Widget#values()} as radio
+     * groups, and the other fields as text fields.
+     * The field data used for this method are created once and reused, so
+     * many forms can be validated with the same manager without the views.
+     * This method is thread-safe in the same way as
+     * {@linkplain #validateFieldData(SparseArray)}.
+     *
+     * @param form form object to validate, an instance of the form class of
+     *             this manager
+     * @return result of the validation
+     * @throws IllegalArgumentException if the form is not an instance of the
+     *             form class
+     */
+    public ValidationResult validate(final Object form) {
+        return mEngine.validate(form);
+    }
+
+    /**
+     * Validates all the fields of the form with the values given by the
+     * resource IDs of the fields, without the views and the form object.
+     * <p/>
+     * The values must be String for the text fields, radio groups and
+     * spinners, and List&lt;String&gt; for the check boxes.
+     * The fields which are not included in {@code values} are validated as
+     * they have no input.
+     * The widget types are decided in the same way as
+     * {@linkplain #validate(Object)}.
+     *
+     * @param values values of the fields mapped by the resource IDs
+     * @return result of the validation
+     */
+    public ValidationResult validate(final SparseArray<Object> values) {
+        return mEngine.validate(toIntMap(values));
+    }
+
+    /**
+     * Marks the field as it may have been changed after the last validation.
+     * <p/>
+     * The fields marked with this method are read from the view and
+     * validated again by the next {@linkplain #validateIncrementally(View)}.
+     *
+     * @param id resource ID of the target field
+     */
+    public void markDirty(final int id) {
+        mEngine.markDirty(id);
+    }
+
+    /**
+     * Validates the input values of the fields marked as dirty by
+     * {@linkplain #markDirty(int)}, and the fields which have conditions
+     * ({@linkplain com.androidformenhancer.annotation.When}) depending on
+     * them.
+     * <p/>
+     * The errors of the other fields are reused from the previous
+     * validations, so the result is the same as
+     * {@linkplain #extractFormFromView(View)} and {@linkplain #validate()}
+     * as long as all the changed fields are marked.
+     * At the first time, or after {@linkplain #extractFormFromView(View)},
+     * all the fields are extracted and validated.
+     *
+     * @param rootView root view of the form
+     * @return result of the validation
+     */
+    public ValidationResult validateIncrementally(final View rootView) {
+        mRootView = rootView;
+        return mEngine.validateIncrementally(mWidgetReader);
     }
 
     /**
@@ -211,12 +259,14 @@ public final class ValidationManager {
      * <p/>
      * You should execute {@linkplain #extractFormFromView(View)} to extract
      * field data before calling this method.
+     * The field data is reused by the next extraction, so copy it with
+     * {@linkplain FieldData#FieldData(FieldData)} to keep the current value.
      *
      * @param id resource ID of the target field
      * @return field data
      */
     public FieldData getFieldData(final int id) {
-        return mFieldDataArray.get(id);
+        return mEngine.getFieldData(id);
     }
 
     /**
@@ -226,282 +276,181 @@ public final class ValidationManager {
      * @return set of the resource IDs
      */
     public Set<Integer> getExtractedWidgetIds() {
-        Set<Integer> ids = new HashSet<Integer>();
-        for (int i = 0; i < mFieldDataArray.size(); i++) {
-            ids.add(mFieldDataArray.keyAt(i));
-        }
-        return ids;
+        return mEngine.getExtractedWidgetIds();
     }
 
     /**
      * Returns the extracted form.<br>
-     * The form returned is deep copy, so values of this object's fields cannot
-     * be changed from inside the FormHelper.
+     * The form returned is a copy, so values of this object's fields are not
+     * changed from inside the FormHelper. The copy is shared until the values
+     * are changed, so the fields must not be modified and the List fields
+     * are unmodifiable.
      *
-     * @return deep copy of the extracted form
+     * @return copy of the extracted form
+     * @see #getFormSnapshot()
      */
     public Object getForm() {
-        if (mForm == null || mFormClass == null) {
-            throw new IllegalStateException("Form is not initialized or validated.");
-        }
-
-        try {
-            Object form = mFormClass.newInstance();
-            for (Field field : mFormClass.getFields()) {
-                // We do not copy non-widget field
-                if (field.getAnnotation(Widget.class) == null) {
-                    continue;
-                }
-
-                // Ignore null field
-                Object value = field.get(mForm);
-                if (value == null) {
-                    continue;
-                }
+        return mEngine.getForm();
+    }
 
-                // Allows only String and List<String> fields
-                Class<?> type = field.getType();
-                if (type.equals(List.class)) {
-                    @SuppressWarnings("unchecked")
-                    List<String> srcList = (List<String>) value;
-                    List<String> dstList = new ArrayList<String>();
-                    for (String srcValue : srcList) {
-                        dstList.add(srcValue);
-                    }
-                    field.set(form, dstList);
-                } else if (type.equals(String.class)) {
-                    field.set(form, field.get(mForm));
-                } else {
-                    throw new IllegalStateException(
-                            "Form class can have only String and List<String> fields but "
-                                    + type + " found."
-                    );
-                }
-            }
-            return form;
-        } catch (InstantiationException e) {
-            Log.v(TAG, "Failed to copy form.", e);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        }
-        return null;
+    /**
+     * Returns the snapshot of the extracted form.<br>
+     * The snapshot is created only when the extracted values have been
+     * changed, so this method returns the same snapshot until the next change
+     * without copying the form.
+     *
+     * @return snapshot of the extracted form
+     * @throws IllegalStateException if the form has not been extracted
+     */
+    public FormSnapshot getFormSnapshot() {
+        return mEngine.getFormSnapshot();
     }
 
     /**
-     * Copies an object fields which have same names as the form class.
+     * Copies an object fields which have same names as the form class.<br>
+     * The mapping between the form class and the entity class is resolved at
+     * the first call and reused after that.
      *
      * @param clazz the entity class to create
      * @return created entity object
+     * @throws IllegalArgumentException if the entity class does not have the
+     *             field for a form field or its type cannot be converted
+     * @see EntityMapper
      */
     public <E> E create(final Class<E> clazz) {
-        Field[] srcFields = mForm.getClass().getFields();
-
-        try {
-            E dst = clazz.newInstance();
-            for (Field srcField : srcFields) {
-                Object value = srcField.get(mForm);
-                if (value == null) {
-                    continue;
-                }
-                String name = srcField.getName();
-                Field dstField = clazz.getField(name);
-                Class<?> dstType = dstField.getType();
-                if (dstType.equals(List.class)) {
-                    @SuppressWarnings("unchecked")
-                    List<String> srcList = (List<String>) value;
-                    List<String> dstList = new ArrayList<String>();
-                    for (String srcValue : srcList) {
-                        dstList.add(srcValue);
-                    }
-                    dstField.set(dst, dstList);
-                } else {
-                    String valueString = (String) value;
-                    if (valueString.length() == 0) {
-                        continue;
-                    }
-                    if (dstType.equals(String.class)) {
-                        dstField.set(dst, valueString);
-                    } else if (dstType.equals(int.class)) {
-                        dstField.setInt(dst, Integer.parseInt(valueString));
-                    } else if (dstType.equals(float.class)) {
-                        dstField.setFloat(dst, Float.parseFloat(valueString));
-                    } else if (dstType.equals(double.class)) {
-                        dstField.setDouble(dst, Double.parseDouble(valueString));
-                    } else if (dstType.equals(boolean.class)) {
-                        dstField.setBoolean(dst, Boolean.parseBoolean(valueString));
-                    } else if (dstType.equals(long.class)) {
-                        dstField.setLong(dst, Long.parseLong(valueString));
-                    } else if (dstType.equals(short.class)) {
-                        dstField.setShort(dst, Short.parseShort(valueString));
-                    } else if (dstType.equals(char.class)) {
-                        dstField.setChar(dst, valueString.charAt(0));
-                    } else {
-                        throw new IllegalArgumentException(
-                                "Entity field types must be primitive types or String or List<String>: "
-                                        + dstType.getCanonicalName()
-                        );
-                    }
-                }
-            }
-            return dst;
-        } catch (Exception e) {
-            Log.v(TAG, e.getMessage(), e);
-            throw new RuntimeException("Failed to instantiate entity.", e);
-        }
+        return mEngine.create(clazz);
+    }
+
+    /**
+     * Builds the validation plan and prepares the validators for it in
+     * advance.<br>
+     * This is called automatically by the first validation, so you do not
+     * have to call it unless you want to move the cost to other timing.
+     */
+    public void prepare() {
+        mEngine.prepare();
     }
 
     /**
      * Clears all the loaded validators. This will mainly be used for tests.
      */
     public void clearValidators() {
-        mValidators.clear();
+        mEngine.clearValidators();
     }
 
     /**
-     * Adds a validator to be used by {@linkplain #validate()}.
+     * Adds a validator to be used by {@linkplain #validate()}.<br>
+     * The messages and the resources of the context are given to the
+     * validator, and the context is also given if it extends
+     * {@linkplain Validator}.
      *
      * @param validator validator object to add
      */
-    public void addValidator(final Validator<?> validator) {
-        mValidators.add(validator);
-    }
-
-    private void init(final Context context) {
-        TypedArray a = context.getTheme().obtainStyledAttributes(null,
-                R.styleable.ValidatorDefinitions,
-                R.attr.afeValidatorDefinitions, 0);
-
-        mStopPolicy = a.getInt(R.styleable.ValidatorDefinitions_afeStopPolicy,
-                ValidationManager.STOP_POLICY_CONTINUE_ALL);
-
-        CharSequence[] standards =
-                a.getTextArray(R.styleable.ValidatorDefinitions_afeStandardValidators);
-
-        if (standards == null) {
-            // Use default standard validators if not specified with style.
-            standards = context.getResources().getTextArray(R.array.afe__validators);
+    public void addValidator(final BaseValidator<?> validator) {
+        if (mMessageCatalog != null) {
+            validator.setMessageSource(mMessageCatalog);
+            validator.setResourceSource(mMessageCatalog);
         }
-
-        if (standards != null) {
-            for (CharSequence validatorClassName : standards) {
-                try {
-                    Class<?> validatorClass = Class.forName(validatorClassName.toString());
-                    Validator<?> validator = (Validator<?>) validatorClass.newInstance();
-                    validator.setContext(context);
-                    addValidator(validator);
-                } catch (ClassNotFoundException e) {
-                    throw new ValidationException(e);
-                } catch (InstantiationException e) {
-                    throw new ValidationException(e);
-                } catch (IllegalAccessException e) {
-                    throw new ValidationException(e);
-                }
-            }
+        if (validator instanceof Validator) {
+            ((Validator<?>) validator).setContext(mContext);
         }
+        mEngine.addValidator(validator);
+    }
 
-        CharSequence[] customs =
-                a.getTextArray(R.styleable.ValidatorDefinitions_afeCustomValidators);
-
-        if (customs != null) {
-            for (CharSequence validatorClassName : customs) {
-                try {
-                    Class<?> validatorClass = Class.forName(validatorClassName.toString());
-                    Validator<?> validator = (Validator<?>) validatorClass.newInstance();
-                    validator.setContext(context);
-                    mValidators.add(validator);
-                } catch (ClassNotFoundException e) {
-                    throw new ValidationException(e);
-                } catch (InstantiationException e) {
-                    throw new ValidationException(e);
-                } catch (IllegalAccessException e) {
-                    throw new ValidationException(e);
-                }
-            }
-        }
+    /**
+     * Gets the engine which validates the form.
+     *
+     * @return validation engine
+     */
+    ValidationEngine getEngine() {
+        return mEngine;
+    }
 
-        a.recycle();
+    private void init(final Context context) {
+        // The registry reads the styles of the theme only once, and has the
+        // message catalog of them
+        ValidatorRegistry registry = ValidatorRegistry.get(context);
+        mMessageCatalog = registry.getMessageCatalog();
+        mEngine.setStopPolicy(registry.getStopPolicy());
+        for (BaseValidator<?> validator : registry.getValidators(mEngine.getMetadata())) {
+            // The messages of the style are already set to the shared validators
+            mEngine.addValidator(validator);
+        }
     }
 
-    private void ensureFormFieldsTypes() {
-        final Field[] fields = mFormClass.getFields();
-        for (Field field : fields) {
-            // Ensure the field types in form class are all String or
-            // List<String>.
-            Class<?> type = field.getType();
-            if (!type.equals(String.class) && !type.equals(List.class)) {
-                throw new IllegalArgumentException(""
-                        + "All the form instance fields must be String or List<String>. "
-                        + "If you want to use types other than String and List<String>, "
-                        + "create an 'entity class' and use FormHelper#createEntityFromForm() "
-                        + "after calling this method. Field name: "
-                        + field.getName()
-                        + " Field type: "
-                        + type);
-            }
+    private static <E> IntMap<E> toIntMap(final SparseArray<E> array) {
+        IntMap<E> map = new IntMap<E>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            map.put(array.keyAt(i), array.valueAt(i));
         }
+        return map;
     }
 
-    private void addFormMetaData(final Field field, WidgetType type, Object value) {
-        FieldData data = new FieldData(field, type, value);
-        if (data.getWidget() == null) {
-            throw new IllegalStateException();
+    private static <E> SparseArray<E> toSparseArray(final IntMap<E> map) {
+        SparseArray<E> array = new SparseArray<E>(map.size());
+        for (int i = 0; i < map.size(); i++) {
+            array.put(map.keyAt(i), map.valueAt(i));
         }
-        mFieldDataArray.put(data.getId(), data);
+        return array;
     }
 
-    private FieldData[] sort() {
-        if (mFieldDataArray.size() == 0) {
-            return null;
+    private static WidgetType getWidgetType(final View view) {
+        if (view instanceof EditText) {
+            return WidgetType.TEXT;
         }
-        if (mFieldDataArray.size() == 1) {
-            return new FieldData[]{
-                    mFieldDataArray.valueAt(0),
-            };
+        if (view instanceof RadioGroup) {
+            return WidgetType.RADIO;
         }
-        SparseArray<List<FieldData>> pool = new SparseArray<List<FieldData>>();
-        LinkedList<FieldData> unchecked = new LinkedList<FieldData>();
-        List<FieldData> result = new ArrayList<FieldData>();
-        for (int i = 0; i < mFieldDataArray.size(); i++) {
-            FieldData fieldData = mFieldDataArray.valueAt(i);
-            Widget widget = fieldData.getWidget();
-            if (pool.indexOfKey(widget.validateAfter()) >= 0) {
-                pool.get(widget.validateAfter()).add(fieldData);
-            } else {
-                List<FieldData> l = new ArrayList<FieldData>();
-                l.add(fieldData);
-                pool.put(widget.validateAfter(), l);
-            }
-            if (widget.validateAfter() == 0) {
-                unchecked.add(fieldData);
-            }
+        if (view instanceof Spinner) {
+            return WidgetType.SPINNER;
         }
-        while (unchecked.size() > 0) {
-            FieldData fieldData = unchecked.remove(0);
-            result.add(fieldData);
-            Widget widget = fieldData.getWidget();
-            if (pool.indexOfKey(widget.id()) >= 0) {
-                List<FieldData> l = pool.get(widget.id());
-                pool.remove(widget.id());
-                int idx = 0;
-                for (FieldData f : l) {
-                    unchecked.add(idx++, f);
-                }
-            }
+        if (view instanceof ViewGroup) {
+            return WidgetType.CHECKBOX;
         }
-        return result.toArray(new FieldData[]{});
+        return null;
     }
 
-    private List<CheckBox> findCheckboxes(ViewGroup group) {
-        List<CheckBox> list = new ArrayList<CheckBox>();
-        for (int i = 0; i < group.getChildCount(); i++) {
-            View child = group.getChildAt(i);
-            if (child instanceof CheckBox) {
-                CheckBox cb = (CheckBox) child;
-                list.add(cb);
-            } else if (child instanceof ViewGroup) {
-                list.addAll(findCheckboxes((ViewGroup) child));
+    /**
+     * Reads the values from the views under the current root view through
+     * the view index.
+     */
+    private class ViewReader implements WidgetReader {
+
+        @Override
+        public WidgetType getWidgetType(final int id) {
+            return ValidationManager.getWidgetType(getViewIndex(mRootView).findViewById(id));
+        }
+
+        @Override
+        public Object readValue(final int id, final WidgetType type,
+                                final FormMetadata.WidgetField widgetField) {
+            View view = getViewIndex(mRootView).findViewById(id);
+            if (type == WidgetType.TEXT) {
+                return ((EditText) view).getText().toString();
+            }
+            if (type == WidgetType.RADIO) {
+                RadioGroup radioGroup = (RadioGroup) view;
+                int checkedId = radioGroup.getCheckedRadioButtonId();
+                return widgetField.getWidgetValue(checkedId);
+            }
+            if (type == WidgetType.SPINNER) {
+                int index = ((Spinner) view).getSelectedItemPosition();
+                return Integer.toString(index);
+            }
+            ViewGroup group = (ViewGroup) view;
+            List<String> checkedValues = new ArrayList<String>();
+            WidgetValue[] widgetValues = widgetField.getWidgetValues();
+            if (widgetValues.length > 0) {
+                for (WidgetValue checkBoxValue : widgetValues) {
+                    CheckBox cb = (CheckBox) group.findViewById(checkBoxValue.id());
+                    if (cb != null && cb.isChecked()) {
+                        checkedValues.add(checkBoxValue.value());
+                    }
+                }
+            } else {
+                mViewIndex.getCheckBoxGroup(group).addCheckedValues(checkedValues);
             }
+            return checkedValues;
         }
-        return list;
     }
 }
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.support.v4.util.LruCache;
+
+import com.androidformenhancer.FieldSpec;
+import com.androidformenhancer.R;
+import com.androidformenhancer.ValidationException;
+import com.androidformenhancer.validator.BaseValidator;
+import com.androidformenhancer.validator.Validator;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Validators defined in the {@code afeValidatorDefinitions} style.
+ * <p/>
+ * The registry is shared by the contexts whose styles define the same stop
+ * policy and the same validator classes with the same messages, so the
+ * Activities which have the same theme use the same registry.
+ * The registry is also remembered for each theme, so the styles are read
+ * only once for a theme. The theme must not be changed by
+ * {@linkplain android.content.res.Resources.Theme#applyStyle(int, boolean)}
+ * after a form is created with it.
+ * Same as {@linkplain MessageCatalog}, only the recently used registries are
+ * cached.
+ * The validator classes are loaded and their annotation classes are resolved
+ * only when a form needs them. The annotation class is read from the type
+ * argument of {@linkplain BaseValidator}, and the validator is instantiated to
+ * get it only if the type argument is not concrete.
+ * Each validator is instantiated at most once and shared by all the forms,
+ * because the validators do not keep the state of the validations.
+ * The validators are configured only here before they are shared, and read
+ * their settings from the message catalog, which is immutable.
+ * This object is thread-safe.
+ *
+ * @author Soichiro Kashima
+ */
+public final class ValidatorRegistry {
+
+    private static final LruCache<Key, ValidatorRegistry> CACHE =
+            new LruCache<Key, ValidatorRegistry>(MessageCatalog.MAX_CACHE_SIZE);
+
+    /**
+     * Registries for the themes. The themes are not kept by this cache,
+     * so the Activities are not leaked.
+     */
+    private static final Map<Resources.Theme, ValidatorRegistry> THEME_CACHE =
+            new WeakHashMap<Resources.Theme, ValidatorRegistry>();
+
+    private final Key mKey;
+    private final Context mContext;
+    private final Class<?>[] mValidatorClasses;
+    private final int[] mAnnotationSlots;
+    private final BaseValidator<?>[] mValidators;
+
+    private ValidatorRegistry(final Key key, final Context context) {
+        mKey = key;
+        mContext = context;
+        mValidatorClasses = new Class<?>[key.mClassNames.length];
+        mAnnotationSlots = new int[key.mClassNames.length];
+        Arrays.fill(mAnnotationSlots, -1);
+        mValidators = new BaseValidator<?>[key.mClassNames.length];
+    }
+
+    /**
+     * Gets the registry for the style of the context.<br>
+     * The registry is shared by the contexts which have the same definitions
+     * and messages.
+     *
+     * @param context context to access to the resources
+     * @return validator registry
+     */
+    public static ValidatorRegistry get(final Context context) {
+        final Resources.Theme theme = context.getTheme();
+        synchronized (CACHE) {
+            ValidatorRegistry registry = THEME_CACHE.get(theme);
+            if (registry != null) {
+                return registry;
+            }
+        }
+        final Key key = readKey(context);
+        synchronized (CACHE) {
+            ValidatorRegistry registry = CACHE.get(key);
+            if (registry == null) {
+                registry = new ValidatorRegistry(key, getApplicationContext(context));
+                CACHE.put(key, registry);
+            }
+            THEME_CACHE.put(theme, registry);
+            return registry;
+        }
+    }
+
+    /**
+     * Gets the message catalog given to the validators.
+     *
+     * @return message catalog
+     */
+    public MessageCatalog getMessageCatalog() {
+        return mKey.mMessageCatalog;
+    }
+
+    /**
+     * Gets the stop policy defined in the style.
+     *
+     * @return stop policy
+     */
+    public int getStopPolicy() {
+        return mKey.mStopPolicy;
+    }
+
+    /**
+     * Gets the validator classes in the order of the definitions.<br>
+     * All the classes are loaded by this method.
+     *
+     * @return unmodifiable list of the validator classes
+     * @throws ValidationException if a validator class is not found
+     */
+    public synchronized List<Class<?>> getValidatorClasses() {
+        List<Class<?>> validatorClasses = new ArrayList<Class<?>>(mValidatorClasses.length);
+        for (int i = 0; i < mValidatorClasses.length; i++) {
+            validatorClasses.add(getValidatorClass(i));
+        }
+        return Collections.unmodifiableList(validatorClasses);
+    }
+
+    /**
+     * Gets the validators which are needed to validate the form.<br>
+     * The validators whose annotations are not used in the form are not
+     * created. The order of the definitions is kept.
+     * The validators are shared with the other forms, and the messages of
+     * the style are already set to them. The application context is set to
+     * the custom validators which extend {@linkplain Validator}.
+     *
+     * @param metadata metadata of the form class
+     * @return shared validators
+     * @throws ValidationException if a validator class cannot be instantiated
+     */
+    public synchronized List<BaseValidator<?>> getValidators(final FormMetadata metadata) {
+        List<BaseValidator<?>> validators = new ArrayList<BaseValidator<?>>();
+        for (int i = 0; i < mValidators.length; i++) {
+            if (!isUsed(metadata, getAnnotationSlot(i))) {
+                continue;
+            }
+            validators.add(getValidator(i));
+        }
+        return validators;
+    }
+
+    /**
+     * Gets the annotation class from the type argument of
+     * {@linkplain BaseValidator} given by the validator class or its
+     * superclasses.
+     *
+     * @param validatorClass validator class
+     * @return annotation class, or null if the type argument is not concrete
+     */
+    static Class<? extends Annotation> getAnnotationClass(final Class<?> validatorClass) {
+        for (Class<?> c = validatorClass; c != null && c != BaseValidator.class;
+             c = c.getSuperclass()) {
+            Type type = c.getGenericSuperclass();
+            if (!(type instanceof ParameterizedType)) {
+                continue;
+            }
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                if (argument instanceof Class
+                        && Annotation.class.isAssignableFrom((Class<?>) argument)) {
+                    return ((Class<?>) argument).asSubclass(Annotation.class);
+                }
+            }
+        }
+        return null;
+    }
+
+    private int getAnnotationSlot(final int index) {
+        if (mAnnotationSlots[index] < 0) {
+            Class<? extends Annotation> annotationClass =
+                    getAnnotationClass(getValidatorClass(index));
+            if (annotationClass == null) {
+                annotationClass = getValidator(index).getAnnotationClass();
+            }
+            mAnnotationSlots[index] = AnnotationSlots.get(annotationClass);
+        }
+        return mAnnotationSlots[index];
+    }
+
+    private Class<?> getValidatorClass(final int index) {
+        if (mValidatorClasses[index] == null) {
+            try {
+                mValidatorClasses[index] = Class.forName(mKey.mClassNames[index]);
+            } catch (ClassNotFoundException e) {
+                throw new ValidationException(e);
+            }
+        }
+        return mValidatorClasses[index];
+    }
+
+    private BaseValidator<?> getValidator(final int index) {
+        if (mValidators[index] == null) {
+            BaseValidator<?> validator;
+            try {
+                validator = (BaseValidator<?>) getValidatorClass(index).newInstance();
+            } catch (InstantiationException e) {
+                throw new ValidationException(e);
+            } catch (IllegalAccessException e) {
+                throw new ValidationException(e);
+            }
+            validator.setMessageSource(mKey.mMessageCatalog);
+            validator.setResourceSource(mKey.mMessageCatalog);
+            if (validator instanceof Validator) {
+                ((Validator<?>) validator).setContext(mContext);
+            }
+            mValidators[index] = validator;
+        }
+        return mValidators[index];
+    }
+
+    private static boolean isUsed(final FormMetadata metadata, final int slot) {
+        for (FormMetadata.WidgetField widgetField : metadata.getWidgetFields()) {
+            FieldSpec spec = widgetField.getSpec();
+            if (spec.getAnnotation(slot) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Context getApplicationContext(final Context context) {
+        // Do not keep the Activity which created the registry
+        Context applicationContext = context.getApplicationContext();
+        return applicationContext == null ? context : applicationContext;
+    }
+
+    private static Key readKey(final Context context) {
+        TypedArray a = context.getTheme().obtainStyledAttributes(null,
+                R.styleable.ValidatorDefinitions,
+                R.attr.afeValidatorDefinitions, 0);
+
+        int stopPolicy = a.getInt(R.styleable.ValidatorDefinitions_afeStopPolicy,
+                ValidationManager.STOP_POLICY_CONTINUE_ALL);
+
+        CharSequence[] standards =
+                a.getTextArray(R.styleable.ValidatorDefinitions_afeStandardValidators);
+
+        if (standards == null) {
+            // Use default standard validators if not specified with style.
+            standards = context.getResources().getTextArray(R.array.afe__validators);
+        }
+
+        CharSequence[] customs =
+                a.getTextArray(R.styleable.ValidatorDefinitions_afeCustomValidators);
+
+        a.recycle();
+
+        List<String> classNames = new ArrayList<String>();
+        addClassNames(standards, classNames);
+        addClassNames(customs, classNames);
+        return new Key(stopPolicy, classNames.toArray(new String[classNames.size()]),
+                MessageCatalog.get(context));
+    }
+
+    private static void addClassNames(final CharSequence[] classNames,
+                                      final List<String> result) {
+        if (classNames == null) {
+            return;
+        }
+        for (CharSequence className : classNames) {
+            result.add(className.toString());
+        }
+    }
+
+    /**
+     * Contents of the definitions which decide the registry.
+     */
+    private static final class Key {
+        private final int mStopPolicy;
+        private final String[] mClassNames;
+        private final MessageCatalog mMessageCatalog;
+        private final int mHashCode;
+
+        private Key(final int stopPolicy, final String[] classNames,
+                    final MessageCatalog messageCatalog) {
+            mStopPolicy = stopPolicy;
+            mClassNames = classNames;
+            mMessageCatalog = messageCatalog;
+            mHashCode = 31 * (31 * stopPolicy + Arrays.hashCode(classNames))
+                    + System.identityHashCode(messageCatalog);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return mStopPolicy == other.mStopPolicy
+                    && mMessageCatalog == other.mMessageCatalog
+                    && Arrays.equals(mClassNames, other.mClassNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+}
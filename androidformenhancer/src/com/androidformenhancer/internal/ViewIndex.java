@@ -0,0 +1,212 @@
+/*
+ * Copyright 2012 Soichiro Kashima
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.androidformenhancer.internal;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+/**
+ * Index of the views in the form to find them by the resource ID without
+ * walking the view tree every time.
+ * <p/>
+ * All the views which have IDs are indexed by one traversal of the tree.
+ * Same as {@linkplain View#findViewById(int)}, the first view found in the
+ * traversal wins if IDs conflict.
+ * The index is invalidated when the root view is detached from the window.
+ * {@linkplain ViewGroup.OnHierarchyChangeListener} is not used because
+ * a view group can have only one listener and it might be used by the
+ * application, so the views found in the index are checked that they are
+ * still in the tree instead. If a view is removed from the tree, the index
+ * is built again.
+ * The IDs which are not found in the index are looked up in the tree every
+ * time, so the views added later, such as the views inflated from
+ * {@linkplain android.view.ViewStub}, are also found.
+ * <p/>
+ * The check boxes in the check box groups are also indexed by
+ * {@linkplain CheckBoxGroup}.
+ * <p/>
+ * This object is not thread-safe, and must be used on the UI thread.
+ *
+ * @author Soichiro Kashima
+ */
+public final class ViewIndex {
+
+    private final View mRootView;
+    private SparseArray<View> mViews;
+    private SparseArray<CheckBoxGroup> mCheckBoxGroups;
+    private Object mAttachStateListener;
+
+    /**
+     * Constructor.
+     *
+     * @param rootView root view of the form
+     */
+    public ViewIndex(final View rootView) {
+        mRootView = rootView;
+        if (rootView != null && Build.VERSION_CODES.HONEYCOMB_MR1 <= Build.VERSION.SDK_INT) {
+            addAttachStateListener();
+        }
+    }
+
+    /**
+     * Returns the root view of the form.
+     *
+     * @return root view
+     */
+    public View getRootView() {
+        return mRootView;
+    }
+
+    /**
+     * Finds the view specified by {@code id}.
+     * The result is same as {@linkplain View#findViewById(int)} of the root
+     * view.
+     *
+     * @param id resource ID of the target view
+     * @return found view or null if not found
+     */
+    public View findViewById(final int id) {
+        if (mRootView == null) {
+            return null;
+        }
+        if (mViews == null) {
+            build();
+        }
+        View view = mViews.get(id);
+        if (view != null && view.getId() == id && isInTree(view)) {
+            return view;
+        }
+        if (view == null) {
+            // Avoid building the index again for the view which does not
+            // exist in the form
+            view = mRootView.findViewById(id);
+            if (view == null) {
+                return null;
+            }
+        }
+        // The tree has been changed
+        build();
+        return mViews.get(id);
+    }
+
+    /**
+     * Returns the index of the check boxes in the {@code group}.
+     *
+     * @param group view group which has the check boxes
+     * @return index of the check boxes
+     */
+    public CheckBoxGroup getCheckBoxGroup(final ViewGroup group) {
+        if (mCheckBoxGroups == null) {
+            mCheckBoxGroups = new SparseArray<CheckBoxGroup>();
+        }
+        int id = group.getId();
+        CheckBoxGroup checkBoxGroup = mCheckBoxGroups.get(id);
+        if (checkBoxGroup == null || checkBoxGroup.getGroup() != group) {
+            if (checkBoxGroup != null) {
+                checkBoxGroup.release();
+            }
+            checkBoxGroup = new CheckBoxGroup(group);
+            mCheckBoxGroups.put(id, checkBoxGroup);
+        }
+        return checkBoxGroup;
+    }
+
+    /**
+     * Invalidates the index. The index is built again on the next lookup.
+     */
+    public void invalidate() {
+        mViews = null;
+    }
+
+    /**
+     * Removes the listeners from the views. This index should not be used
+     * after this method is called.
+     */
+    public void release() {
+        if (mRootView != null && Build.VERSION_CODES.HONEYCOMB_MR1 <= Build.VERSION.SDK_INT) {
+            removeAttachStateListener();
+        }
+        mViews = null;
+        if (mCheckBoxGroups != null) {
+            for (int i = 0; i < mCheckBoxGroups.size(); i++) {
+                mCheckBoxGroups.valueAt(i).release();
+            }
+            mCheckBoxGroups = null;
+        }
+    }
+
+    private void build() {
+        SparseArray<View> views = new SparseArray<View>();
+        index(mRootView, views);
+        mViews = views;
+    }
+
+    private static void index(final View view, final SparseArray<View> views) {
+        int id = view.getId();
+        if (id != View.NO_ID && views.get(id) == null) {
+            views.put(id, view);
+        }
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                index(group.getChildAt(i), views);
+            }
+        }
+    }
+
+    private boolean isInTree(final View view) {
+        View v = view;
+        while (v != mRootView) {
+            ViewParent parent = v.getParent();
+            if (!(parent instanceof View)) {
+                return false;
+            }
+            v = (View) parent;
+        }
+        return true;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+    private void addAttachStateListener() {
+        View.OnAttachStateChangeListener listener = new View.OnAttachStateChangeListener() {
+            @Override
+            public void onViewAttachedToWindow(View v) {
+                invalidate();
+            }
+
+            @Override
+            public void onViewDetachedFromWindow(View v) {
+                invalidate();
+            }
+        };
+        mRootView.addOnAttachStateChangeListener(listener);
+        mAttachStateListener = listener;
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB_MR1)
+    private void removeAttachStateListener() {
+        if (mAttachStateListener != null) {
+            mRootView.removeOnAttachStateChangeListener(
+                    (View.OnAttachStateChangeListener) mAttachStateListener);
+            mAttachStateListener = null;
+        }
+    }
+}
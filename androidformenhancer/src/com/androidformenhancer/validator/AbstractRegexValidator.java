@@ -19,11 +19,16 @@ package com.androidformenhancer.validator;
 import android.text.TextUtils;
 
 import com.androidformenhancer.FieldData;
+import com.androidformenhancer.utils.PatternCache;
 
 import java.lang.annotation.Annotation;
 
 /**
  * Validates that the value matches the regular expression.
+ * <p/>
+ * This is the base class of the custom validators of the apps which give
+ * the error message by the resource ID. The standard validators extend
+ * {@linkplain BaseRegexValidator}.
  *
  * @author Soichiro Kashima
  */
@@ -35,7 +40,7 @@ public abstract class AbstractRegexValidator<T extends Annotation> extends Valid
         if (TextUtils.isEmpty(value)) {
             return null;
         }
-        if (!value.matches(getRegex(annotation))) {
+        if (!PatternCache.matches(getRegex(annotation), value)) {
             return getMessage(getNameStyleIndex(),
                     getErrorMessageResourceId(),
                     getName(fieldData, getOverrideNameResourceId(annotation)));
@@ -43,6 +48,11 @@ public abstract class AbstractRegexValidator<T extends Annotation> extends Valid
         return null;
     }
 
+    @Override
+    public void prepare(final T annotation) {
+        PatternCache.precompile(getRegex(annotation));
+    }
+
     protected abstract String getRegex(final T annotation);
 
     protected abstract int getOverrideNameResourceId(final T annotation);
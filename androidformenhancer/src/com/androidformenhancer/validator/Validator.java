@@ -17,24 +17,29 @@
 package com.androidformenhancer.validator;
 
 import android.content.Context;
-import android.content.res.TypedArray;
 import android.util.SparseArray;
 
 import com.androidformenhancer.FieldData;
-import com.androidformenhancer.R;
-import com.androidformenhancer.annotation.Widget;
+import com.androidformenhancer.ResourceSource;
+import com.androidformenhancer.internal.MessageCatalog;
+import com.androidformenhancer.utils.IntMap;
 
 import java.lang.annotation.Annotation;
 
 /**
- * Provides the validation functions.
+ * Provides the validation functions for the custom validators of the apps.
  * <p/>
- * This class prepares the objects to validation for subclasses.
+ * This class gives the context and the messages defined in the styles in
+ * addition to {@linkplain BaseValidator}. The standard validators extend
+ * {@linkplain BaseValidator} directly because they do not depend on Android.
+ * <p/>
+ * The framework shares a validator instance between the Activities, so the
+ * context given by the framework is the application context.
  *
  * @param <T> annotation type which is necessary to the validation
  * @author Soichiro Kashima
  */
-public abstract class Validator<T extends Annotation> {
+public abstract class Validator<T extends Annotation> extends BaseValidator<T> {
 
     /**
      * Context to access to the resources.
@@ -43,47 +48,6 @@ public abstract class Validator<T extends Annotation> {
 
     private SparseArray<FieldData> mFieldDataArray;
 
-    /**
-     * Constructor.
-     */
-    public Validator() {
-        mFieldDataArray = new SparseArray<FieldData>();
-    }
-
-    /**
-     * Validates the object, and returns a message if there is an error.
-     *
-     * @param fieldData field value and meta data
-     * @return error message
-     */
-    @SuppressWarnings("unchecked")
-    public String validate(final FieldData fieldData) {
-        return validate((T) fieldData.getAnnotation(getAnnotationClass()), fieldData);
-    }
-
-    /**
-     * Validates the object, and returns a message if there is an error.
-     *
-     * @param annotation annotation which the field has
-     * @param fieldData  field value and meta data
-     * @return error message
-     */
-    public abstract String validate(final T annotation, final FieldData fieldData);
-
-    /**
-     * Gives the concrete annotation class to the {@linkplain Validator} because
-     * the {@linkplain Validator}, the abstract parameterized class cannot
-     * determine its parameter's concrete class.<br>
-     * When you implement this method, just return the class as follows:
-     * <p/>
-     * <pre>
-     * return SomeAnnotation.class;
-     * </pre>
-     *
-     * @return annotation class
-     */
-    public abstract Class<T> getAnnotationClass();
-
     /**
      * Gets the context set by the framework.
      *
@@ -105,74 +69,49 @@ public abstract class Validator<T extends Annotation> {
     }
 
     /**
-     * Sets the array of the field meta data.
-     * <p/>
-     * This is designed to use in the framework internally.
+     * Sets the array of the field meta data.<br>
+     * This is used by {@linkplain #getValueById(int)} only when the validator
+     * is called outside of the validations of the framework.
      *
      * @param fieldDataArray array of the field data
+     * @deprecated The framework gives the field data to the validators on
+     * each validation with {@linkplain BaseValidator#setFieldDataArray(IntMap)}.
      */
+    @Deprecated
     public void setFieldDataArray(final SparseArray<FieldData> fieldDataArray) {
         mFieldDataArray = fieldDataArray;
     }
 
     /**
-     * Gets the user-readable name of the field for showing error message.<br>
-     * This method use resource {@code overrideId}, otherwise
-     * {@linkplain Widget#nameResId()} if there is defined, or the name of the
-     * field.
-     *
-     * @param fieldData  field data given by the target field
-     * @param overrideId resource ID of the name if you want to override
-     * @return
-     */
-    protected String getName(final FieldData fieldData, final int overrideId) {
-        String name = fieldData.getName();
-        int nameResId = getNameResourceId(fieldData);
-        if (nameResId > 0) {
-            name = getContext().getResources().getString(nameResId);
-        }
-        if (overrideId > 0) {
-            name = getContext().getResources().getString(overrideId);
-        }
-        return name;
-    }
-
-    /**
-     * Gets an error message from resource.
+     * Gets an error message from resource.<br>
+     * The message resource IDs defined in the style are resolved by
+     * {@linkplain MessageCatalog}.
      *
-     * @param index         index of the attributes
+     * @param index         index of the attributes, or 0 to use the default
+     *                      message
      * @param defaultId     message resource ID of the default message
      * @param messageParams array of the parameters needed by message resource
      * @return error message
      */
-    protected String getMessage(final int index, final int defaultId, final Object... messageParams) {
-        int messageResId = 0;
-        if (index > 0) {
-            TypedArray a = getContext().getTheme().obtainStyledAttributes(null,
-                    R.styleable.ValidatorMessages,
-                    R.attr.afeValidatorMessages, 0);
-            messageResId = a.getResourceId(index, 0);
-            a.recycle();
-        }
-        if (messageResId == 0) {
-            messageResId = defaultId;
+    protected String getMessage(final int index, final int defaultId,
+                                final Object... messageParams) {
+        ResourceSource resourceSource = getResourceSource();
+        MessageCatalog catalog;
+        if (resourceSource instanceof MessageCatalog) {
+            catalog = (MessageCatalog) resourceSource;
+        } else {
+            catalog = MessageCatalog.get(getContext());
         }
-        return getContext().getResources().getString(messageResId, messageParams);
+        // Index 0 has been used as "not defined" by this method
+        return catalog.getMessage(index > 0 ? index : -1, defaultId, messageParams);
     }
 
-    /**
-     * Gets the value of the other field in the form.
-     *
-     * @param id resource ID of the target field
-     * @return value of the target field
-     */
-    protected String getValueById(int id) {
-        return mFieldDataArray.get(id).getValueAsString();
-    }
-
-    private int getNameResourceId(final FieldData formMetaData) {
-        Widget widget = formMetaData.getWidget();
-        return widget == null ? 0 : widget.nameResId();
+    @Override
+    protected String getValueById(final int id) {
+        if (getFieldDataArray() == null && mFieldDataArray != null) {
+            return mFieldDataArray.get(id).getValueAsString();
+        }
+        return super.getValueById(id);
     }
 
 }